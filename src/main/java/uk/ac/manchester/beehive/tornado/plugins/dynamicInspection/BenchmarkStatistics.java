@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2026, APT Group, Department of Computer Science,
+ *  The University of Manchester.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package uk.ac.manchester.beehive.tornado.plugins.dynamicInspection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Per-iteration timings printed by a harness generated in benchmark mode, and
+ * the summary statistics derived from them. The harness prints one line per
+ * measured iteration, with the TornadoVM profiler values in nanoseconds:
+ * <pre>
+ * @@TORNADO_INSIGHT_BENCH &lt;iteration&gt; &lt;kernel&gt; &lt;copyIn&gt; &lt;copyOut&gt; &lt;total&gt;
+ * </pre>
+ */
+public class BenchmarkStatistics {
+
+    public static final String MARKER = "@@TORNADO_INSIGHT_BENCH";
+
+    public enum Metric {
+        KERNEL("Kernel"),
+        COPY_IN("Copy-in"),
+        COPY_OUT("Copy-out"),
+        TOTAL("Total");
+
+        private final String label;
+
+        Metric(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private final Map<Metric, long[]> sorted = new EnumMap<>(Metric.class);
+
+    private BenchmarkStatistics(Map<Metric, List<Long>> samples) {
+        for (Map.Entry<Metric, List<Long>> entry : samples.entrySet()) {
+            long[] values = entry.getValue().stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(values);
+            sorted.put(entry.getKey(), values);
+        }
+    }
+
+    /**
+     * Collects the benchmark lines from a harness's stdout.
+     *
+     * @return the statistics, or {@code null} if the output has no benchmark lines
+     */
+    public static BenchmarkStatistics parse(String stdout) {
+        Map<Metric, List<Long>> samples = new EnumMap<>(Metric.class);
+        for (Metric metric : Metric.values()) {
+            samples.put(metric, new ArrayList<>());
+        }
+        boolean found = false;
+        for (String line : stdout.split("\n")) {
+            String trimmed = line.strip();
+            if (!trimmed.startsWith(MARKER + " ")) {
+                continue;
+            }
+            String[] parts = trimmed.split("\\s+");
+            if (parts.length != 2 + Metric.values().length) {
+                continue;
+            }
+            try {
+                long[] values = new long[Metric.values().length];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = Long.parseLong(parts[i + 2]);
+                }
+                for (Metric metric : Metric.values()) {
+                    samples.get(metric).add(values[metric.ordinal()]);
+                }
+                found = true;
+            } catch (NumberFormatException ignore) {
+                // A garbled line (e.g. interleaved with driver output) is skipped.
+            }
+        }
+        return found ? new BenchmarkStatistics(samples) : null;
+    }
+
+    public int getIterations() {
+        return sorted.get(Metric.TOTAL).length;
+    }
+
+    /**
+     * The measured values of {@code metric}, in ascending order.
+     */
+    public long[] samples(Metric metric) {
+        return sorted.get(metric).clone();
+    }
+
+    public long min(Metric metric) {
+        return sorted.get(metric)[0];
+    }
+
+    public double median(Metric metric) {
+        long[] values = sorted.get(metric);
+        int mid = values.length / 2;
+        return values.length % 2 == 1 ? values[mid] : (values[mid - 1] + values[mid]) / 2.0;
+    }
+
+    /**
+     * 95th percentile by the nearest-rank method.
+     */
+    public long p95(Metric metric) {
+        long[] values = sorted.get(metric);
+        int rank = (int) Math.ceil(0.95 * values.length);
+        return values[Math.max(0, rank - 1)];
+    }
+
+    /**
+     * Sample standard deviation, or {@code 0} for a single iteration.
+     */
+    public double stddev(Metric metric) {
+        long[] values = sorted.get(metric);
+        if (values.length < 2) {
+            return 0;
+        }
+        double mean = Arrays.stream(values).average().orElse(0);
+        double sum = 0;
+        for (long value : values) {
+            sum += (value - mean) * (value - mean);
+        }
+        return Math.sqrt(sum / (values.length - 1));
+    }
+
+    /**
+     * Formats a fixed-width results table (times in milliseconds), one block
+     * of rows per kernel.
+     */
+    public static String formatTable(Map<String, BenchmarkStatistics> perKernel) {
+        int nameWidth = "Kernel".length();
+        for (String name : perKernel.keySet()) {
+            nameWidth = Math.max(nameWidth, name.length());
+        }
+        String rowFormat = "%-" + nameWidth + "s  %-8s  %6s  %10s  %10s  %10s  %10s%n";
+        StringBuilder table = new StringBuilder();
+        table.append(String.format(Locale.ROOT, rowFormat, "Kernel", "Metric", "Runs", "min", "median", "p95", "stddev"));
+        for (Map.Entry<String, BenchmarkStatistics> entry : perKernel.entrySet()) {
+            BenchmarkStatistics stats = entry.getValue();
+            boolean first = true;
+            for (Metric metric : Metric.values()) {
+                table.append(String.format(Locale.ROOT, rowFormat,
+                        first ? entry.getKey() : "",
+                        metric.getLabel(),
+                        first ? String.valueOf(stats.getIterations()) : "",
+                        millis(stats.min(metric)),
+                        millis(stats.median(metric)),
+                        millis(stats.p95(metric)),
+                        millis(stats.stddev(metric))));
+                first = false;
+            }
+        }
+        return table.toString();
+    }
+
+    private static String millis(double nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+}
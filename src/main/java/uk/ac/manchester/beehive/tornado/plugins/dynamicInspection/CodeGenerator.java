@@ -17,6 +17,7 @@
 
 package uk.ac.manchester.beehive.tornado.plugins.dynamicInspection;
 
+import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.io.FileUtilRt;
 import com.intellij.psi.PsiFile;
@@ -24,6 +25,8 @@ import com.intellij.psi.PsiMethod;
 import com.intellij.psi.PsiParameter;
 import org.jetbrains.annotations.NotNull;
 import uk.ac.manchester.beehive.tornado.plugins.ui.settings.TornadoSettingState;
+import uk.ac.manchester.beehive.tornado.plugins.ui.toolwindow.TransferModeDialog;
+import uk.ac.manchester.beehive.tornado.plugins.util.TornadoKernelIndex;
 import uk.ac.manchester.beehive.tornado.plugins.util.TornadoTWTask;
 
 import java.io.BufferedWriter;
@@ -42,6 +45,39 @@ import java.util.Set;
 
 public class CodeGenerator {
 
+    private static final String IMPORT_CODE = """
+            import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+            import uk.ac.manchester.tornado.api.TaskGraph;
+            import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+            import uk.ac.manchester.tornado.api.annotations.Parallel;
+            import uk.ac.manchester.tornado.api.annotations.Reduce;
+            import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+            import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+            import uk.ac.manchester.tornado.api.types.HalfFloat;
+            """;
+
+    private static final String MAIN_SIGNATURE = "public static void main(String[] args) throws TornadoExecutionPlanException";
+
+    private static final String BATCH_CLASS_PREFIX = "TornadoInsightBatch";
+
+    private static final String RUN_SIGNATURE = "private static void insightRun%s() throws TornadoExecutionPlanException";
+
+    // Every harness takes an optional "<backend>:<device>" program argument
+    // that moves its execution plans onto that TornadoVM device.
+    private static final String DEVICE_SELECTION_CODE = """
+
+            private static String insightDevice;
+
+            private static void insightSelectDevice(TornadoExecutionPlan executionPlan) {
+                if (insightDevice != null) {
+                    String[] ids = insightDevice.split(":");
+                    executionPlan.withDevice(TornadoExecutionPlan.getDevice(Integer.parseInt(ids[0]), Integer.parseInt(ids[1])));
+                }
+            }
+            """;
+
+    private static final String DEVICE_ARGUMENT_CODE = "insightDevice = args.length > 0 ? args[0] : null;\n";
+
     private static final String CHARACTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
     private static final SecureRandom random = new SecureRandom();
 
@@ -54,6 +90,10 @@ public class CodeGenerator {
     }
 
     public static void fileCreationHandler(Project project, List<String> data) throws IOException {
+        fileCreationHandler(project, data, false);
+    }
+
+    public static void fileCreationHandler(Project project, List<String> data, boolean forceRerun) throws IOException {
         HashMap<String, PsiMethod> methodFile = new HashMap<>();
         ArrayList<PsiMethod> methods = TornadoTWTask.getMethods(data);
         ArrayList<PsiMethod> others = TornadoTWTask.getCalledMethods(methods);
@@ -64,20 +104,62 @@ public class CodeGenerator {
         PsiFile psiFile = TornadoTWTask.getPsiFile();
         List<TornadoTWTask.TaskGraphTransfer> transfers = TornadoTWTask.extractTaskGraphTransfers(psiFile);
 
+        TransferModes transferModes = TransferModes.analyze(methods);
+        if (TornadoSettingState.getInstance().transferModeDialogEnabled
+                && !ApplicationManager.getApplication().isHeadlessEnvironment()
+                && !new TransferModeDialog(project, transferModes).showAndGet()) {
+            return;
+        }
+
         File dir = FileUtilRt.createTempDirectory("files", null);
+        if (TornadoSettingState.getInstance().sizeSweepEnabled) {
+            // One harness per kernel and size; takes precedence over the
+            // single-process mode so each size is timed in its own launch.
+            HashMap<String, Integer> sweepSizes = new HashMap<>();
+            try {
+                for (int size : SizeSweep.parse(TornadoSettingState.getInstance().sizeSweep)) {
+                    VariableInit.setSizeOverride(size);
+                    for (PsiMethod method : methods) {
+                        String fileName = method.getName() + "N" + size + randomAlphanumeric(5);
+                        File file = createFile(method, others, fields, importCodeBlock, transfers, transferModes, fileName, dir);
+                        if (saveFileEnabled) {
+                            saveFileToDisk(file, TornadoSettingState.getInstance().debugFileSaveLocation);
+                        }
+                        methodFile.put(file.getAbsolutePath(), method);
+                        sweepSizes.put(file.getAbsolutePath(), size);
+                    }
+                }
+            } finally {
+                VariableInit.clearSizeOverride();
+            }
+            new ExecutionEngine(project, dir.getAbsolutePath(), methodFile, forceRerun, null, sweepSizes).run();
+            return;
+        }
+        if (TornadoSettingState.getInstance().singleProcessHarnessEnabled && methods.size() > 1) {
+            // One harness class for all kernels, run in a single TornadoVM launch.
+            File file = createBatchFile(methods, others, fields, importCodeBlock, transferModes,
+                    BATCH_CLASS_PREFIX + randomAlphanumeric(5), dir);
+            if (saveFileEnabled) {
+                saveFileToDisk(file, TornadoSettingState.getInstance().debugFileSaveLocation);
+            }
+            methodFile.put(file.getAbsolutePath(), methods.get(0));
+            GeneratedHarness harness = new GeneratedHarness(file, methods);
+            new ExecutionEngine(project, dir.getAbsolutePath(), methodFile, forceRerun, harness).run();
+            return;
+        }
         for (PsiMethod method : methods) {
             String fileName = method.getName() + randomAlphanumeric(5);
-            File file = createFile(method, others, fields, importCodeBlock, transfers, fileName, dir);
+            File file = createFile(method, others, fields, importCodeBlock, transfers, transferModes, fileName, dir);
             if (saveFileEnabled) {
                 saveFileToDisk(file, TornadoSettingState.getInstance().debugFileSaveLocation);
             }
             methodFile.put(file.getAbsolutePath(), method);
         }
-        ExecutionEngine executionEngine = new ExecutionEngine(project, dir.getAbsolutePath(), methodFile);
+        ExecutionEngine executionEngine = new ExecutionEngine(project, dir.getAbsolutePath(), methodFile, forceRerun);
         executionEngine.run();
     }
 
-    private static File createFile(PsiMethod method, ArrayList<PsiMethod> others, Map<String, Object> fields, String importCodeBlock, List<TornadoTWTask.TaskGraphTransfer> transfers, String filename,
+    private static File createFile(PsiMethod method, ArrayList<PsiMethod> others, Map<String, Object> fields, String importCodeBlock, List<TornadoTWTask.TaskGraphTransfer> transfers, TransferModes transferModes, String filename,
             File dir) {
         File javaFile;
         try {
@@ -86,30 +168,11 @@ public class CodeGenerator {
             throw new RuntimeException(e);
         }
 
-        String importCode = """
-                import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
-                import uk.ac.manchester.tornado.api.TaskGraph;
-                import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
-                import uk.ac.manchester.tornado.api.annotations.Parallel;
-                import uk.ac.manchester.tornado.api.annotations.Reduce;
-                import uk.ac.manchester.tornado.api.enums.DataTransferMode;
-                import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
-                import uk.ac.manchester.tornado.api.types.HalfFloat;
-                """;
-
-        String methodWithClass = filename + "::" + method.getName();
-
-        // The class may declare several TaskGraphs that reference this kernel by
-        // name; prefer the one whose .task(...) argument count matches the
-        // kernel's parameter count so we don't pick a stale/unrelated TaskGraph.
-        int kernelParamCount = method.getParameterList().getParametersCount();
-        Optional<String> maybeOriginalTaskGraph = TornadoTWTask.extractOriginalTaskGraphDeclaration(TornadoTWTask.getPsiFile(), method.getName(), methodWithClass, kernelParamCount);
-        Optional<List<TornadoTWTask.TaskParametersInfo>> taskParametersInfos = TornadoTWTask.extractTasksParameters(TornadoTWTask.getPsiFile(), method.getName(), kernelParamCount);
-        String taskParameters = getTaskParameters(method, taskParametersInfos, fields);
-        String mainCode = getTaskGraphCode(method, maybeOriginalTaskGraph, taskParameters, methodWithClass);
+        String mainCode = getKernelEntryCode(method, fields, transferModes, filename, filename, RUN_SIGNATURE.formatted(""))
+                + "\n\t" + MAIN_SIGNATURE + " {\n" + DEVICE_ARGUMENT_CODE + "insightRun();\n}\n";
 
         try (BufferedWriter writer = new BufferedWriter(new FileWriter(javaFile))) {
-            writer.write(importCode + importCodeBlock);
+            writer.write(IMPORT_CODE + importCodeBlock);
             writer.write("\n");
             writer.write("public class " + javaFile.getName().replace(".java", "") + " {\n");
 
@@ -122,11 +185,20 @@ public class CodeGenerator {
             }
 
             writer.write(method.getText());
+            writeParallelBaseline(writer, method);
             for (PsiMethod other : others) {
                 writer.write(other.getText());
                 writer.write("\n");
             }
 
+            writer.write(DEVICE_SELECTION_CODE);
+            if (TornadoSettingState.getInstance().datasetEnabled) {
+                writer.write(InputDataset.LOADER_CODE);
+            }
+            if (TornadoSettingState.getInstance().verifyEnabled) {
+                writer.write(DifferentialVerification.helperCode(TornadoSettingState.getInstance().verifyAbsoluteTolerance,
+                        TornadoSettingState.getInstance().verifyRelativeTolerance));
+            }
             writer.write(mainCode);
             writer.write("}");
         } catch (IOException e) {
@@ -135,6 +207,151 @@ public class CodeGenerator {
         return javaFile;
     }
 
+    /**
+     * Writes a single harness class containing every selected kernel. Each
+     * kernel gets its own {@code insightRun<i>()} method; {@code main} runs
+     * them in turn, catches failures per kernel and brackets each run with
+     * the {@link GeneratedHarness} marker lines.
+     */
+    private static File createBatchFile(List<PsiMethod> methods, ArrayList<PsiMethod> others, Map<String, Object> fields,
+                                        String importCodeBlock, TransferModes transferModes, String className, File dir) {
+        File javaFile;
+        try {
+            javaFile = FileUtilRt.createTempFile(dir, className, ".java", true);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        StringBuilder main = new StringBuilder("\n\tpublic static void main(String[] args) {\n");
+        main.append(DEVICE_ARGUMENT_CODE);
+        // Java-level errors then land inside the kernel's section of stdout.
+        main.append("System.setErr(System.out);\n");
+        for (int i = 0; i < methods.size(); i++) {
+            main.append("System.out.println(\"").append(GeneratedHarness.BEGIN_MARKER).append(" ").append(i).append("\");\n")
+                    .append("try {\n")
+                    .append("insightRun").append(i).append("();\n")
+                    .append("System.out.println(\"").append(GeneratedHarness.END_MARKER).append(" ").append(i).append(" OK\");\n")
+                    .append("} catch (Throwable t) {\n")
+                    .append("t.printStackTrace(System.out);\n")
+                    .append("System.out.println(\"").append(GeneratedHarness.END_MARKER).append(" ").append(i).append(" FAILED\");\n")
+                    .append("}\n");
+        }
+        main.append("}\n");
+
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(javaFile))) {
+            writer.write(IMPORT_CODE + importCodeBlock);
+            writer.write("\n");
+            writer.write("public class " + javaFile.getName().replace(".java", "") + " {\n");
+
+            for (Map.Entry<String, Object> field : fields.entrySet()) {
+                writer.write(field.getKey());
+                if (field.getValue() != null) {
+                    writer.write(" = " + field.getValue());
+                }
+                writer.write(";\n");
+            }
+
+            for (PsiMethod method : methods) {
+                writer.write(method.getText());
+                writer.write("\n");
+                writeParallelBaseline(writer, method);
+            }
+            for (PsiMethod other : others) {
+                if (!methods.contains(other)) {
+                    writer.write(other.getText());
+                    writer.write("\n");
+                }
+            }
+
+            String batchClass = javaFile.getName().replace(".java", "");
+            for (int i = 0; i < methods.size(); i++) {
+                // Distinct graph names keep the kernels apart in TornadoVM's code cache.
+                writer.write(getKernelEntryCode(methods.get(i), fields, transferModes, batchClass, batchClass + "_" + i,
+                        RUN_SIGNATURE.formatted(i)));
+                writer.write("\n");
+            }
+
+            writer.write(DEVICE_SELECTION_CODE);
+            if (TornadoSettingState.getInstance().datasetEnabled) {
+                writer.write(InputDataset.LOADER_CODE);
+            }
+            if (TornadoSettingState.getInstance().verifyEnabled) {
+                writer.write(DifferentialVerification.helperCode(TornadoSettingState.getInstance().verifyAbsoluteTolerance,
+                        TornadoSettingState.getInstance().verifyRelativeTolerance));
+            }
+            writer.write(main.toString());
+            writer.write("}");
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return javaFile;
+    }
+
+    /**
+     * In verification mode, writes the {@link ParallelBaseline} copy of
+     * {@code method} if one can be derived.
+     */
+    private static void writeParallelBaseline(BufferedWriter writer, PsiMethod method) throws IOException {
+        if (!TornadoSettingState.getInstance().verifyEnabled) {
+            return;
+        }
+        String parallel = ParallelBaseline.rewrite(method);
+        if (parallel != null) {
+            writer.write(parallel);
+            writer.write("\n");
+        }
+    }
+
+    /**
+     * Generates the method that allocates the kernel's inputs and runs its
+     * TaskGraph, declared with {@code signature} (e.g. {@code main}).
+     */
+    private static @NotNull String getKernelEntryCode(PsiMethod method, Map<String, Object> fields,
+                                                      TransferModes transferModes, String className,
+                                                      String taskGraphName, String signature) {
+        String methodWithClass = className + "::" + method.getName();
+
+        // The class may declare several TaskGraphs that reference this kernel by
+        // name; prefer the one whose .task(...) argument count matches the
+        // kernel's parameter count so we don't pick a stale/unrelated TaskGraph.
+        // The TaskGraph may also live in another file than the kernel, e.g. a
+        // separate main class; the kernel index tells which.
+        int kernelParamCount = method.getParameterList().getParametersCount();
+        PsiFile taskGraphFile = TornadoKernelIndex.findTaskGraphFile(method);
+        if (taskGraphFile == null) {
+            taskGraphFile = TornadoTWTask.getPsiFile();
+        }
+        Optional<String> maybeOriginalTaskGraph = TornadoTWTask.extractOriginalTaskGraphDeclaration(taskGraphFile, method.getName(), methodWithClass, kernelParamCount);
+        Optional<List<TornadoTWTask.TaskParametersInfo>> taskParametersInfos = TornadoTWTask.extractTasksParameters(taskGraphFile, method.getName(), kernelParamCount);
+        String taskParameters = getTaskParameters(method, taskParametersInfos, fields);
+        DifferentialVerification.Plan verification = TornadoSettingState.getInstance().verifyEnabled
+                ? getVerificationPlan(method, taskParametersInfos)
+                : null;
+        return getTaskGraphCode(method, maybeOriginalTaskGraph, taskParameters, taskGraphName, methodWithClass, signature,
+                verification, transferModes.get(method));
+    }
+
+    /**
+     * Matches the harness variables to the kernel's parameters the same way
+     * {@link #getTaskParameters} declares them, and plans their verification.
+     */
+    private static DifferentialVerification.Plan getVerificationPlan(PsiMethod method,
+                                                                     Optional<List<TornadoTWTask.TaskParametersInfo>> taskParametersInfos) {
+        List<TornadoTWTask.TaskParametersInfo> params = taskParametersInfos.orElse(Collections.emptyList());
+        PsiParameter[] kernelParams = method.getParameterList().getParameters();
+        List<String> names = new ArrayList<>();
+        List<String> types = new ArrayList<>();
+        if (params.isEmpty() || params.size() == kernelParams.length) {
+            for (int i = 0; i < kernelParams.length; i++) {
+                names.add(params.isEmpty() ? kernelParams[i].getName() : params.get(i).getName());
+                types.add(kernelParams[i].getTypeElement() != null
+                        ? kernelParams[i].getTypeElement().getText()
+                        : params.get(i).getType());
+            }
+        }
+        return DifferentialVerification.plan(method, names, types, ParallelBaseline.rewrite(method) != null);
+    }
+
     private static @NotNull String getTaskParameters(PsiMethod method,
                                                      Optional<List<TornadoTWTask.TaskParametersInfo>> taskParametersInfos,
                                                      Map<String, Object> fields) {
@@ -237,7 +454,15 @@ public class CodeGenerator {
         return null;
     }
 
-    private static @NotNull String getTaskGraphCode(PsiMethod method, Optional<String> maybeOriginalTaskGraph, String variableInit, String methodWithClass) {
+    private static @NotNull String getTaskGraphCode(PsiMethod method, Optional<String> maybeOriginalTaskGraph, String variableInit,
+                                                     String taskGraphName, String methodWithClass, String signature,
+                                                     DifferentialVerification.Plan verification,
+                                                     List<TransferModes.Parameter> parameterTransfers) {
+        // The JVM reference runs on copies of the inputs taken before the device sees them.
+        if (verification != null) {
+            variableInit += verification.getReferenceCode();
+        }
+        String executionCode = getExecutionCode(verification);
         boolean isChainComplete = maybeOriginalTaskGraph.isPresent() && maybeOriginalTaskGraph.get().contains(".task(");
         String mainCode;
 
@@ -248,43 +473,136 @@ public class CodeGenerator {
                     .orElse("taskGraph");
 
             mainCode = """
-                    \n\tpublic static void main(String[] args) throws TornadoExecutionPlanException {
+                    \n\t%s {
                     %s
                     %s
                     ImmutableTaskGraph immutableTaskGraph = %s.snapshot();
                     try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
-                        executionPlan.withPreCompilation();
+                    %s
                     }
                     }
-                    """.formatted(variableInit, maybeOriginalTaskGraph.get(), taskGraphVarName);
+                    """.formatted(signature, variableInit, maybeOriginalTaskGraph.get(), taskGraphVarName, executionCode);
         } else {
-            // Fallback: Dynamically build TaskGraph from method parameters
+            // Fallback: Dynamically build TaskGraph from method parameters. The
+            // graph is named after the generated class so that harnesses run
+            // one after another in the same (warm worker) JVM never share a
+            // TornadoVM code-cache entry.
+            // Object parameters are moved as TransferModes decided, so the
+            // timings only include the copies an application would make.
             StringBuilder taskParameters = new StringBuilder();
-            StringBuilder taskGraphParameters = new StringBuilder();
+            StringBuilder firstExecution = new StringBuilder();
+            StringBuilder everyExecution = new StringBuilder();
+            StringBuilder toHost = new StringBuilder();
 
             for (PsiParameter p : method.getParameterList().getParameters()) {
                 taskParameters.append(", ").append(p.getName());
-                if (isParameterBoxedType(p)) {
-                    taskGraphParameters.append(", ").append(p.getName());
+                if (!isParameterBoxedType(p)) {
+                    continue;
+                }
+                TransferModes.Parameter transfer = parameterTransfers.stream()
+                        .filter(candidate -> candidate.getName().equals(p.getName()))
+                        .findFirst().orElse(null);
+                TransferModes.ToDevice toDevice = transfer != null ? transfer.getToDevice() : TransferModes.ToDevice.EVERY_EXECUTION;
+                switch (toDevice) {
+                    case FIRST_EXECUTION -> firstExecution.append(", ").append(p.getName());
+                    case EVERY_EXECUTION -> everyExecution.append(", ").append(p.getName());
+                    case NONE -> {
+                    }
+                }
+                if (transfer == null || transfer.isToHost()) {
+                    toHost.append(", ").append(p.getName());
                 }
             }
-            mainCode = "\n\tpublic static void main(String[] args) throws TornadoExecutionPlanException {\n" + //
+            mainCode = "\n\t" + signature + " {\n" + //
                     "\n" + //
                     variableInit + //
-                    "TaskGraph taskGraph = new TaskGraph(\"insightTaskGraphName\") \n" + //
-                    ".transferToDevice(DataTransferMode.EVERY_EXECUTION" + taskGraphParameters + ")\n" + //
-                    ".task(\"insightTaskName\", " + methodWithClass + taskParameters + ") \n" + //
-                    ".transferToHost(DataTransferMode.EVERY_EXECUTION" + taskGraphParameters + ");\n" + //
+                    "TaskGraph taskGraph = new TaskGraph(\"" + taskGraphName + "\") \n" + //
+                    (firstExecution.isEmpty() ? "" : ".transferToDevice(DataTransferMode.FIRST_EXECUTION" + firstExecution + ")\n") + //
+                    (everyExecution.isEmpty() ? "" : ".transferToDevice(DataTransferMode.EVERY_EXECUTION" + everyExecution + ")\n") + //
+                    ".task(\"insightTaskName\", " + methodWithClass + taskParameters + ")" + //
+                    (toHost.isEmpty() ? "" : "\n.transferToHost(DataTransferMode.EVERY_EXECUTION" + toHost + ")") + ";\n" + //
                     "ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();\n" + //
                     "try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {\n" + //
-                    "executionPlan.withPreCompilation();\n" + //
+                    executionCode + //
                     "        }\n" + //
                     "    }"; //
         }
         return mainCode;
     }
 
-    private static boolean isParameterBoxedType(PsiParameter p) {
+    /**
+     * The body of the harness's execution-plan block: select the requested
+     * device, JIT-compile the graph and, depending on the settings, verify
+     * the results against the JVM, time an execution for the device matrix,
+     * run the benchmark loop and print the profiler's log of one execution.
+     */
+    private static String getExecutionCode(DifferentialVerification.Plan verification) {
+        String code = """
+                insightSelectDevice(executionPlan);
+                long insightCompileStart = System.nanoTime();
+                executionPlan.withPreCompilation();
+                long insightCompileTime = System.nanoTime() - insightCompileStart;
+                """;
+        if (verification != null) {
+            code += verification.getDeviceCode();
+        }
+        if (TornadoSettingState.getInstance().multiDeviceEnabled) {
+            code += """
+                    long insightExecuteStart = System.nanoTime();
+                    executionPlan.execute();
+                    System.out.println("%s " + insightCompileTime + " " + (System.nanoTime() - insightExecuteStart));
+                    """.formatted(DeviceMatrix.TIMING_MARKER);
+        }
+        return code + getBenchmarkCode() + getProfileCode();
+    }
+
+    /**
+     * When kernel metrics are collected, the code that executes the plan once
+     * more with the profiler on and prints its JSON log framed by the
+     * {@link TaskGraphProfile} markers.
+     */
+    private static String getProfileCode() {
+        if (!TornadoSettingState.getInstance().profilerMetricsEnabled) {
+            return "";
+        }
+        return """
+                executionPlan.withProfiler(uk.ac.manchester.tornado.api.enums.ProfilerMode.SILENT);
+                uk.ac.manchester.tornado.api.TornadoExecutionResult insightProfiled = executionPlan.execute();
+                System.out.println("%s " + insightCompileTime);
+                System.out.println(insightProfiled.getProfilerResult().getProfileLog());
+                System.out.println("%s");
+                """.formatted(TaskGraphProfile.BEGIN_MARKER, TaskGraphProfile.END_MARKER);
+    }
+
+    /**
+     * In benchmark mode, the code placed after {@code withPreCompilation()}
+     * that executes the plan with the profiler on and prints one
+     * {@link BenchmarkStatistics#MARKER} line per measured iteration. Profiler
+     * types are fully qualified so the import block stays the same in both modes.
+     * A size sweep always benchmarks, since its timings are what it plots.
+     */
+    private static String getBenchmarkCode() {
+        TornadoSettingState settings = TornadoSettingState.getInstance();
+        if (!settings.benchmarkEnabled && !settings.sizeSweepEnabled) {
+            return "";
+        }
+        return """
+                executionPlan.withProfiler(uk.ac.manchester.tornado.api.enums.ProfilerMode.SILENT);
+                for (int insightWarmup = 0; insightWarmup < %d; insightWarmup++) {
+                    executionPlan.execute();
+                }
+                for (int insightIteration = 0; insightIteration < %d; insightIteration++) {
+                    uk.ac.manchester.tornado.api.TornadoProfilerResult insightProfile = executionPlan.execute().getProfilerResult();
+                    System.out.println("%s " + insightIteration
+                            + " " + insightProfile.getDeviceKernelTime()
+                            + " " + insightProfile.getDeviceWriteTime()
+                            + " " + insightProfile.getDeviceReadTime()
+                            + " " + insightProfile.getTotalTime());
+                }
+                """.formatted(settings.benchmarkWarmupIterations, settings.benchmarkIterations, BenchmarkStatistics.MARKER);
+    }
+
+    static boolean isParameterBoxedType(PsiParameter p) {
         return switch (p.getTypeElement().getText()) {
             case "int", "float", "double", "long", "boolean" -> false;
             default -> true;
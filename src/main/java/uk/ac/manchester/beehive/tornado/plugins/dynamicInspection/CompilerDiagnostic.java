@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026, APT Group, Department of Computer Science,
+ *  The University of Manchester.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package uk.ac.manchester.beehive.tornado.plugins.dynamicInspection;
+
+/**
+ * A single diagnostic reported while compiling a generated harness, kept as
+ * structured fields so callers do not have to parse javac's text output.
+ */
+public class CompilerDiagnostic {
+
+    public enum Kind { ERROR, WARNING, NOTE }
+
+    private final Kind kind;
+    private final String fileName;   // simple file name, e.g. "vectorAddAb12C.java"
+    private final long line;         // 1-based, or -1 when the diagnostic has no position
+    private final long column;       // 1-based, or -1 when the diagnostic has no position
+    private final String message;    // full compiler message, may span several lines
+    private final String sourceLine; // offending source line, or null if unknown
+
+    public CompilerDiagnostic(Kind kind, String fileName, long line, long column, String message, String sourceLine) {
+        this.kind = kind;
+        this.fileName = fileName;
+        this.line = line;
+        this.column = column;
+        this.message = message;
+        this.sourceLine = sourceLine;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public long getColumn() {
+        return column;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public String getSourceLine() {
+        return sourceLine;
+    }
+
+    /**
+     * Formats the diagnostic header the way javac prints it, e.g.
+     * {@code "atomic18YxscA.java:49: error: no suitable method found ..."}.
+     */
+    public String header() {
+        String firstLine = message == null ? "" : message.split("\n", 2)[0].strip();
+        String location = fileName == null ? "" : fileName + (line > 0 ? ":" + line : "") + ": ";
+        return location + kind.name().toLowerCase() + ": " + firstLine;
+    }
+
+    @Override
+    public String toString() {
+        return header();
+    }
+}
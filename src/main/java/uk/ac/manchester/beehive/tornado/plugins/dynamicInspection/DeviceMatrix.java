@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2026, APT Group, Department of Computer Science,
+ *  The University of Manchester.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package uk.ac.manchester.beehive.tornado.plugins.dynamicInspection;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Outcome of every kernel on every device when kernels are fanned out across
+ * all TornadoVM devices. Harnesses generated for this mode time the
+ * pre-compilation and one execution of the plan and print
+ * <pre>
+ * @@TORNADO_INSIGHT_TIMING &lt;compile ns&gt; &lt;execute ns&gt;
+ * </pre>
+ */
+public class DeviceMatrix {
+
+    public static final String TIMING_MARKER = "@@TORNADO_INSIGHT_TIMING";
+
+    public enum Status {
+        PASS("pass"),
+        FAIL("FAIL"),
+        UNSUPPORTED("unsupported"),
+        TIMEOUT("timeout");
+
+        private final String label;
+
+        Status(String label) {
+            this.label = label;
+        }
+    }
+
+    // kernel -> device id -> cell; kernels sorted by name for a stable table.
+    private final Map<String, Map<String, Cell>> cells = new ConcurrentSkipListMap<>();
+
+    public void record(String kernel, TornadoDevice device, Status status, String stdout) {
+        long compileNanos = -1;
+        long executeNanos = -1;
+        if (status == Status.PASS && stdout != null) {
+            for (String line : stdout.split("\n")) {
+                String trimmed = line.strip();
+                if (!trimmed.startsWith(TIMING_MARKER + " ")) {
+                    continue;
+                }
+                String[] parts = trimmed.split("\\s+");
+                try {
+                    compileNanos = Long.parseLong(parts[1]);
+                    executeNanos = Long.parseLong(parts[2]);
+                } catch (NumberFormatException | ArrayIndexOutOfBoundsException ignore) {
+                    // Leave the timings unknown.
+                }
+            }
+        }
+        cells.computeIfAbsent(kernel, k -> new ConcurrentHashMap<>())
+                .put(device.getId(), new Cell(status, compileNanos, executeNanos));
+    }
+
+    public boolean isEmpty() {
+        return cells.isEmpty();
+    }
+
+    /**
+     * Formats a fixed-width kernel by device table. A passing cell shows the
+     * compile and execution time in milliseconds; the device names are listed
+     * below the table.
+     */
+    public String formatTable(List<TornadoDevice> devices) {
+        int nameWidth = "Kernel".length();
+        for (String kernel : cells.keySet()) {
+            nameWidth = Math.max(nameWidth, kernel.length());
+        }
+        int cellWidth = 24;
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%-" + nameWidth + "s", "Kernel"));
+        for (TornadoDevice device : devices) {
+            table.append("  ").append(String.format("%-" + cellWidth + "s", "device " + device.getId()));
+        }
+        table.append("\n");
+        for (Map.Entry<String, Map<String, Cell>> row : cells.entrySet()) {
+            table.append(String.format("%-" + nameWidth + "s", row.getKey()));
+            for (TornadoDevice device : devices) {
+                Cell cell = row.getValue().get(device.getId());
+                table.append("  ").append(String.format("%-" + cellWidth + "s", cell == null ? "-" : cell.format()));
+            }
+            table.append("\n");
+        }
+        table.append("\nPassing cells show compile / execute time in ms.\n");
+        for (TornadoDevice device : devices) {
+            table.append("device ").append(device.getId()).append(": ").append(device.getBackend())
+                    .append(" - ").append(device.getName()).append("\n");
+        }
+        return table.toString();
+    }
+
+    private static final class Cell {
+        private final Status status;
+        private final long compileNanos;
+        private final long executeNanos;
+
+        Cell(Status status, long compileNanos, long executeNanos) {
+            this.status = status;
+            this.compileNanos = compileNanos;
+            this.executeNanos = executeNanos;
+        }
+
+        String format() {
+            if (status != Status.PASS || compileNanos < 0) {
+                return status.label;
+            }
+            return String.format("%s %.1f / %.3f", status.label, compileNanos / 1e6, executeNanos / 1e6);
+        }
+    }
+}
@@ -0,0 +1,338 @@
+/*
+ * Copyright (c) 2026, APT Group, Department of Computer Science,
+ *  The University of Manchester.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package uk.ac.manchester.beehive.tornado.plugins.dynamicInspection;
+
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiModifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Checks a kernel's device results against the kernel run as plain Java, and
+ * how much faster the device is. A harness generated in this mode runs the
+ * kernel on copies of its inputs on the JVM (sequentially and, where
+ * {@link ParallelBaseline} can derive one, with parallel streams), then
+ * through the execution plan, compares every array parameter element by
+ * element and prints
+ * <pre>
+ * @@TORNADO_INSIGHT_VERIFY &lt;parameter&gt; &lt;length&gt; &lt;mismatches&gt; &lt;max error&gt; &lt;first mismatch&gt;
+ * @@TORNADO_INSIGHT_SPEEDUP &lt;sequential ns&gt; &lt;parallel ns or -1&gt; &lt;device ns&gt;
+ * </pre>
+ * or, for a kernel that cannot be run this way,
+ * <pre>
+ * @@TORNADO_INSIGHT_VERIFY_SKIPPED &lt;reason&gt;
+ * </pre>
+ * Each time is the best of {@value #TIMING_RUNS} runs; the device time is
+ * wall-clock time of {@code execute()}, data transfers included.
+ */
+public class DifferentialVerification {
+
+    public static final String VERIFY_MARKER = "@@TORNADO_INSIGHT_VERIFY";
+    public static final String SKIPPED_MARKER = "@@TORNADO_INSIGHT_VERIFY_SKIPPED";
+    public static final String SPEEDUP_MARKER = "@@TORNADO_INSIGHT_SPEEDUP";
+
+    static final int TIMING_RUNS = 5;
+
+    private static final Set<String> SCALAR_TYPES =
+            Set.of("int", "float", "double", "long", "short", "byte", "char", "boolean");
+
+    private static final Set<String> PRIMITIVE_ARRAY_TYPES =
+            Set.of("int[]", "float[]", "double[]", "long[]", "short[]", "byte[]", "char[]");
+
+    private static final Set<String> TORNADO_ARRAY_TYPES =
+            Set.of("IntArray", "FloatArray", "DoubleArray", "LongArray", "ShortArray", "ByteArray", "CharArray");
+
+    /**
+     * The harness method that compares one array parameter, with the
+     * tolerances baked in. Integer arrays must match exactly; floating-point
+     * elements may differ by {@code absolute + relative * |expected|}.
+     */
+    static String helperCode(double absoluteTolerance, double relativeTolerance) {
+        return """
+
+                private static void insightVerify(String name, java.util.function.IntToDoubleFunction device,
+                                                  java.util.function.IntToDoubleFunction reference, int length, boolean exact) {
+                    long mismatches = 0;
+                    int firstMismatch = -1;
+                    double maxError = 0;
+                    for (int i = 0; i < length; i++) {
+                        double actual = device.applyAsDouble(i);
+                        double expected = reference.applyAsDouble(i);
+                        if (Double.compare(actual, expected) == 0) {
+                            continue;
+                        }
+                        double error = Math.abs(actual - expected);
+                        if (exact || !(error <= %s + %s * Math.abs(expected))) {
+                            mismatches++;
+                            if (firstMismatch < 0) {
+                                firstMismatch = i;
+                            }
+                        }
+                        maxError = Math.max(maxError, Double.isNaN(error) ? Double.POSITIVE_INFINITY : error);
+                    }
+                    System.out.println("%s " + name + " " + length + " " + mismatches + " " + maxError + " " + firstMismatch);
+                }
+                """.formatted(absoluteTolerance, relativeTolerance, VERIFY_MARKER);
+    }
+
+    /**
+     * The code a harness needs to verify {@code method}, whose harness
+     * variables are {@code names} of types {@code types} in parameter order
+     * (both empty when they could not be matched to the kernel's parameters).
+     *
+     * @param parallelBaseline whether the harness contains the
+     *                         {@link ParallelBaseline} copy of the kernel
+     */
+    static Plan plan(PsiMethod method, List<String> names, List<String> types, boolean parallelBaseline) {
+        if (names.isEmpty() && method.getParameterList().getParametersCount() > 0) {
+            return Plan.skipped("the task arguments do not match the kernel parameters");
+        }
+        if (!method.hasModifierProperty(PsiModifier.STATIC)) {
+            return Plan.skipped("the kernel is not static");
+        }
+        for (String type : types) {
+            if ("KernelContext".equals(type)) {
+                return Plan.skipped("KernelContext kernels cannot run as plain Java");
+            }
+            if (!SCALAR_TYPES.contains(type) && !PRIMITIVE_ARRAY_TYPES.contains(type) && !TORNADO_ARRAY_TYPES.contains(type)) {
+                return Plan.skipped("parameters of type " + type + " cannot be copied for the JVM run");
+            }
+        }
+
+        StringBuilder copies = new StringBuilder();
+        List<String> referenceArguments = new ArrayList<>();
+        List<String> scratchArguments = new ArrayList<>();
+        StringBuilder comparisons = new StringBuilder();
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i);
+            String type = types.get(i);
+            if (SCALAR_TYPES.contains(type)) {
+                referenceArguments.add(name);
+                scratchArguments.add(name);
+                continue;
+            }
+            boolean primitive = PRIMITIVE_ARRAY_TYPES.contains(type);
+            String copy = primitive ? name + ".clone()" : type + ".fromArray(" + name + ".toHeapArray())";
+            copies.append(type).append(" insightRef_").append(name).append(" = ").append(copy).append(";\n");
+            copies.append(type).append(" insightScratch_").append(name).append(" = ").append(copy).append(";\n");
+            referenceArguments.add("insightRef_" + name);
+            scratchArguments.add("insightScratch_" + name);
+
+            boolean exact = !type.startsWith("float") && !type.startsWith("double")
+                    && !type.startsWith("Float") && !type.startsWith("Double");
+            String device = primitive ? "insightIndex -> " + name + "[insightIndex]" : name + "::get";
+            String reference = primitive ? "insightIndex -> insightRef_" + name + "[insightIndex]" : "insightRef_" + name + "::get";
+            String length = primitive ? name + ".length" : name + ".getSize()";
+            comparisons.append("insightVerify(\"").append(name).append("\", ").append(device).append(", ")
+                    .append(reference).append(", ").append(length).append(", ").append(exact).append(");\n");
+        }
+
+        String kernel = method.getName();
+        String referenceCode = copies
+                + kernel + "(" + String.join(", ", referenceArguments) + ");\n"
+                + timingLoop("insightSequentialTime", kernel + "(" + String.join(", ", scratchArguments) + ");")
+                + (parallelBaseline
+                    ? timingLoop("insightParallelTime",
+                        ParallelBaseline.methodName(method) + "(" + String.join(", ", scratchArguments) + ");")
+                    : "long insightParallelTime = -1;\n");
+        String deviceCode = "executionPlan.execute();\n"
+                + comparisons
+                + timingLoop("insightDeviceTime", "executionPlan.execute();")
+                + "System.out.println(\"" + SPEEDUP_MARKER
+                + " \" + insightSequentialTime + \" \" + insightParallelTime + \" \" + insightDeviceTime);\n";
+        return new Plan(referenceCode, deviceCode);
+    }
+
+    private static String timingLoop(String variable, String statement) {
+        return """
+                long %1$s = Long.MAX_VALUE;
+                for (int insightRun = 0; insightRun < %2$d; insightRun++) {
+                    long insightStart = System.nanoTime();
+                    %3$s
+                    %1$s = Math.min(%1$s, System.nanoTime() - insightStart);
+                }
+                """.formatted(variable, TIMING_RUNS, statement);
+    }
+
+    /**
+     * Harness code for one kernel: {@link #getReferenceCode()} goes after the
+     * inputs are allocated and before the task graph is built,
+     * {@link #getDeviceCode()} after the plan is pre-compiled.
+     */
+    static final class Plan {
+        private final String referenceCode;
+        private final String deviceCode;
+
+        private Plan(String referenceCode, String deviceCode) {
+            this.referenceCode = referenceCode;
+            this.deviceCode = deviceCode;
+        }
+
+        private static Plan skipped(String reason) {
+            return new Plan("", "System.out.println(\"" + SKIPPED_MARKER + " " + reason + "\");\n");
+        }
+
+        String getReferenceCode() {
+            return referenceCode;
+        }
+
+        String getDeviceCode() {
+            return deviceCode;
+        }
+    }
+
+    private final List<Comparison> comparisons;
+    private final String skippedReason;
+    private final long sequentialNanos;
+    private final long parallelNanos;
+    private final long deviceNanos;
+
+    private DifferentialVerification(List<Comparison> comparisons, String skippedReason, long sequentialNanos,
+                                     long parallelNanos, long deviceNanos) {
+        this.comparisons = comparisons;
+        this.skippedReason = skippedReason;
+        this.sequentialNanos = sequentialNanos;
+        this.parallelNanos = parallelNanos;
+        this.deviceNanos = deviceNanos;
+    }
+
+    /**
+     * Reads the verification lines from a harness's stdout; returns
+     * {@code null} if there are none.
+     */
+    public static DifferentialVerification parse(String stdout) {
+        if (stdout == null) {
+            return null;
+        }
+        List<Comparison> comparisons = new ArrayList<>();
+        String skippedReason = null;
+        long sequential = -1;
+        long parallel = -1;
+        long device = -1;
+        boolean found = false;
+        for (String line : stdout.split("\n")) {
+            String trimmed = line.strip();
+            if (trimmed.startsWith(SKIPPED_MARKER + " ")) {
+                skippedReason = trimmed.substring(SKIPPED_MARKER.length() + 1);
+                found = true;
+                continue;
+            }
+            String[] parts = trimmed.split("\\s+");
+            try {
+                if (parts[0].equals(VERIFY_MARKER) && parts.length == 6) {
+                    comparisons.add(new Comparison(parts[1], Integer.parseInt(parts[2]), Long.parseLong(parts[3]),
+                            Double.parseDouble(parts[4]), Integer.parseInt(parts[5])));
+                    found = true;
+                } else if (parts[0].equals(SPEEDUP_MARKER) && parts.length == 4) {
+                    sequential = Long.parseLong(parts[1]);
+                    parallel = Long.parseLong(parts[2]);
+                    device = Long.parseLong(parts[3]);
+                    found = true;
+                }
+            } catch (NumberFormatException ignore) {
+                // Not a line we printed.
+            }
+        }
+        return found ? new DifferentialVerification(comparisons, skippedReason, sequential, parallel, device) : null;
+    }
+
+    public boolean isSkipped() {
+        return skippedReason != null;
+    }
+
+    public String getSkippedReason() {
+        return skippedReason;
+    }
+
+    public boolean isPassed() {
+        return !isSkipped() && comparisons.stream().allMatch(comparison -> comparison.mismatches == 0);
+    }
+
+    /**
+     * One line per array parameter whose device result differs from the JVM.
+     */
+    public String describeMismatches() {
+        StringBuilder description = new StringBuilder();
+        for (Comparison comparison : comparisons) {
+            if (comparison.mismatches > 0) {
+                description.append(comparison.name).append(": ").append(comparison.mismatches).append(" of ")
+                        .append(comparison.length).append(" elements differ, first at index ")
+                        .append(comparison.firstMismatch).append(", max error ").append(comparison.maxError).append("\n");
+            }
+        }
+        return description.toString().trim();
+    }
+
+    private double maxError() {
+        double max = 0;
+        for (Comparison comparison : comparisons) {
+            max = Math.max(max, comparison.maxError);
+        }
+        return max;
+    }
+
+    /**
+     * Formats a fixed-width table with the verdict, largest element error,
+     * JVM and device times and speedups of every kernel.
+     */
+    public static String formatTable(Map<String, DifferentialVerification> results) {
+        int nameWidth = "Kernel".length();
+        for (String kernel : results.keySet()) {
+            nameWidth = Math.max(nameWidth, kernel.length());
+        }
+        String row = "%-" + nameWidth + "s  %-7s  %10s  %12s  %12s  %12s  %14s  %14s\n";
+        StringBuilder table = new StringBuilder();
+        table.append(String.format(Locale.ROOT, row, "Kernel", "Result", "Max error", "JVM seq", "JVM parallel", "Device",
+                "Speedup (seq)", "Speedup (par)"));
+        StringBuilder skipped = new StringBuilder();
+        for (Map.Entry<String, DifferentialVerification> entry : results.entrySet()) {
+            DifferentialVerification result = entry.getValue();
+            if (result.isSkipped()) {
+                table.append(String.format(Locale.ROOT, row, entry.getKey(), "skipped", "-", "-", "-", "-", "-", "-"));
+                skipped.append(entry.getKey()).append(": ").append(result.skippedReason).append("\n");
+                continue;
+            }
+            table.append(String.format(Locale.ROOT, row, entry.getKey(), result.isPassed() ? "pass" : "FAIL",
+                    String.format(Locale.ROOT, "%.3g", result.maxError()), millis(result.sequentialNanos),
+                    millis(result.parallelNanos), millis(result.deviceNanos),
+                    speedup(result.sequentialNanos, result.deviceNanos),
+                    speedup(result.parallelNanos, result.deviceNanos)));
+        }
+        table.append("\nTimes are the best of ").append(TIMING_RUNS)
+                .append(" runs in ms; device time includes data transfers.\n");
+        if (!skipped.isEmpty()) {
+            table.append("Not verified:\n").append(skipped);
+        }
+        return table.toString();
+    }
+
+    private static String millis(long nanos) {
+        return nanos < 0 ? "-" : String.format(Locale.ROOT, "%.3f", nanos / 1e6);
+    }
+
+    private static String speedup(long baselineNanos, long deviceNanos) {
+        return baselineNanos < 0 || deviceNanos <= 0 ? "-" : String.format(Locale.ROOT, "%.2fx", (double) baselineNanos / deviceNanos);
+    }
+
+    private record Comparison(String name, int length, long mismatches, double maxError, int firstMismatch) {
+    }
+}
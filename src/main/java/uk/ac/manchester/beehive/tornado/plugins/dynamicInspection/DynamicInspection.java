@@ -24,8 +24,12 @@ import java.util.List;
 
 public class DynamicInspection {
     public static void process(Project project, List<String> data){
+        process(project, data, false);
+    }
+
+    public static void process(Project project, List<String> data, boolean forceRerun){
         try {
-            CodeGenerator.fileCreationHandler(project, data);
+            CodeGenerator.fileCreationHandler(project, data, forceRerun);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -19,7 +19,8 @@ package uk.ac.manchester.beehive.tornado.plugins.dynamicInspection;
 
 import com.intellij.execution.ExecutionException;
 import com.intellij.execution.configurations.GeneralCommandLine;
-import com.intellij.execution.process.CapturingProcessHandler;
+import com.intellij.execution.process.OSProcessHandler;
+import com.intellij.execution.process.OSProcessUtil;
 import com.intellij.execution.process.ProcessOutput;
 import com.intellij.execution.util.ExecUtil;
 import com.intellij.ide.BrowserUtil;
@@ -31,14 +32,24 @@ import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.options.ShowSettingsUtil;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.projectRoots.JavaSdkVersion;
 import com.intellij.openapi.projectRoots.Sdk;
 import com.intellij.openapi.roots.ProjectRootManager;
 import com.intellij.openapi.roots.ui.configuration.ProjectSettingsService;
+import com.intellij.openapi.util.Computable;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiMethod;
-import uk.ac.manchester.beehive.tornado.plugins.entity.EnvironmentVariable;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import uk.ac.manchester.beehive.tornado.plugins.message.DynamicInspectionListener;
 import uk.ac.manchester.beehive.tornado.plugins.ui.settings.TornadoSettingState;
+import uk.ac.manchester.beehive.tornado.plugins.ui.toolwindow.SizeSweepDialog;
 import uk.ac.manchester.beehive.tornado.plugins.util.MessageBundle;
 import uk.ac.manchester.beehive.tornado.plugins.util.MessageUtils;
 import uk.ac.manchester.beehive.tornado.plugins.util.TornadoTWTask;
@@ -46,17 +57,25 @@ import org.apache.commons.io.FileUtils;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.jar.Attributes;
-import java.util.jar.JarEntry;
-import java.util.jar.JarOutputStream;
-import java.util.jar.Manifest;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -70,13 +89,95 @@ public class ExecutionEngine {
 
     private final Project project;
 
-    private boolean completed;
-    private boolean hasRuntimeErrors;
+    // Written from the kernel worker threads when jars run in parallel.
+    private volatile boolean completed;
+    private volatile boolean hasRuntimeErrors;
+
+    // Sum of the per-kernel run times, reported next to the wall-clock time so
+    // the saving from running kernels in parallel is visible.
+    private final AtomicLong totalKernelTime = new AtomicLong();
+
+    // Rough resident footprint of one 'tornado' JVM (heap, Graal compiler and
+    // driver buffers). Used to bound the worker pool on memory-tight machines.
+    private static final long TORNADO_PROCESS_MEMORY_BYTES = 1024L * 1024 * 1024;
+
+    // How often a running kernel is checked for timeout and cancellation.
+    private static final long PROCESS_POLL_MS = 200;
+
+    // Bypass the result cache and always compile and run (still refreshing it).
+    private final boolean forceRerun;
+
+    // Set when all selected kernels were generated into one harness class.
+    private final GeneratedHarness batchHarness;
+
+    // Result-cache key of each generated .java file, when caching is enabled.
+    private final Map<String, String> cacheKeys = new ConcurrentHashMap<>();
+
+    // Summary of the last compile failure, cached for single-kernel runs.
+    private volatile String compileFailureSummary;
+
+    // The "version=..." line reported by 'tornado --version'.
+    private String tornadoVersion;
+
+    // Progress of the background task running the pipeline; cancelling it
+    // stops the remaining kernels.
+    private volatile ProgressIndicator indicator = new EmptyProgressIndicator();
+
+    // Kernels that finished (or were skipped), for the progress fraction.
+    private final AtomicInteger finishedKernels = new AtomicInteger();
+
+    // Benchmark-mode timings of the kernels that ran cleanly, keyed by the
+    // formatted method name and reported as one table when the run ends.
+    private final Map<String, BenchmarkStatistics> benchmarkResults = new ConcurrentSkipListMap<>();
+
+    // Problem size of each generated .java file when running a size sweep,
+    // and the timings collected per kernel across the sweep.
+    private final Map<String, Integer> sweepSizes;
+    private final Map<String, SizeSweep.Series> sweepResults = new ConcurrentSkipListMap<>();
+
+    // Devices every kernel runs on when fanning out across devices (empty
+    // otherwise), and the outcome of each kernel on each of them.
+    private volatile List<TornadoDevice> devices = List.of();
+    private final DeviceMatrix deviceMatrix = new DeviceMatrix();
+
+    // Verification verdicts and speedups of the kernels that ran, keyed like
+    // benchmarkResults.
+    private final Map<String, DifferentialVerification> verificationResults = new ConcurrentSkipListMap<>();
+
+    // Kernels of this run found significantly slower than their performance
+    // history, keyed like benchmarkResults.
+    private final Map<String, RegressionDetector.Regression> regressions = new ConcurrentSkipListMap<>();
 
     public ExecutionEngine(Project project, String tempFolderPath, HashMap<String, PsiMethod> fileMethodMap) {
+        this(project, tempFolderPath, fileMethodMap, false);
+    }
+
+    public ExecutionEngine(Project project, String tempFolderPath, HashMap<String, PsiMethod> fileMethodMap,
+                           boolean forceRerun) {
+        this(project, tempFolderPath, fileMethodMap, forceRerun, null);
+    }
+
+    /**
+     * @param batchHarness the single harness running every selected kernel, or
+     *                     {@code null} when each kernel has its own harness
+     */
+    public ExecutionEngine(Project project, String tempFolderPath, HashMap<String, PsiMethod> fileMethodMap,
+                           boolean forceRerun, GeneratedHarness batchHarness) {
+        this(project, tempFolderPath, fileMethodMap, forceRerun, batchHarness, Map.of());
+    }
+
+    /**
+     * @param sweepSizes the problem size each generated file was sized with,
+     *                   when the files are the points of a size sweep
+     */
+    public ExecutionEngine(Project project, String tempFolderPath, HashMap<String, PsiMethod> fileMethodMap,
+                           boolean forceRerun, GeneratedHarness batchHarness, Map<String, Integer> sweepSizes) {
         this.project = project;
         this.tempFolderPath = tempFolderPath;
         this.fileMethodMap = fileMethodMap;
+        this.forceRerun = forceRerun;
+        this.batchHarness = batchHarness;
+        this.sweepSizes = sweepSizes;
         this.completed = false;
         this.hasRuntimeErrors = false;
     }
@@ -85,26 +186,6 @@ public class ExecutionEngine {
         return System.getProperty("os.name").toLowerCase().contains("win");
     }
 
-    /**
-     * Resolves the {@code tornado} executable. Prefers an absolute path under
-     * {@code TORNADOVM_HOME/bin} (so the plugin works regardless of how the IDE
-     * was launched, since the JVM resolves a bare command name against the
-     * launching process's PATH rather than any PATH we set on the command line),
-     * and falls back to the bare executable name for a PATH lookup when the home
-     * is unknown or the binary is missing.
-     */
-    private static String resolveTornadoExe() {
-        String exe = isWindows() ? "tornado.exe" : "tornado";
-        String home = EnvironmentVariable.getTornadoSdk();
-        if (home != null && !home.isEmpty()) {
-            File candidate = new File(home, "bin" + File.separator + exe);
-            if (candidate.isFile()) {
-                return candidate.getAbsolutePath();
-            }
-        }
-        return exe;
-    }
-
     public void run(){
         // Performing UI related operations on a non-EDT is not allowed.
         MessageUtils.getInstance(project).showInfoMsg(MessageBundle.message("dynamic.info.title"),
@@ -112,41 +193,145 @@ public class ExecutionEngine {
 
         // Validate JDK before starting
         if (!validateProjectJdk()) {
+            publisher().inspectionFinished(false, 0, 0);
             return;
         }
 
         // Validate TornadoVM SDK before starting
         if (!validateTornadoSdk()) {
+            publisher().inspectionFinished(false, 0, 0);
             return;
         }
 
         // Make sure the configured test-data size will produce a meaningful run
         if (!validateParameterSize()) {
+            publisher().inspectionFinished(false, 0, 0);
             return;
         }
 
-        ApplicationManager.getApplication().executeOnPooledThread(() -> {
+        ProgressManager.getInstance().run(new Task.Backgroundable(project,
+                MessageBundle.message("dynamic.progress.title"), true) {
+            @Override
+            public void run(@NotNull ProgressIndicator progressIndicator) {
+                indicator = progressIndicator;
+                runPipeline();
+            }
+        });
+    }
+
+    private void runPipeline() {
+        long startTime = System.currentTimeMillis();
+        List<String> files = List.of();
+        StreamingOutputCollector.deleteSpillFiles();
+        try {
+            indicator.setIndeterminate(false);
+            indicator.setText(MessageBundle.message("dynamic.progress.validate"));
             // 'tornado --version' is a blocking subprocess call, so it must
             // run off the EDT (OSProcessHandler.waitFor refuses on the EDT).
             if (!validateJdkCompatibility()) {
                 return;
             }
 
-            long startTime = System.currentTimeMillis();
-            ArrayList<String> files = new ArrayList<>(fileMethodMap.keySet());
-            try {
+            KernelMetricsService.getInstance(project).clear();
+            files = replayCachedResults(new ArrayList<>(fileMethodMap.keySet()));
+            if (!files.isEmpty()) {
+                indicator.checkCanceled();
+                indicator.setText(MessageBundle.message("dynamic.progress.datasets"));
+                InputDataset.writePending();
+                indicator.setText(MessageBundle.message("dynamic.info.compile"));
+                indicator.setFraction(0.05);
                 compile(tempFolderPath, files);
-                packFolder(tempFolderPath, tempFolderPath);
-                executeJars(tempFolderPath);
-            }catch (UnsupportedOperationException ignore){}
-            catch (Exception e) {
-                throw new RuntimeException(e);
-            }finally {
-                long runningTime = System.currentTimeMillis() - startTime;
-                showStatDialog(runningTime);
-                cleanUp();
+                indicator.checkCanceled();
+                indicator.setFraction(0.15);
+                executeHarnesses(files);
             }
-        });
+        }catch (UnsupportedOperationException ignore){
+            // A batch failure cannot be attributed to one kernel, so only
+            // single-kernel compile failures are cached.
+            String key = files.size() == 1 ? cacheKeys.get(files.get(0)) : null;
+            if (key != null && compileFailureSummary != null) {
+                InspectionResultCache.getInstance().put(key,
+                        InspectionResultCache.Entry.compileError(compileFailureSummary));
+            }
+            for (String javaPath : files) {
+                publishForKernels(javaPath, null, DynamicInspectionListener.Status.COMPILE_ERROR,
+                        String.valueOf(compileFailureSummary));
+            }
+        }catch (ProcessCanceledException e) {
+            MessageUtils.getInstance(project).showWarnMsg(MessageBundle.message("dynamic.info.title"),
+                    MessageBundle.message("dynamic.info.cancelled"));
+            throw e;
+        }
+        catch (Exception e) {
+            throw new RuntimeException(e);
+        }finally {
+            long runningTime = System.currentTimeMillis() - startTime;
+            showBenchmarkTable();
+            showSweepResults();
+            showDeviceMatrix();
+            showVerificationReport();
+            showRegressions();
+            showStatDialog(runningTime, totalKernelTime.get());
+            publisher().inspectionFinished(completed, runningTime, totalKernelTime.get());
+            cleanUp();
+        }
+    }
+
+    /**
+     * Computes the result-cache key of every generated harness and replays the
+     * cached verdict of those that were inspected before with the same
+     * source, TornadoVM, JDK and array size.
+     *
+     * @return the files that still have to be compiled and run
+     */
+    private List<String> replayCachedResults(List<String> files) {
+        // Entries are not keyed by device, so fanned-out runs bypass the cache.
+        if (!TornadoSettingState.getInstance().resultCacheEnabled || TornadoSettingState.getInstance().multiDeviceEnabled) {
+            return files;
+        }
+        Sdk projectSdk = ProjectRootManager.getInstance(project).getProjectSdk();
+        String jdkVersion = projectSdk != null ? projectSdk.getVersionString() : null;
+        int parameterSize = TornadoSettingState.getInstance().parameterSize;
+        InspectionResultCache cache = InspectionResultCache.getInstance();
+
+        List<String> remaining = new ArrayList<>();
+        for (String javaPath : files) {
+            String className = new File(javaPath).getName().replace(".java", "");
+            try {
+                String source = Files.readString(Path.of(javaPath));
+                cacheKeys.put(javaPath, InspectionResultCache.key(source, className, tornadoVersion, jdkVersion, parameterSize));
+            } catch (IOException e) {
+                LOG.warn("Could not hash generated harness " + javaPath, e);
+                remaining.add(javaPath);
+                continue;
+            }
+
+            InspectionResultCache.Entry cached = forceRerun ? null : cache.get(cacheKeys.get(javaPath));
+            // Timings are only meaningful for the run that measured them, so
+            // benchmark and verification modes replay compile failures but
+            // always rerun kernels.
+            if (cached != null && cached.getKind() == InspectionResultCache.Entry.Kind.RUN
+                    && (TornadoSettingState.getInstance().benchmarkEnabled
+                        || TornadoSettingState.getInstance().verifyEnabled)) {
+                cached = null;
+            }
+            if (cached == null) {
+                remaining.add(javaPath);
+                continue;
+            }
+            String methodName = ApplicationManager.getApplication().runReadAction(
+                    (Computable<String>) () -> TornadoTWTask.psiMethodFormat(fileMethodMap.get(javaPath)));
+            MessageUtils.getInstance(project).showInfoMsg(MessageBundle.message("dynamic.info.title"),
+                    methodName + ": " + MessageBundle.message("dynamic.info.cached"));
+            if (cached.getKind() == InspectionResultCache.Entry.Kind.COMPILE_ERROR) {
+                MessageUtils.getInstance(project).showWarnMsg("Generated code did not compile", cached.getDiagnostics());
+                publishForKernels(javaPath, null, DynamicInspectionListener.Status.COMPILE_ERROR, cached.getDiagnostics());
+            } else {
+                reportResults(javaPath, null, cached.hasError(),
+                        new ProcessOutput(cached.getStdout(), cached.getStderr(), cached.getExitCode(), false, false), false);
+            }
+        }
+        return remaining;
     }
 
     private boolean validateProjectJdk() {
@@ -249,18 +434,6 @@ public class ExecutionEngine {
         return false;
     }
 
-    // Matches the JDK feature number in lines like "version=4.0.1-jdk21" emitted by
-    // 'tornado --version' on success.
-    private static final Pattern TORNADO_JDK_PATTERN =
-            Pattern.compile("(?im)^\\s*version\\s*=\\s*\\S*-jdk(\\d+)");
-
-    // When 'tornado --version' itself rejects the current JDK, its stderr names the
-    // JDK it was built against, e.g.
-    //   "[ERROR] TornadoVM is only compatible with JDK version 25"
-    //   "TornadoVM supports only JDK version 25"
-    private static final Pattern TORNADO_REQUIRED_JDK_PATTERN =
-            Pattern.compile("(?im)(?:compatible with|supports only)\\s+JDK\\s+version\\s+(\\d+)");
-
     /**
      * Cross-checks the JDK that TornadoVM was built against (reported by
      * {@code tornado --version}) with the JDK currently configured for the
@@ -309,60 +482,41 @@ public class ExecutionEngine {
     }
 
     /**
-     * Runs {@code tornado --version} and parses the JDK feature version from
-     * the {@code version=<x>-jdk<n>} line. Returns {@code null} (and surfaces
-     * a user-visible notification) if the subprocess cannot be launched, fails,
+     * Looks up the JDK feature version TornadoVM was built against, probing
+     * {@code tornado --version} through {@link TornadoSdkService} unless the
+     * installation was already probed. Returns {@code null} (and surfaces a
+     * user-visible notification) if the subprocess cannot be launched, fails,
      * or its output does not contain a recognisable JDK marker.
      */
     private Integer detectTornadoVmJdkVersion() {
-        GeneralCommandLine commandLine = new GeneralCommandLine();
-        commandLine.withParentEnvironmentType(GeneralCommandLine.ParentEnvironmentType.CONSOLE);
-        commandLine.setExePath(resolveTornadoExe());
-        configureEnvironmentVariables(commandLine);
-        commandLine.addParameter("--version");
-
-        ProcessOutput output;
-        try {
-            output = ExecUtil.execAndGetOutput(commandLine);
-        } catch (ExecutionException e) {
+        TornadoSdkService.Capabilities capabilities = TornadoSdkService.getInstance(project).getCapabilities(indicator);
+        if (capabilities.getLaunchError() != null) {
             notifyTornadoVersionFailure(
-                    "Failed to launch 'tornado --version': " + e.getMessage()
+                    "Failed to launch 'tornado --version': " + capabilities.getLaunchError()
                             + ". Verify that 'tornado' is on PATH and that TORNADOVM_HOME points at a valid installation.");
             return null;
         }
 
-        String combined = (output.getStdout() + "\n" + output.getStderr()).trim();
-
         // Happy path: the version line is present.
-        Matcher matcher = TORNADO_JDK_PATTERN.matcher(combined);
-        if (matcher.find()) {
-            try {
-                int jdk = Integer.parseInt(matcher.group(1));
-                MessageUtils.getInstance(project).showInfoMsg("Info",
-                        "TornadoVM JDK version detected: " + jdk);
-                return jdk;
-            } catch (NumberFormatException ignore) {
-                // Fall through to the structured-failure handling below.
-            }
+        if (capabilities.getVersionLine() != null) {
+            tornadoVersion = capabilities.getVersionLine();
+            MessageUtils.getInstance(project).showInfoMsg("Info",
+                    "TornadoVM JDK version detected: " + capabilities.getJdk());
+            return capabilities.getJdk();
         }
 
         // Failure path: tornado itself rejected the current JDK and named the
         // version it wants. Surface that as the target JDK so the upstream
         // comparison can produce a precise mismatch message.
-        Matcher requiredJdk = TORNADO_REQUIRED_JDK_PATTERN.matcher(combined);
-        if (requiredJdk.find()) {
-            try {
-                return Integer.parseInt(requiredJdk.group(1));
-            } catch (NumberFormatException ignore) {
-                // Fall through.
-            }
+        if (capabilities.getJdk() != null) {
+            return capabilities.getJdk();
         }
 
         // Neither pattern produced a usable version - report the raw output.
-        String prefix = output.getExitCode() != 0
-                ? "'tornado --version' exited with code " + output.getExitCode() + "."
+        String prefix = capabilities.getVersionExitCode() != 0
+                ? "'tornado --version' exited with code " + capabilities.getVersionExitCode() + "."
                 : "'tornado --version' did not report a JDK target (expected a 'version=<x>-jdk<n>' line).";
-        notifyTornadoVersionFailure(prefix + "\nOutput:\n" + combined);
+        notifyTornadoVersionFailure(prefix + "\nOutput:\n" + capabilities.getVersionOutput());
         return null;
     }
 
@@ -378,7 +532,7 @@ public class ExecutionEngine {
         Notifications.Bus.notify(notification, project);
     }
 
-    private void compile(String outputDir, ArrayList<String> javaFiles) {
+    private void compile(String outputDir, List<String> javaFiles) {
         MessageUtils.getInstance(project).showInfoMsg(MessageBundle.message("dynamic.info.title"),
                 MessageBundle.message("dynamic.info.compile"));
 
@@ -421,6 +575,15 @@ public class ExecutionEngine {
                 ? projectSdkVersion.getMaxLanguageLevel().toJavaVersion().feature
                 : 21; // Fallback to the minimum supported release
 
+        // Compile inside the IDE when its runtime matches the project JDK; this
+        // skips a javac JVM start-up and gives us structured diagnostics.
+        if (InProcessCompiler.isAvailableFor(releaseVersion)) {
+            compileInProcess(outputDir, javaFiles, classpath, releaseVersion);
+            return;
+        }
+
+        // Otherwise fork the project JDK's javac, which compiles against the
+        // project's own platform classes.
         GeneralCommandLine commandLine = new GeneralCommandLine();
         String javacPath = projectSdk.getHomePath() + File.separator + "bin" + File.separator + "javac";
         if (isWindows()) {
@@ -450,8 +613,8 @@ public class ExecutionEngine {
                 // produces hundreds of lines of overload candidates and
                 // type-variable declarations that bury the actual cause.
                 LOG.warn("Generated code compilation failed (exit code " + exitCode + "):\n" + stderr);
-                MessageUtils.getInstance(project).showWarnMsg("Generated code did not compile",
-                        summarizeCompilerErrors(stderr));
+                compileFailureSummary = summarizeCompilerErrors(stderr);
+                MessageUtils.getInstance(project).showWarnMsg("Generated code did not compile", compileFailureSummary);
                 throw new UnsupportedOperationException("Compilation failed with exit code " + exitCode);
             }
         } catch (ExecutionException e) {
@@ -460,6 +623,37 @@ public class ExecutionEngine {
         }
     }
 
+    private void compileInProcess(String outputDir, List<String> javaFiles, String classpath, int releaseVersion) {
+        List<File> sources = new ArrayList<>();
+        for (String javaFile : javaFiles) {
+            sources.add(new File(javaFile));
+        }
+        InProcessCompiler.Result result;
+        try {
+            result = InProcessCompiler.compile(sources, classpath, releaseVersion);
+            if (result.isSuccess()) {
+                // The TornadoVM launcher runs in its own JVM, so it still needs
+                // the classes on disk.
+                result.writeClasses(new File(outputDir));
+                return;
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("In-process compilation of the generated code failed", e);
+            MessageUtils.getInstance(project).showErrorMsg(MessageBundle.message("dynamic.info.title"),
+                    MessageBundle.message("dynamic.error.compile"));
+            throw new UnsupportedOperationException("In-process compilation failed", e);
+        }
+
+        StringBuilder log = new StringBuilder();
+        for (CompilerDiagnostic diagnostic : result.getDiagnostics()) {
+            log.append(diagnostic.header()).append("\n");
+        }
+        LOG.warn("Generated code compilation failed:\n" + log);
+        compileFailureSummary = summarizeDiagnostics(result.getDiagnostics());
+        MessageUtils.getInstance(project).showWarnMsg("Generated code did not compile", compileFailureSummary);
+        throw new UnsupportedOperationException("Compilation failed");
+    }
+
     // javac diagnostic header, e.g. "atomic18YxscA.java:49: error: no suitable method ..."
     private static final Pattern COMPILE_DIAGNOSTIC =
             Pattern.compile("\\.java:\\d+:\\s*(error|warning):");
@@ -539,24 +733,86 @@ public class ExecutionEngine {
         }
 
         if (typeMismatch) {
-            summary.append("\n--- What this means ---\n");
-            summary.append("TornadoInsight generated a test harness that allocated the wrong data type for one of ")
-                    .append(kernelName != null ? "kernel '" + kernelName + "'s parameters" : "this kernel's parameters")
-                    .append(", so the strongly-typed TaskGraph.task(...) call does not type-check.\n");
-            if (expectedType != null && actualType != null) {
-                summary.append("    - The kernel parameter expects: ").append(expectedType).append("\n");
-                summary.append("    - The generated harness supplied: ").append(actualType).append("\n");
-            }
-            summary.append("\nThis is a type-detection bug in TornadoInsight's harness generator, not a limitation of your device. ")
-                    .append("Because this is a compile-time error, it cannot be caused by the device lacking support for a type ")
-                    .append("(an unsupported type, such as FP64/double on a GPU without double-precision support, would fail at run time, not here).\n");
-            summary.append("\nWhat you can do:\n");
-            summary.append("    - This kernel cannot be dynamically inspected until the generator emits a matching type.\n");
-            summary.append("    - Please report it, including the kernel signature and the expected/supplied types shown above.");
+            appendTypeMismatchExplanation(summary, kernelName, expectedType, actualType);
         }
         return summary.toString().strip();
     }
 
+    /**
+     * Structured counterpart of {@link #summarizeCompilerErrors(String)} for
+     * diagnostics produced by the in-process compiler. Each error or warning
+     * contributes its header, the offending source line and the
+     * {@code upper/lower bounds} lines of its message; the overload-candidate
+     * noise in the rest of the message is dropped.
+     */
+    static String summarizeDiagnostics(List<CompilerDiagnostic> diagnostics) {
+        StringBuilder summary = new StringBuilder();
+        boolean typeMismatch = false;
+        String kernelName = null;
+        String expectedType = null;
+        String actualType = null;
+        for (CompilerDiagnostic diagnostic : diagnostics) {
+            if (diagnostic.getKind() == CompilerDiagnostic.Kind.NOTE) {
+                continue;
+            }
+            String header = diagnostic.header();
+            summary.append(header).append("\n");
+            if (header.contains("for task(")) {
+                typeMismatch = true;
+            }
+            String sourceLine = diagnostic.getSourceLine();
+            if (sourceLine != null && !sourceLine.isBlank()) {
+                summary.append("    ").append(sourceLine.strip()).append("\n");
+                if (kernelName == null && sourceLine.contains(".task(")) {
+                    Matcher m = KERNEL_REF.matcher(sourceLine);
+                    if (m.find()) {
+                        kernelName = m.group(1);
+                    }
+                }
+            }
+            String message = diagnostic.getMessage() == null ? "" : diagnostic.getMessage();
+            for (String line : message.split("\n")) {
+                String trimmed = line.strip();
+                if (trimmed.startsWith("upper bounds:") || trimmed.startsWith("lower bounds:")
+                        || trimmed.contains("has incompatible bounds")) {
+                    summary.append("    ").append(trimmed).append("\n");
+                    typeMismatch = true;
+                    if (trimmed.startsWith("upper bounds:") && expectedType == null) {
+                        expectedType = firstType(trimmed.substring("upper bounds:".length()));
+                    } else if (trimmed.startsWith("lower bounds:") && actualType == null) {
+                        actualType = firstType(trimmed.substring("lower bounds:".length()));
+                    }
+                }
+            }
+        }
+
+        if (summary.length() == 0) {
+            return "Compilation of the generated TornadoVM test failed, but the Java compiler reported no diagnostics to explain why.";
+        }
+        if (typeMismatch) {
+            appendTypeMismatchExplanation(summary, kernelName, expectedType, actualType);
+        }
+        return summary.toString().strip();
+    }
+
+    private static void appendTypeMismatchExplanation(StringBuilder summary, String kernelName,
+                                                      String expectedType, String actualType) {
+        summary.append("\n--- What this means ---\n");
+        summary.append("TornadoInsight generated a test harness that allocated the wrong data type for one of ")
+                .append(kernelName != null ? "kernel '" + kernelName + "'s parameters" : "this kernel's parameters")
+                .append(", so the strongly-typed TaskGraph.task(...) call does not type-check.\n");
+        if (expectedType != null && actualType != null) {
+            summary.append("    - The kernel parameter expects: ").append(expectedType).append("\n");
+            summary.append("    - The generated harness supplied: ").append(actualType).append("\n");
+        }
+        summary.append("\nThis is a type-detection bug in TornadoInsight's harness generator, not a limitation of your device. ")
+                .append("Because this is a compile-time error, it cannot be caused by the device lacking support for a type ")
+                .append("(an unsupported type, such as FP64/double on a GPU without double-precision support, would fail at run time, not here).\n");
+        summary.append("\nWhat you can do:\n");
+        summary.append("    - This kernel cannot be dynamically inspected until the generator emits a matching type.\n");
+        summary.append("    - Please report it, including the kernel signature and the expected/supplied types shown above.");
+    }
+
     /**
      * Picks the first concrete type from a javac bounds list such as
      * "DoubleArray,Object" or " IntArray", ignoring the trailing {@code Object}
@@ -581,114 +837,335 @@ public class ExecutionEngine {
     // Leading Java type token, e.g. "DoubleArray", "int[]", "Foo<Bar>".
     private static final Pattern TYPE_TOKEN = Pattern.compile("^([\\w.$]+(?:\\[\\])*(?:<[^>]*>)?)");
 
-    private void packFolder(String classFolderPath, String outputFolderPath) {
+    /**
+     * Runs the compiled harness of each generated file, straight from the
+     * class output directory.
+     */
+    private void executeHarnesses(List<String> javaFiles) {
         MessageUtils.getInstance(project).showInfoMsg(MessageBundle.message("dynamic.info.title"),
-                MessageBundle.message("dynamic.info.packing"));
-        File classFolder = new File(classFolderPath);
-        File[] classFiles = classFolder.listFiles((dir, name) -> name.endsWith(".class"));
-        if (classFiles == null) {
+                MessageBundle.message("dynamic.info.execution"));
+        //Detecting if the user has correctly installed TornadoVM
+        TornadoSdkService.Capabilities capabilities = TornadoSdkService.getInstance(project).getCapabilities(indicator);
+        if (capabilities.getLaunchError() != null) {
+            MessageUtils.getInstance(project).showErrorMsg(MessageBundle.message("dynamic.info.title"),
+                    "TornadoVM is not properly installed or configured.\n\n" +
+                    "Error: " + capabilities.getLaunchError());
             return;
         }
+        if (!capabilities.isDevicesAvailable()) {
+            // TornadoVM is not properly installed on the user's machine
+            Notification notification = new Notification("Print", "TornadoVM not detected",
+                    "TornadoVM is not properly installed or configured", NotificationType.ERROR);
+            notification.addAction(new NotificationAction("How to install and configure TornadoVM") {
+                @Override
+                public void actionPerformed(@NotNull AnActionEvent e, @NotNull Notification notification) {
+                    BrowserUtil.browse("https://tornadovm.readthedocs.io/en/latest/installation.html#");
+                }
+            });
+            Notifications.Bus.notify(notification);
+            return;
+        }
+        if (TornadoSettingState.getInstance().multiDeviceEnabled) {
+            devices = capabilities.getDevices();
+            if (devices.isEmpty()) {
+                MessageUtils.getInstance(project).showWarnMsg(MessageBundle.message("dynamic.info.title"),
+                        MessageBundle.message("dynamic.info.noDevices"));
+            }
+        }
 
-        File outputFolder = new File(outputFolderPath);
-        if (!outputFolder.exists()) {
-            outputFolder.mkdirs();
+        List<String> harnesses = new ArrayList<>();
+        for (String javaPath : javaFiles) {
+            if (new File(tempFolderPath, mainClass(javaPath) + ".class").isFile()) {
+                harnesses.add(javaPath);
+            }
         }
 
-        for (File classFile : classFiles) {
-            Manifest manifest = new Manifest();
-            manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
-            manifest.getMainAttributes().put(Attributes.Name.MAIN_CLASS, classFile.getName().replace(".class", ""));
+        // One run per harness, or per harness and device when fanning out; a
+        // null device leaves the choice to TornadoVM.
+        List<TornadoDevice> targets = devices.isEmpty() ? Collections.singletonList(null) : devices;
+        int runs = harnesses.size() * targets.size();
 
-            File outputJar = new File(outputFolder, classFile.getName().replace(".class", ".jar"));
+        // The warm worker runs one harness at a time, so a pool would only queue on it.
+        TornadoSettingState settings = TornadoSettingState.getInstance();
+        int workers = settings.parallelExecutionEnabled && !settings.warmWorkerEnabled ? workerCount(runs) : 1;
+        if (workers <= 1) {
+            for (String harness : harnesses) {
+                for (TornadoDevice device : targets) {
+                    indicator.checkCanceled();
+                    runHarness(harness, device, runs);
+                }
+            }
+            return;
+        }
 
-            try (JarOutputStream jos = new JarOutputStream(new FileOutputStream(outputJar), manifest)) {
-                Path classPath = classFile.toPath();
-                jos.putNextEntry(new JarEntry(classPath.getFileName().toString()));
-                Files.copy(classPath, jos);
-                jos.closeEntry();
-            } catch (IOException e) {
-                MessageUtils.getInstance(project).showErrorMsg(MessageBundle.message("dynamic.info.title"),
-                        MessageBundle.message("dynamic.error.packing"));
+        LOG.info("Running " + runs + " kernels with " + workers + " parallel TornadoVM processes");
+        ExecutorService executor = AppExecutorUtil.createBoundedApplicationPoolExecutor("TornadoInsight Kernel Runner", workers);
+        try {
+            List<Future<?>> pending = new ArrayList<>();
+            for (String harness : harnesses) {
+                for (TornadoDevice device : targets) {
+                    pending.add(executor.submit(() -> {
+                        if (!indicator.isCanceled()) {
+                            runHarness(harness, device, runs);
+                        }
+                    }));
+                }
+            }
+            for (Future<?> future : pending) {
+                try {
+                    future.get();
+                } catch (java.util.concurrent.ExecutionException e) {
+                    LOG.warn("Kernel run failed", e.getCause());
+                }
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
         }
+        indicator.checkCanceled();
     }
 
-    private void executeJars(String jarFolderPath) {
-        MessageUtils.getInstance(project).showInfoMsg(MessageBundle.message("dynamic.info.title"),
-                MessageBundle.message("dynamic.info.execution"));
-        GeneralCommandLine commandLine = new GeneralCommandLine();
-        //Detecting if the user has correctly installed TornadoVM
-        commandLine.withParentEnvironmentType(GeneralCommandLine.ParentEnvironmentType.CONSOLE);
-        // On Windows, explicitly use tornado.exe to avoid trying to execute the Unix shell script
-        commandLine.setExePath(resolveTornadoExe());
-        configureEnvironmentVariables(commandLine);
-        commandLine.addParameter("--device");
+    /**
+     * Sizes the pool of concurrent {@code tornado} processes. Each process is a
+     * full JVM that JIT-compiles with Graal on several threads of its own, so we
+     * use half of the available cores, and never more processes than the free
+     * physical memory can hold or than there are kernels to run.
+     */
+    private static int workerCount(int kernels) {
+        int byCores = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        int byMemory = byCores;
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean sunOs) {
+            long free = sunOs.getFreeMemorySize();
+            if (free > 0) {
+                byMemory = (int) Math.max(1, free / TORNADO_PROCESS_MEMORY_BYTES);
+            }
+        }
+        return Math.max(1, Math.min(kernels, Math.min(byCores, byMemory)));
+    }
 
+    /**
+     * @param device the device to run on, or {@code null} for TornadoVM's default
+     */
+    private void runHarness(String javaPath, TornadoDevice device, int kernelCount) {
+        long kernelStart = System.currentTimeMillis();
+        String kernelName = kernelName(javaPath, device);
+        indicator.setText(MessageBundle.message("dynamic.progress.kernel") + " " + kernelName
+                + " (" + (finishedKernels.get() + 1) + "/" + kernelCount + ")");
+        int timeoutSeconds = timeoutSeconds(javaPath);
+        StreamingOutputCollector collector = new StreamingOutputCollector(project, kernelName,
+                TornadoSettingState.getInstance().outputBufferLimitKb * 1024L,
+                () -> {
+                    hasRuntimeErrors = true;
+                    MessageUtils.getInstance(project).showWarnMsg(MessageBundle.message("dynamic.info.title"),
+                            kernelName + ": " + MessageBundle.message("dynamic.info.errorDetected"));
+                });
         try {
-            CapturingProcessHandler handler = new CapturingProcessHandler(commandLine);
-            ProcessOutput output = handler.runProcess();
-            if (output.getExitCode() != 0) {
-                // TornadoVM is not properly installed on the user's machine
-                Notification notification = new Notification("Print", "TornadoVM not detected",
-                        "TornadoVM is not properly installed or configured", NotificationType.ERROR);
-                notification.addAction(new NotificationAction("How to install and configure TornadoVM") {
-                    @Override
-                    public void actionPerformed(@NotNull AnActionEvent e, @NotNull Notification notification) {
-                        BrowserUtil.browse("https://tornadovm.readthedocs.io/en/latest/installation.html#");
+            ProcessOutput output;
+            ProcessOutput workerOutput = TornadoSettingState.getInstance().warmWorkerEnabled ? runOnWorker(javaPath, device) : null;
+            if (workerOutput != null) {
+                // The worker answers once the harness has finished, so its
+                // output can only be echoed afterwards.
+                collector.feed(workerOutput.getStdout(), workerOutput.getStderr());
+                output = collector.toProcessOutput(workerOutput.getExitCode(), workerOutput.isTimeout(),
+                        workerOutput.isCancelled());
+            } else {
+                OSProcessHandler handler = new OSProcessHandler(getGeneralCommandLine(javaPath, device));
+                handler.addProcessListener(collector);
+                handler.startNotify();
+                boolean timedOut = false;
+                boolean cancelled = false;
+                long deadline = kernelStart + timeoutSeconds * 1000L;
+                while (!handler.waitFor(PROCESS_POLL_MS)) {
+                    timedOut = timeoutSeconds > 0 && System.currentTimeMillis() > deadline;
+                    cancelled = indicator.isCanceled();
+                    if (timedOut || cancelled) {
+                        // 'tornado' is a launcher script, so the JVM running
+                        // the kernel is a child process: kill the whole tree.
+                        OSProcessUtil.killProcessTree(handler.getProcess());
+                        handler.waitFor();
+                        break;
                     }
-                });
-                Notifications.Bus.notify(notification);
+                }
+                Integer exitCode = handler.getExitCode();
+                output = collector.toProcessOutput(timedOut || cancelled || exitCode == null ? -1 : exitCode,
+                        timedOut, cancelled);
+            }
+            if (output.isCancelled()) {
                 return;
             }
+            if (output.isTimeout()) {
+                hasRuntimeErrors = true;
+                completed = true;
+                MessageUtils.getInstance(project).showErrorMsg(MessageBundle.message("dynamic.info.title"),
+                        kernelName + ": " + MessageBundle.message("dynamic.error.timeout") + " " + timeoutSeconds + "s");
+                recordSweepPoint(javaPath, device, null);
+                recordDeviceTimeout(javaPath, device);
+                publishForKernels(javaPath, device, DynamicInspectionListener.Status.TIMEOUT,
+                        MessageBundle.message("dynamic.error.timeout") + " " + timeoutSeconds + "s");
+                return;
+            }
+            // Cannot use the exit code alone to determine if TornadoVM hit an error.
+            // Under normal circumstances TornadoVM output includes warnings like:
+            // "WARNING: Using incubator modules: jdk.incubator.foreign, jdk.incubator.vector"
+            // We must check for both Java exceptions and OpenCL/SPIR-V/PTX runtime errors,
+            // which the collector does line by line while the output streams in.
+            boolean hasError = collector.hasError();
+            reportResults(javaPath, device, hasError, output, true);
+            recordHistory(javaPath, device, hasError, output);
+            storeResult(javaPath, hasError, output);
         } catch (ExecutionException e) {
-            MessageUtils.getInstance(project).showErrorMsg(MessageBundle.message("dynamic.info.title"),
-                    "TornadoVM is not properly installed or configured.\n\n" +
-                    "Error: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            totalKernelTime.addAndGet(System.currentTimeMillis() - kernelStart);
+            indicator.setFraction(0.2 + 0.8 * finishedKernels.incrementAndGet() / kernelCount);
+        }
+    }
 
+    /**
+     * Appends the kernel timings of a run to the project's performance
+     * history and warns about kernels that got slower. Only live runs are
+     * recorded; replayed cache entries measured nothing new.
+     */
+    private void recordHistory(String javaPath, TornadoDevice device, boolean hasError, ProcessOutput output) {
+        if (!TornadoSettingState.getInstance().historyEnabled) {
             return;
         }
+        Integer sweepSize = sweepSizes.get(javaPath);
+        if (isBatchHarness(javaPath)) {
+            for (GeneratedHarness.KernelOutcome outcome : batchHarness.split(output)) {
+                if (outcome.getStatus() == GeneratedHarness.Status.OK && extractErrorLines(outcome.getOutput()).isEmpty()) {
+                    recordHistory(outcome.getKernel(), sweepSize, device, outcome.getOutput().getStdout());
+                }
+            }
+        } else if (!hasError) {
+            recordHistory(fileMethodMap.get(javaPath), sweepSize, device, output.getStdout());
+        }
+    }
 
-        File folder = new File(jarFolderPath);
-        File[] listOfFiles = folder.listFiles();
-
-        if (listOfFiles == null) {
-            System.out.println("No files found in the specified directory.");
+    private void recordHistory(PsiMethod method, Integer sweepSize, TornadoDevice device, String stdout) {
+        if (method == null) {
             return;
         }
+        // Benchmark mode measures many iterations; otherwise the profiled
+        // execution gives one kernel time per task graph.
+        long[] samples;
+        PerformanceHistory.Mode mode;
+        List<TaskGraphProfile> profiles = TaskGraphProfile.parse(stdout);
+        BenchmarkStatistics statistics = BenchmarkStatistics.parse(stdout);
+        if (statistics != null) {
+            samples = statistics.samples(BenchmarkStatistics.Metric.KERNEL);
+            mode = PerformanceHistory.Mode.BENCHMARK;
+        } else {
+            samples = profiles.stream().mapToLong(TaskGraphProfile::getKernelNanos).filter(nanos -> nanos >= 0).toArray();
+            mode = PerformanceHistory.Mode.PROFILED;
+        }
+        if (samples.length == 0) {
+            return;
+        }
+        String deviceName = device != null ? device.getName()
+                : profiles.stream().map(TaskGraphProfile::getDevice).filter(name -> !name.isEmpty()).findFirst().orElse("default");
+        int size = sweepSize != null ? sweepSize : TornadoSettingState.getInstance().parameterSize;
+        String[] names = ApplicationManager.getApplication().runReadAction((Computable<String[]>) () -> {
+            PsiClass containingClass = method.getContainingClass();
+            String signature = TornadoTWTask.psiMethodFormat(method);
+            String className = containingClass != null ? containingClass.getQualifiedName() : null;
+            return new String[]{className != null ? className + "." + signature : signature, signature};
+        });
 
-        for (File file : listOfFiles) {
-            if (file.isFile() && file.getName().endsWith(".jar")) {
-                runTornadoOnJar(file.getAbsolutePath());
-            }
+        RegressionDetector.Regression regression = PerformanceHistory.getInstance(project).record(names[0], deviceName,
+                size, mode, samples, TornadoSettingState.getInstance().regressionThresholdPercent);
+        if (regression != null) {
+            String methodName = names[1] + qualifier(sweepSize, device);
+            regressions.put(methodName, regression);
+            publisher().regressionDetected(methodName, regression);
+            MessageUtils.getInstance(project).showWarnMsg(MessageBundle.message("dynamic.warn.regression"),
+                    String.format(Locale.ROOT, "%s: kernel time %.3f ms, %.3f ms over the last %d runs (+%.1f%%, p=%.2g, %d vs %d samples)",
+                            methodName, regression.currentMean() / 1e6, regression.baselineMean() / 1e6,
+                            PerformanceHistory.BASELINE_RUNS, regression.slowdownPercent(), regression.pValue(),
+                            regression.currentSamples(), regression.baselineSamples()));
         }
     }
 
-    private void runTornadoOnJar(String jarPath) {
-        GeneralCommandLine commandLine = getGeneralCommandLine(jarPath);
+    private void storeResult(String javaPath, boolean hasError, ProcessOutput output) {
+        String key = cacheKeys.get(javaPath);
+        // A negative exit code means the process was killed or the worker
+        // died, which says nothing reliable about the kernel.
+        if (key != null && output.getExitCode() >= 0) {
+            InspectionResultCache.getInstance().put(key, InspectionResultCache.Entry.run(hasError,
+                    output.getExitCode(), output.getStdout(), output.getStderr()));
+        }
+    }
+
+    /**
+     * Runs the harness generated in {@code javaPath} in the project's warm
+     * TornadoVM worker, sending its compiled class files, nested classes
+     * included. Returns {@code null} when the worker cannot be used, so the
+     * caller falls back to a cold launch.
+     */
+    private ProcessOutput runOnWorker(String javaPath, TornadoDevice device) {
+        String mainClass = mainClass(javaPath);
+        File[] classFiles = new File(tempFolderPath).listFiles((dir, name) ->
+                name.equals(mainClass + ".class") || name.startsWith(mainClass + "$") && name.endsWith(".class"));
+        if (classFiles == null || classFiles.length == 0) {
+            return null;
+        }
         try {
-            CapturingProcessHandler handler = new CapturingProcessHandler(commandLine);
-            ProcessOutput output = handler.runProcess();
-            // Cannot use the exit code alone to determine if TornadoVM hit an error.
-            // Under normal circumstances TornadoVM output includes warnings like:
-            // "WARNING: Using incubator modules: jdk.incubator.foreign, jdk.incubator.vector"
-            // We must check for both Java exceptions and OpenCL/SPIR-V/PTX runtime errors.
-            boolean hasError = detectRuntimeError(output);
-            printResults(jarPath, hasError, output);
-        } catch (ExecutionException e) {
-            e.printStackTrace();
+            Map<String, byte[]> classes = new HashMap<>();
+            for (File classFile : classFiles) {
+                classes.put(classFile.getName().replace(".class", ""), Files.readAllBytes(classFile.toPath()));
+            }
+            List<String> args = device == null ? List.of() : List.of(device.getId());
+            return TornadoWorkerService.getInstance(project).run(getTornadoLauncher(), mainClass, args, classes,
+                    timeoutSeconds(javaPath) * 1000L, indicator::isCanceled);
+        } catch (IOException | ExecutionException e) {
+            LOG.warn("Falling back to a cold TornadoVM launch for " + mainClass, e);
+            return null;
         }
     }
 
     /**
-     * Detects whether the TornadoVM process output contains runtime errors.
-     * Checks for Java exceptions as well as OpenCL/SPIR-V/PTX JNI-level errors
-     * that do not manifest as Java exceptions.
+     * Generated harnesses are in the default package and named after their file.
      */
-    private static boolean detectRuntimeError(ProcessOutput output) {
-        String combined = output.getStdout() + "\n" + output.getStderr();
+    private static String mainClass(String javaPath) {
+        return new File(javaPath).getName().replace(".java", "");
+    }
+
+    private boolean isBatchHarness(String javaPath) {
+        return batchHarness != null && batchHarness.getJavaFile().getAbsolutePath().equals(javaPath);
+    }
+
+    /**
+     * The per-kernel timeout, scaled by the number of kernels a batch
+     * harness runs in its single process.
+     */
+    private int timeoutSeconds(String javaPath) {
+        int perKernel = TornadoSettingState.getInstance().kernelTimeoutSeconds;
+        return isBatchHarness(javaPath) ? perKernel * batchHarness.getKernels().size() : perKernel;
+    }
+
+    private String kernelName(String javaPath, TornadoDevice device) {
+        PsiMethod method = fileMethodMap.get(javaPath);
+        String name;
+        if (method == null || isBatchHarness(javaPath)) {
+            name = new File(javaPath).getName().replace(".java", "");
+        } else {
+            name = ApplicationManager.getApplication().runReadAction((Computable<String>) method::getName);
+            Integer size = sweepSizes.get(javaPath);
+            name = size == null ? name : name + "[n=" + size + "]";
+        }
+        return device == null ? name : name + "@" + device.getId();
+    }
+
+    /**
+     * Detects whether a single line of TornadoVM process output reports a
+     * runtime error. Checks for Java exceptions as well as OpenCL/SPIR-V/PTX
+     * JNI-level errors that do not manifest as Java exceptions.
+     */
+    static boolean isErrorLine(String line) {
         for (String pattern : ERROR_PATTERNS) {
-            if (combined.contains(pattern)) {
+            if (line.contains(pattern)) {
                 return true;
             }
         }
@@ -763,13 +1240,28 @@ public class ExecutionEngine {
         return null;
     }
 
+    /**
+     * A cold launch of a harness: the class output directory is the whole
+     * classpath, so harnesses made of several classes run as they are.
+     */
     @NotNull
-    private GeneralCommandLine getGeneralCommandLine(String jarPath) {
-        GeneralCommandLine commandLine = new GeneralCommandLine();
-        commandLine.withParentEnvironmentType(GeneralCommandLine.ParentEnvironmentType.CONSOLE);
-        // On Windows, explicitly use tornado.exe to avoid trying to execute the Unix shell script
-        commandLine.setExePath(resolveTornadoExe());
-        configureEnvironmentVariables(commandLine);
+    private GeneralCommandLine getGeneralCommandLine(String javaPath, TornadoDevice device) {
+        GeneralCommandLine commandLine = getTornadoLauncher();
+        commandLine.addParameters("-cp", tempFolderPath, mainClass(javaPath));
+        if (device != null) {
+            commandLine.addParameter(device.getId());
+        }
+
+        return commandLine;
+    }
+
+    /**
+     * The {@code tornado} executable with its environment and launcher flags,
+     * shared by cold launches and the warm worker.
+     */
+    @NotNull
+    private GeneralCommandLine getTornadoLauncher() {
+        GeneralCommandLine commandLine = TornadoSdkService.getInstance(project).newCommandLine();
         commandLine.addParameter("--printKernel");
 
         // Add bytecode dump flag if enabled
@@ -778,9 +1270,6 @@ public class ExecutionEngine {
             commandLine.addParameter("--jvm=-Dtornado.dump.bytecodes.dir=" + bytecodeDir);
         }
 
-        commandLine.addParameter("-jar");
-        commandLine.addParameter(jarPath);
-
         return commandLine;
     }
 
@@ -789,95 +1278,211 @@ public class ExecutionEngine {
         return (bytecodeVisualizerEnabled) ? (" --jvm=\"-Dtornado.dump.bytecodes.dir=" + TornadoSettingState.getInstance().bytecodesFileSaveLocation + "\" ") : (" ");
     }
 
-    private void configureEnvironmentVariables(GeneralCommandLine commandLine) {
-        Map<String, String> environment = commandLine.getEnvironment();
-
-        // Set JAVA_HOME
-        Sdk projectSdk = ProjectRootManager.getInstance(project).getProjectSdk();
-        String javaHome = projectSdk != null ? projectSdk.getHomePath() : null;
-        if (javaHome != null) {
-            environment.put("JAVA_HOME", javaHome);
+    /**
+     * Reports the outcome of running the harness generated in {@code javaPath}.
+     * The output of a batch harness is split back per kernel first.
+     */
+    private void reportResults(String javaPath, TornadoDevice device, boolean hasError, ProcessOutput output,
+                               boolean streamed) {
+        if (!isBatchHarness(javaPath)) {
+            printResults(javaPath, device, hasError, output, streamed);
+            return;
         }
+        boolean allFinished = true;
+        for (GeneratedHarness.KernelOutcome outcome : batchHarness.split(output)) {
+            ProcessOutput kernelOutput = outcome.getOutput();
+            boolean kernelError = outcome.getStatus() != GeneratedHarness.Status.OK
+                    || !extractErrorLines(kernelOutput).isEmpty();
+            allFinished &= outcome.getStatus() == GeneratedHarness.Status.OK;
+            printResults(outcome.getKernel(), qualifier(null, device), kernelError, kernelOutput, streamed);
+            recordDeviceResult(outcome.getKernel(), null, device, kernelError, kernelOutput);
+        }
+        // Native driver messages go to the process's stderr and cannot be
+        // tied to a kernel. Kernels that did not finish already carry it, but
+        // make sure errors there are not lost when every kernel finished.
+        String unattributed = allFinished
+                ? extractErrorLines(new ProcessOutput("", output.getStderr(), 0, false, false))
+                : "";
+        if (!unattributed.isEmpty()) {
+            hasRuntimeErrors = true;
+            MessageUtils.getInstance(project).showErrorMsg(MessageBundle.message("dynamic.info.title"),
+                    MessageBundle.message("dynamic.error.unattributed") + "\n" + unattributed);
+        }
+    }
 
-        // Set TORNADOVM_HOME and update PATH
-        String tornadoVmHome = EnvironmentVariable.getTornadoSdk();
-
-        if (tornadoVmHome != null) {
-            environment.put("TORNADOVM_HOME", tornadoVmHome);
+    //Test results for each method
+    private void printResults(String javaPath, TornadoDevice device, boolean hasError, ProcessOutput output,
+                              boolean streamed) {
+        PsiMethod method = fileMethodMap.get(javaPath);
+        printResults(method, qualifier(sweepSizes.get(javaPath), device), hasError, output, streamed);
+        recordSweepPoint(javaPath, device, hasError ? null : BenchmarkStatistics.parse(output.getStdout()));
+        recordDeviceResult(method, sweepSizes.get(javaPath), device, hasError, output);
+    }
 
-            // Add tornado/bin to PATH
-            String existingPath = environment.get("PATH");
-            if (existingPath == null) {
-                existingPath = System.getenv("PATH");
-            }
+    /**
+     * The suffix that tells runs of the same kernel apart in reports: the
+     * problem size within a sweep and the device when fanning out.
+     */
+    private static String qualifier(Integer sweepSize, TornadoDevice device) {
+        return (sweepSize == null ? "" : " [n=" + sweepSize + "]")
+                + (device == null ? "" : " on device " + device.getId());
+    }
 
-            String tornadoBinPath = tornadoVmHome + File.separator + "bin";
-            String pathSeparator = File.pathSeparator;
-            String newPath = tornadoBinPath + pathSeparator + existingPath;
-            environment.put("PATH", newPath);
+    /**
+     * Adds the outcome of one size-sweep harness to its kernel's series; a
+     * {@code null} {@code statistics} records the size as failed.
+     */
+    private void recordSweepPoint(String javaPath, TornadoDevice device, BenchmarkStatistics statistics) {
+        Integer size = sweepSizes.get(javaPath);
+        PsiMethod method = fileMethodMap.get(javaPath);
+        if (size == null || method == null) {
+            return;
+        }
+        String methodName = ApplicationManager.getApplication().runReadAction(
+                (Computable<String>) () -> TornadoTWTask.psiMethodFormat(method)) + qualifier(null, device);
+        SizeSweep.Series series = sweepResults.computeIfAbsent(methodName, k -> new SizeSweep.Series());
+        if (statistics == null) {
+            series.addFailure(size);
         } else {
-            // Fallback: use parsed PATH from setvars.sh (Unix only)
-            String envPath = EnvironmentVariable.getPath();
-            if (envPath != null) {
-                environment.put("PATH", envPath);
-            }
+            series.add(size, statistics);
         }
+    }
 
-        // Set CMAKE_ROOT if available
-        String cmakeRoot = EnvironmentVariable.getCmakeRoot();
-        if (cmakeRoot != null) {
-            environment.put("CMAKE_ROOT", cmakeRoot);
+    private void recordDeviceResult(PsiMethod method, Integer sweepSize, TornadoDevice device, boolean hasError,
+                                    ProcessOutput output) {
+        DeviceMatrix.Status status = DeviceMatrix.Status.PASS;
+        if (hasError) {
+            String combined = output.getStdout() + "\n" + output.getStderr();
+            status = describeDeviceLimitation(combined) != null ? DeviceMatrix.Status.UNSUPPORTED : DeviceMatrix.Status.FAIL;
         }
+        recordDeviceCell(method, sweepSize, device, status, output.getStdout());
     }
 
-    //Test results for each method
-    private void printResults(String jarPath, boolean hasError, ProcessOutput output) {
-        String javaPath = jarPath.substring(0, jarPath.lastIndexOf(".jar")) + ".java";
-        ApplicationManager.getApplication().runReadAction(() -> {
-            String methodName = TornadoTWTask.psiMethodFormat(fileMethodMap.get(javaPath));
-            if (hasError) {
-                hasRuntimeErrors = true;
-                MessageUtils consoleInstance = MessageUtils.getInstance(project);
+    /**
+     * Publishes the same outcome for every kernel a harness runs, for
+     * failures that cannot be told apart per kernel.
+     */
+    private void publishForKernels(String javaPath, TornadoDevice device, DynamicInspectionListener.Status status,
+                                   String detail) {
+        List<PsiMethod> kernels = isBatchHarness(javaPath)
+                ? batchHarness.getKernels()
+                : Collections.singletonList(fileMethodMap.get(javaPath));
+        for (PsiMethod kernel : kernels) {
+            if (kernel == null) {
+                continue;
+            }
+            String methodName = ApplicationManager.getApplication().runReadAction(
+                    (Computable<String>) () -> TornadoTWTask.psiMethodFormat(kernel))
+                    + qualifier(sweepSizes.get(javaPath), device);
+            publisher().kernelFinished(methodName, status, detail, null);
+        }
+    }
 
-                String combined = output.getStdout() + "\n" + output.getStderr();
-                String deviceLimitation = describeDeviceLimitation(combined);
+    private DynamicInspectionListener publisher() {
+        return project.getMessageBus().syncPublisher(DynamicInspectionListener.RESULTS_TOPIC);
+    }
 
-                if (deviceLimitation != null) {
-                    // The kernel was generated correctly; it simply uses a
-                    // capability this device lacks (e.g. FP64). Report it as a
-                    // warning rather than a scary exception/stack trace.
-                    consoleInstance.showWarnMsg("Kernel not supported on this device",
-                            methodName + ": " + deviceLimitation);
-                } else {
-                    // Genuine error (including OpenCL compiler exceptions): keep
-                    // the raw diagnostic so it is not mistaken for a clean run.
-                    String errorSummary = extractErrorLines(output);
-                    String stderr = output.getStderr();
-                    String errorDetail = errorSummary.isEmpty() ? stderr : errorSummary;
-                    consoleInstance.showErrorMsg(MessageBundle.message("dynamic.info.title"),
-                            methodName + ": " + errorDetail);
-                }
+    private void recordDeviceTimeout(String javaPath, TornadoDevice device) {
+        List<PsiMethod> kernels = isBatchHarness(javaPath)
+                ? batchHarness.getKernels()
+                : Collections.singletonList(fileMethodMap.get(javaPath));
+        for (PsiMethod kernel : kernels) {
+            recordDeviceCell(kernel, sweepSizes.get(javaPath), device, DeviceMatrix.Status.TIMEOUT, null);
+        }
+    }
 
-                // Show the generated kernel with error lines stripped out (for debugging)
-                String cleanKernel = stripErrorLines(output.getStdout());
-                if (!cleanKernel.isBlank()) {
-                    consoleInstance.showInfoMsg(MessageBundle.message("dynamic.info.opencl"), cleanKernel);
-                }
+    private void recordDeviceCell(PsiMethod method, Integer sweepSize, TornadoDevice device,
+                                  DeviceMatrix.Status status, String stdout) {
+        if (device == null || method == null) {
+            return;
+        }
+        String methodName = ApplicationManager.getApplication().runReadAction(
+                (Computable<String>) () -> TornadoTWTask.psiMethodFormat(method)) + qualifier(sweepSize, null);
+        deviceMatrix.record(methodName, device, status, stdout);
+    }
 
+    /**
+     * @param qualifier appended to the method name to identify this run, see
+     *                  {@link #qualifier(Integer, TornadoDevice)}
+     * @param streamed whether the raw output was already echoed to the console
+     *                 while the process ran, in which case it is not printed again
+     */
+    private void printResults(PsiMethod method, String qualifier, boolean hasError, ProcessOutput output, boolean streamed) {
+        // Only the PSI is read under the read lock; parsing the output, disk
+        // IO and notifying listeners happen outside it.
+        String methodName = ApplicationManager.getApplication().runReadAction(
+                (Computable<String>) () -> TornadoTWTask.psiMethodFormat(method)) + qualifier;
+        String kernelHash = hasError ? null : ApplicationManager.getApplication().runReadAction(
+                (Computable<String>) () -> NativeKernelCode.kernelHash(method));
+        if (hasError) {
+            hasRuntimeErrors = true;
+            MessageUtils consoleInstance = MessageUtils.getInstance(project);
+
+            String combined = output.getStdout() + "\n" + output.getStderr();
+            String deviceLimitation = describeDeviceLimitation(combined);
+
+            if (deviceLimitation != null) {
+                // The kernel was generated correctly; it simply uses a
+                // capability this device lacks (e.g. FP64). Report it as a
+                // warning rather than a scary exception/stack trace.
+                consoleInstance.showWarnMsg("Kernel not supported on this device",
+                        methodName + ": " + deviceLimitation);
+                publisher().kernelFinished(methodName, DynamicInspectionListener.Status.UNSUPPORTED,
+                        deviceLimitation, null);
+            } else {
+                // Genuine error (including OpenCL compiler exceptions): keep
+                // the raw diagnostic so it is not mistaken for a clean run.
+                String errorSummary = extractErrorLines(output);
+                String stderr = output.getStderr();
+                String errorDetail = errorSummary.isEmpty() ? stderr : errorSummary;
+                consoleInstance.showErrorMsg(MessageBundle.message("dynamic.info.title"),
+                        methodName + ": " + errorDetail);
+                publisher().kernelFinished(methodName, DynamicInspectionListener.Status.FAILED, errorDetail, null);
+            }
+
+            // Show the generated kernel with error lines stripped out (for debugging)
+            String cleanKernel = streamed ? "" : stripErrorLines(output.getStdout());
+            if (!cleanKernel.isBlank()) {
+                consoleInstance.showInfoMsg(MessageBundle.message("dynamic.info.opencl"), cleanKernel);
+            }
+
+            consoleInstance.showInfoMsg(MessageBundle.message("dynamic.info.title"),
+                    MessageBundle.message("dynamic.info.documentation"));
+            // A device-capability limitation is not a bug, so don't prompt to report one.
+            if (deviceLimitation == null) {
                 consoleInstance.showInfoMsg(MessageBundle.message("dynamic.info.title"),
-                        MessageBundle.message("dynamic.info.documentation"));
-                // A device-capability limitation is not a bug, so don't prompt to report one.
-                if (deviceLimitation == null) {
-                    consoleInstance.showInfoMsg(MessageBundle.message("dynamic.info.title"),
-                            MessageBundle.message("dynamic.info.bug"));
+                        MessageBundle.message("dynamic.info.bug"));
+            }
+        } else {
+            MessageUtils.getInstance(project).showInfoMsg(MessageBundle.message("dynamic.info.title"),
+                    methodName + ": " + MessageBundle.message("dynamic.info.noException") );
+            // Sweep timings are reported per size by showSweepResults().
+            BenchmarkStatistics statistics = sweepSizes.isEmpty() ? BenchmarkStatistics.parse(output.getStdout()) : null;
+            if (statistics != null) {
+                benchmarkResults.put(methodName, statistics);
+            }
+            List<TaskGraphProfile> profiles = TaskGraphProfile.parse(output.getStdout());
+            KernelMetricsService.getInstance(project).record(methodName, profiles);
+            storeNativeCode(kernelHash, profiles, output.getStdout());
+            DifferentialVerification verification = DifferentialVerification.parse(output.getStdout());
+            if (verification != null) {
+                verificationResults.put(methodName, verification);
+                if (!verification.isSkipped() && !verification.isPassed()) {
+                    hasRuntimeErrors = true;
+                    MessageUtils.getInstance(project).showWarnMsg(MessageBundle.message("dynamic.warn.verify"),
+                            methodName + ":\n" + verification.describeMismatches());
                 }
-            } else {
-                MessageUtils.getInstance(project).showInfoMsg(MessageBundle.message("dynamic.info.title"),
-                        methodName + ": " + MessageBundle.message("dynamic.info.noException") );
+            }
+            boolean mismatch = verification != null && !verification.isSkipped() && !verification.isPassed();
+            publisher().kernelFinished(methodName,
+                    mismatch ? DynamicInspectionListener.Status.MISMATCH : DynamicInspectionListener.Status.PASSED,
+                    mismatch ? verification.describeMismatches() : "",
+                    BenchmarkStatistics.parse(output.getStdout()));
+            if (!streamed) {
                 MessageUtils.getInstance(project).showInfoMsg(MessageBundle.message("dynamic.info.opencl"), output.getStdout());
             }
-            completed = true;
-        });
+        }
+        completed = true;
     }
 
     /**
@@ -899,12 +1504,35 @@ public class ExecutionEngine {
         return errors.toString().trim();
     }
 
+    /**
+     * Caches the native code printed by a successful run under the kernel's
+     * source and the TornadoVM version, see {@link NativeKernelCode}. The
+     * backend is the one the profiler reports, or else recognised from the
+     * code itself. Output the collector spilled to disk is incomplete and
+     * not cached.
+     */
+    private void storeNativeCode(String kernelHash, List<TaskGraphProfile> profiles, String stdout) {
+        String code = NativeKernelCode.extract(stdout);
+        if (code == null) {
+            return;
+        }
+        NativeKernelCode.Backend backend = profiles.stream()
+                .flatMap(profile -> profile.getTasks().stream())
+                .map(task -> NativeKernelCode.Backend.fromName(task.getBackend()))
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElseGet(() -> NativeKernelCode.Backend.detect(code));
+        if (backend != null) {
+            NativeKernelCode.store(kernelHash, tornadoVersion, backend, code);
+        }
+    }
+
     /**
      * Removes error/diagnostic lines from stdout so the kernel code section
      * only contains the actual generated kernel, not the JNI error messages
      * that TornadoVM may intermix with kernel output.
      */
-    private static String stripErrorLines(String stdout) {
+    static String stripErrorLines(String stdout) {
         if (stdout == null) return "";
         StringBuilder clean = new StringBuilder();
         for (String line : stdout.split("\n")) {
@@ -923,7 +1551,52 @@ public class ExecutionEngine {
         return clean.toString().trim();
     }
 
-    private void showStatDialog(long runningTime){
+    private void showBenchmarkTable() {
+        if (!benchmarkResults.isEmpty()) {
+            MessageUtils.getInstance(project).showInfoMsg(MessageBundle.message("dynamic.info.benchmark"),
+                    "\n" + BenchmarkStatistics.formatTable(benchmarkResults));
+        }
+    }
+
+    private void showSweepResults() {
+        if (sweepResults.isEmpty()) {
+            return;
+        }
+        MessageUtils.getInstance(project).showInfoMsg(MessageBundle.message("dynamic.info.sweep"),
+                "\n" + SizeSweep.formatTable(sweepResults));
+        Map<String, SizeSweep.Series> results = new TreeMap<>(sweepResults);
+        if (!ApplicationManager.getApplication().isHeadlessEnvironment()) {
+            ApplicationManager.getApplication().invokeLater(() -> new SizeSweepDialog(project, results).show());
+        }
+    }
+
+    private void showDeviceMatrix() {
+        if (!deviceMatrix.isEmpty()) {
+            MessageUtils.getInstance(project).showInfoMsg(MessageBundle.message("dynamic.info.devices"),
+                    "\n" + deviceMatrix.formatTable(devices));
+        }
+    }
+
+    private void showVerificationReport() {
+        if (!verificationResults.isEmpty()) {
+            MessageUtils.getInstance(project).showInfoMsg(MessageBundle.message("dynamic.info.verify"),
+                    "\n" + DifferentialVerification.formatTable(verificationResults));
+        }
+    }
+
+    private void showRegressions() {
+        if (regressions.isEmpty()) {
+            return;
+        }
+        StringBuilder body = new StringBuilder(MessageBundle.message("dynamic.warn.regression.summary"));
+        regressions.forEach((kernel, regression) -> body.append("<br>").append(StringUtil.escapeXmlEntities(kernel))
+                .append(String.format(Locale.ROOT, " (+%.0f%%)", regression.slowdownPercent())));
+        Notification notification = new Notification("Print", MessageBundle.message("dynamic.warn.regression"),
+                body.toString(), NotificationType.WARNING);
+        ApplicationManager.getApplication().invokeLater(() -> Notifications.Bus.notify(notification, project));
+    }
+
+    private void showStatDialog(long runningTime, long kernelTime){
         if (completed) {
             String title;
             NotificationType type;
@@ -935,7 +1608,8 @@ public class ExecutionEngine {
                 type = NotificationType.INFORMATION;
             }
             Notification notification = new Notification("Print", title,
-                    MessageBundle.message("dynamic.info.statistics.body") + " " + runningTime + "ms", type);
+                    MessageBundle.message("dynamic.info.statistics.body") + " " + runningTime + "ms, "
+                            + MessageBundle.message("dynamic.info.statistics.kernelTime") + " " + kernelTime + "ms", type);
             notification.addAction(new ChangeParameterSize());
             ApplicationManager.getApplication().invokeLater(() -> Notifications.Bus.notify(notification, project));
         }
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2026, APT Group, Department of Computer Science,
+ *  The University of Manchester.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package uk.ac.manchester.beehive.tornado.plugins.dynamicInspection;
+
+import com.intellij.execution.process.ProcessOutput;
+import com.intellij.psi.PsiMethod;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A generated harness class that runs several kernels in one TornadoVM
+ * process. Its {@code main} calls one {@code insightRun<i>()} method per
+ * kernel and brackets each call with marker lines on {@code System.out}:
+ * <pre>
+ * @@TORNADO_INSIGHT_BEGIN &lt;i&gt;
+ * ... kernel output, and the stack trace if it threw ...
+ * @@TORNADO_INSIGHT_END &lt;i&gt; OK|FAILED
+ * </pre>
+ * {@link #split(ProcessOutput)} uses the markers to turn the output of the
+ * single launch back into one result per kernel.
+ */
+public class GeneratedHarness {
+
+    public static final String BEGIN_MARKER = "@@TORNADO_INSIGHT_BEGIN";
+    public static final String END_MARKER = "@@TORNADO_INSIGHT_END";
+
+    private static final Pattern MARKER =
+            Pattern.compile("^(" + BEGIN_MARKER + "|" + END_MARKER + ") (\\d+)(?: (OK|FAILED))?\\s*$");
+
+    public enum Status {
+        /** The kernel's run method returned normally. */
+        OK,
+        /** The kernel's run method threw; the stack trace is in its output. */
+        FAILED,
+        /** The process died while the kernel was running. */
+        CRASHED,
+        /** The process died before the kernel was reached. */
+        NOT_RUN
+    }
+
+    private final File javaFile;
+    private final List<PsiMethod> kernels;
+
+    public GeneratedHarness(File javaFile, List<PsiMethod> kernels) {
+        this.javaFile = javaFile;
+        this.kernels = Collections.unmodifiableList(new ArrayList<>(kernels));
+    }
+
+    public File getJavaFile() {
+        return javaFile;
+    }
+
+    public String getClassName() {
+        return javaFile.getName().replace(".java", "");
+    }
+
+    /**
+     * Kernels in the order of their {@code insightRun<i>()} methods.
+     */
+    public List<PsiMethod> getKernels() {
+        return kernels;
+    }
+
+    /**
+     * Splits the output of one harness run into one outcome per kernel.
+     * Output outside any kernel section (launcher warnings) is dropped. The
+     * process's stderr cannot be attributed line by line, so it is attached
+     * to the kernels that did not finish cleanly.
+     */
+    public List<KernelOutcome> split(ProcessOutput output) {
+        int count = kernels.size();
+        StringBuilder[] sections = new StringBuilder[count];
+        Status[] statuses = new Status[count];
+        int current = -1;
+        for (String line : output.getStdout().split("\n", -1)) {
+            Matcher m = MARKER.matcher(line);
+            if (m.matches()) {
+                int index = Integer.parseInt(m.group(2));
+                if (index < 0 || index >= count) {
+                    continue;
+                }
+                if (m.group(1).equals(BEGIN_MARKER)) {
+                    current = index;
+                    sections[index] = new StringBuilder();
+                    statuses[index] = Status.CRASHED; // until its END marker shows up
+                } else {
+                    statuses[index] = "OK".equals(m.group(3)) ? Status.OK : Status.FAILED;
+                    current = -1;
+                }
+                continue;
+            }
+            if (current >= 0) {
+                sections[current].append(line).append("\n");
+            }
+        }
+
+        List<KernelOutcome> outcomes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Status status = statuses[i] == null ? Status.NOT_RUN : statuses[i];
+            String stdout = sections[i] == null ? "" : sections[i].toString();
+            String stderr = switch (status) {
+                case OK -> "";
+                case FAILED, CRASHED -> output.getStderr();
+                case NOT_RUN -> "TornadoVM terminated before this kernel was run.\n" + output.getStderr();
+            };
+            outcomes.add(new KernelOutcome(kernels.get(i), status,
+                    new ProcessOutput(stdout, stderr, status == Status.OK ? 0 : 1, false, false)));
+        }
+        return outcomes;
+    }
+
+    /**
+     * The share of a harness run that belongs to one kernel.
+     */
+    public static final class KernelOutcome {
+        private final PsiMethod kernel;
+        private final Status status;
+        private final ProcessOutput output;
+
+        KernelOutcome(PsiMethod kernel, Status status, ProcessOutput output) {
+            this.kernel = kernel;
+            this.status = status;
+            this.output = output;
+        }
+
+        public PsiMethod getKernel() {
+            return kernel;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public ProcessOutput getOutput() {
+            return output;
+        }
+    }
+}
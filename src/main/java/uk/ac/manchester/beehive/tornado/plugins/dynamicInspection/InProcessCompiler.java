@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2026, APT Group, Department of Computer Science,
+ *  The University of Manchester.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package uk.ac.manchester.beehive.tornado.plugins.dynamicInspection;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles the generated harness sources with {@code javax.tools.JavaCompiler}
+ * inside the IDE process, keeping the produced class files in memory.
+ * <p>
+ * Forking {@code <projectSdk>/bin/javac} costs a full JVM start-up on every
+ * dynamic inspection. The in-process compiler avoids that, but it compiles
+ * against the IDE runtime's platform classes, so it is only used when the
+ * project JDK has the same feature version as the runtime (which is also what
+ * {@code --enable-preview} requires); otherwise callers fall back to the
+ * forked javac.
+ * </p>
+ */
+public final class InProcessCompiler {
+
+    private InProcessCompiler() {
+    }
+
+    /**
+     * Whether the IDE runtime ships a system Java compiler whose feature
+     * version matches {@code releaseVersion}.
+     */
+    public static boolean isAvailableFor(int releaseVersion) {
+        return Runtime.version().feature() == releaseVersion && ToolProvider.getSystemJavaCompiler() != null;
+    }
+
+    /**
+     * Compiles {@code sources} against {@code classpath}.
+     *
+     * @return the compiled class bytes (keyed by binary class name, including
+     *         nested classes) and the structured diagnostics
+     */
+    public static Result compile(List<File> sources, String classpath, int releaseVersion) throws IOException {
+        return compile(sources, classpath, releaseVersion, true);
+    }
+
+    /**
+     * Compiles {@code sources} against {@code classpath}, optionally without
+     * {@code --enable-preview}. Without preview features any release up to
+     * the runtime's own feature version can be targeted.
+     */
+    public static Result compile(List<File> sources, String classpath, int releaseVersion,
+                                 boolean enablePreview) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("No system Java compiler available in the IDE runtime");
+        }
+
+        DiagnosticCollector<JavaFileObject> collector = new DiagnosticCollector<>();
+        List<String> options = new ArrayList<>(List.of("--release", String.valueOf(releaseVersion)));
+        if (enablePreview) {
+            options.add("--enable-preview");
+        }
+        options.addAll(List.of("-g", "-classpath", classpath));
+
+        try (StandardJavaFileManager standard = compiler.getStandardFileManager(collector, null, StandardCharsets.UTF_8);
+             MemoryFileManager fileManager = new MemoryFileManager(standard)) {
+            Iterable<? extends JavaFileObject> units = standard.getJavaFileObjectsFromFiles(sources);
+            Boolean success = compiler.getTask(null, fileManager, collector, options, null, units).call();
+
+            List<CompilerDiagnostic> diagnostics = new ArrayList<>();
+            for (Diagnostic<? extends JavaFileObject> diagnostic : collector.getDiagnostics()) {
+                diagnostics.add(toDiagnostic(diagnostic));
+            }
+            return new Result(Boolean.TRUE.equals(success), fileManager.getClasses(), diagnostics);
+        }
+    }
+
+    private static CompilerDiagnostic toDiagnostic(Diagnostic<? extends JavaFileObject> diagnostic) {
+        CompilerDiagnostic.Kind kind = switch (diagnostic.getKind()) {
+            case ERROR -> CompilerDiagnostic.Kind.ERROR;
+            case WARNING, MANDATORY_WARNING -> CompilerDiagnostic.Kind.WARNING;
+            default -> CompilerDiagnostic.Kind.NOTE;
+        };
+        JavaFileObject source = diagnostic.getSource();
+        String fileName = null;
+        String sourceLine = null;
+        if (source != null) {
+            String path = source.toUri().getPath();
+            fileName = path != null ? new File(path).getName() : source.getName();
+            sourceLine = readLine(source, diagnostic.getLineNumber());
+        }
+        return new CompilerDiagnostic(kind, fileName,
+                diagnostic.getLineNumber() == Diagnostic.NOPOS ? -1 : diagnostic.getLineNumber(),
+                diagnostic.getColumnNumber() == Diagnostic.NOPOS ? -1 : diagnostic.getColumnNumber(),
+                diagnostic.getMessage(null), sourceLine);
+    }
+
+    private static String readLine(JavaFileObject source, long lineNumber) {
+        if (lineNumber <= 0) {
+            return null;
+        }
+        try {
+            String[] lines = source.getCharContent(true).toString().split("\n", -1);
+            return lineNumber <= lines.length ? lines[(int) lineNumber - 1] : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Outcome of an in-process compilation.
+     */
+    public static final class Result {
+        private final boolean success;
+        private final Map<String, byte[]> classes;
+        private final List<CompilerDiagnostic> diagnostics;
+
+        Result(boolean success, Map<String, byte[]> classes, List<CompilerDiagnostic> diagnostics) {
+            this.success = success;
+            this.classes = Collections.unmodifiableMap(classes);
+            this.diagnostics = Collections.unmodifiableList(diagnostics);
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+
+        /**
+         * Compiled class bytes keyed by binary name (e.g. {@code "Foo$1"}).
+         */
+        public Map<String, byte[]> getClasses() {
+            return classes;
+        }
+
+        public List<CompilerDiagnostic> getDiagnostics() {
+            return diagnostics;
+        }
+
+        /**
+         * Writes every compiled class below {@code outputDir}, laid out by
+         * package, so a launcher can put the directory on its classpath.
+         */
+        public void writeClasses(File outputDir) throws IOException {
+            for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+                File classFile = new File(outputDir, entry.getKey().replace('.', File.separatorChar) + ".class");
+                File parent = classFile.getParentFile();
+                if (parent != null && !parent.exists() && !parent.mkdirs()) {
+                    throw new IOException("Could not create " + parent);
+                }
+                Files.write(classFile.toPath(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Keeps every class file javac emits in memory instead of writing it to
+     * the {@code -d} directory.
+     */
+    private static final class MemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+        private final Map<String, ByteArrayOutputStream> outputs = new LinkedHashMap<>();
+
+        MemoryFileManager(StandardJavaFileManager delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind,
+                                                   FileObject sibling) {
+            URI uri = URI.create("mem:///" + className.replace('.', '/') + kind.extension);
+            return new SimpleJavaFileObject(uri, kind) {
+                @Override
+                public OutputStream openOutputStream() {
+                    ByteArrayOutputStream out = new ByteArrayOutputStream();
+                    outputs.put(className, out);
+                    return out;
+                }
+            };
+        }
+
+        Map<String, byte[]> getClasses() {
+            Map<String, byte[]> classes = new LinkedHashMap<>();
+            for (Map.Entry<String, ByteArrayOutputStream> entry : outputs.entrySet()) {
+                classes.put(entry.getKey(), entry.getValue().toByteArray());
+            }
+            return classes;
+        }
+    }
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) 2026, APT Group, Department of Computer Science,
+ *  The University of Manchester.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package uk.ac.manchester.beehive.tornado.plugins.dynamicInspection;
+
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProgressManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Seeded binary input files for the array parameters of generated harnesses.
+ * A file holds the raw elements in native byte order, so the harness can map
+ * it and copy it straight into the array's memory segment (see
+ * {@link #LOADER_CODE}). Files are named after everything that determines
+ * their content and kept under the IDE system directory, so they are written
+ * once and reused by every later run, and a harness refers to the same path
+ * for as long as its inputs stay the same.
+ * <p>
+ * Generating a harness only reserves the path of each dataset (see
+ * {@link #getFile}); the files are written by {@link #writePending()} from
+ * the background task that runs the harnesses. The directory is capped at
+ * {@link #MAX_STORE_BYTES}: the least recently used files are deleted first.
+ * </p>
+ */
+public final class InputDataset {
+
+    public enum Distribution {
+        UNIFORM("Uniform"),
+        NORMAL("Normal"),
+        SPARSE("Sparse (90% zeros)");
+
+        private final String label;
+
+        Distribution(String label) {
+            this.label = label;
+        }
+
+        public static Distribution fromName(String name) {
+            for (Distribution distribution : values()) {
+                if (distribution.name().equalsIgnoreCase(name)) {
+                    return distribution;
+                }
+            }
+            return UNIFORM;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    /**
+     * The harness method that fills an array from a dataset file. Large files
+     * are mapped in chunks because a single mapping is limited to 2 GB.
+     */
+    public static final String LOADER_CODE = """
+
+            private static void insightLoad(String path, java.lang.foreign.MemorySegment target) {
+                try (java.nio.channels.FileChannel channel = java.nio.channels.FileChannel.open(java.nio.file.Path.of(path), java.nio.file.StandardOpenOption.READ)) {
+                    long size = target.byteSize();
+                    for (long offset = 0; offset < size; offset += 1L << 30) {
+                        long chunk = Math.min(size - offset, 1L << 30);
+                        java.nio.MappedByteBuffer buffer = channel.map(java.nio.channels.FileChannel.MapMode.READ_ONLY, offset, chunk);
+                        java.lang.foreign.MemorySegment.copy(java.lang.foreign.MemorySegment.ofBuffer(buffer), 0, target, offset, chunk);
+                    }
+                } catch (java.io.IOException e) {
+                    throw new java.io.UncheckedIOException(e);
+                }
+            }
+            """;
+
+    // Values span [0, 50) like the literals VariableInit generates; bytes span
+    // [0, 127) and chars the lower-case letters.
+    private static final double VALUE_RANGE = 50;
+
+    private static final double SPARSE_DENSITY = 0.1;
+
+    private static final int CHUNK_ELEMENTS = 1 << 16;
+
+    static final long MAX_STORE_BYTES = 4L << 30;
+
+    private static final File DIRECTORY = new File(PathManager.getSystemPath(), "tornadoinsight" + File.separator + "datasets");
+
+    // Datasets referenced by generated harnesses that writePending() has not
+    // checked yet, keyed by file.
+    private static final Map<File, Spec> pending = new LinkedHashMap<>();
+
+    private record Spec(String elementType, int length, Distribution distribution, long seed) {
+    }
+
+    private static final Logger LOG = Logger.getInstance(InputDataset.class);
+
+    private InputDataset() {
+    }
+
+    /**
+     * The element type stored for a parameter type, or {@code null} if
+     * parameters of that type are not loaded from a dataset.
+     */
+    public static String elementType(String parameterType) {
+        return switch (parameterType) {
+            case "int[]", "IntArray" -> "int";
+            case "float[]", "FloatArray" -> "float";
+            case "double[]", "DoubleArray" -> "double";
+            case "LongArray" -> "long";
+            case "ShortArray" -> "short";
+            case "byte[]", "ByteArray", "Int8Array" -> "byte";
+            case "CharArray" -> "char";
+            default -> null;
+        };
+    }
+
+    /**
+     * Returns the dataset file holding {@code length} elements of
+     * {@code elementType} drawn from {@code distribution} with {@code seed}.
+     * The file is only written by the next {@link #writePending()}.
+     */
+    public static File getFile(String elementType, int length, Distribution distribution, long seed) {
+        String name = elementType + "-" + length + "-" + distribution.name().toLowerCase() + "-"
+                + Long.toHexString(seed) + ".bin";
+        File file = new File(DIRECTORY, name);
+        synchronized (pending) {
+            pending.put(file, new Spec(elementType, length, distribution, seed));
+        }
+        return file;
+    }
+
+    /**
+     * Writes the datasets reserved by {@link #getFile} that do not exist yet,
+     * marks the others as used, then deletes the least recently used files
+     * until the store fits in {@link #MAX_STORE_BYTES}. Must not be called on
+     * the EDT: datasets can be gigabytes.
+     */
+    public static void writePending() {
+        Map<File, Spec> files;
+        synchronized (pending) {
+            files = new LinkedHashMap<>(pending);
+            pending.clear();
+        }
+        if (files.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (Map.Entry<File, Spec> entry : files.entrySet()) {
+            ProgressManager.checkCanceled();
+            File file = entry.getKey();
+            Spec spec = entry.getValue();
+            if (file.isFile() && file.length() == (long) spec.length() * elementBytes(spec.elementType())) {
+                // File times are the recency order of the eviction below.
+                file.setLastModified(now);
+                continue;
+            }
+            write(file, spec);
+        }
+        evict(files.keySet());
+    }
+
+    private static void write(File file, Spec spec) {
+        try {
+            Files.createDirectories(DIRECTORY.toPath());
+            // Write next to the target and move it into place, so a harness
+            // never maps a partially written file.
+            Path partial = Files.createTempFile(DIRECTORY.toPath(), file.getName(), ".tmp");
+            try {
+                write(partial, spec.elementType(), spec.length(), spec.distribution(), spec.seed());
+                Files.move(partial, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(partial);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Deletes the oldest dataset files, apart from those in {@code inUse},
+     * while the directory holds more than {@link #MAX_STORE_BYTES}.
+     */
+    private static void evict(Set<File> inUse) {
+        File[] files = DIRECTORY.listFiles((dir, name) -> name.endsWith(".bin"));
+        if (files == null) {
+            return;
+        }
+        long total = 0;
+        for (File file : files) {
+            total += file.length();
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (File file : files) {
+            if (total <= MAX_STORE_BYTES) {
+                break;
+            }
+            if (inUse.contains(file)) {
+                continue;
+            }
+            long length = file.length();
+            if (file.delete()) {
+                total -= length;
+            } else {
+                LOG.warn("Could not delete dataset " + file);
+            }
+        }
+    }
+
+    private static void write(Path path, String elementType, int length, Distribution distribution, long seed)
+            throws IOException {
+        Random random = new Random(seed);
+        int elementBytes = elementBytes(elementType);
+        ByteBuffer buffer = ByteBuffer.allocate(CHUNK_ELEMENTS * elementBytes).order(ByteOrder.nativeOrder());
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (int written = 0; written < length; ) {
+                int count = Math.min(CHUNK_ELEMENTS, length - written);
+                buffer.clear();
+                for (int i = 0; i < count; i++) {
+                    put(buffer, elementType, sample(random, distribution));
+                }
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                written += count;
+            }
+        }
+    }
+
+    /**
+     * A value in [0, 1) drawn from {@code distribution}; the normal
+     * distribution is centred on 0.5 and clamped to the interval.
+     */
+    private static double sample(Random random, Distribution distribution) {
+        return switch (distribution) {
+            case UNIFORM -> random.nextDouble();
+            case NORMAL -> Math.min(Math.max(0.5 + random.nextGaussian() / 6, 0), Math.nextDown(1.0));
+            case SPARSE -> random.nextDouble() < SPARSE_DENSITY ? random.nextDouble() : 0;
+        };
+    }
+
+    private static void put(ByteBuffer buffer, String elementType, double sample) {
+        switch (elementType) {
+            case "int" -> buffer.putInt((int) (sample * VALUE_RANGE));
+            case "float" -> buffer.putFloat((float) (sample * VALUE_RANGE));
+            case "double" -> buffer.putDouble(sample * VALUE_RANGE);
+            case "long" -> buffer.putLong((long) (sample * VALUE_RANGE));
+            case "short" -> buffer.putShort((short) (sample * VALUE_RANGE));
+            case "byte" -> buffer.put((byte) (sample * 127));
+            case "char" -> buffer.putChar(sample == 0 ? 0 : (char) ('a' + (int) (sample * 26)));
+            default -> throw new IllegalArgumentException("Unsupported dataset element type: " + elementType);
+        }
+    }
+
+    private static int elementBytes(String elementType) {
+        return switch (elementType) {
+            case "byte" -> Byte.BYTES;
+            case "short" -> Short.BYTES;
+            case "char" -> Character.BYTES;
+            case "int" -> Integer.BYTES;
+            case "float" -> Float.BYTES;
+            case "long" -> Long.BYTES;
+            case "double" -> Double.BYTES;
+            default -> throw new IllegalArgumentException("Unsupported dataset element type: " + elementType);
+        };
+    }
+}
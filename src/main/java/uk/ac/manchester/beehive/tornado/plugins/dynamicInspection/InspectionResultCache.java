@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2026, APT Group, Department of Computer Science,
+ *  The University of Manchester.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package uk.ac.manchester.beehive.tornado.plugins.dynamicInspection;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.diagnostic.Logger;
+import uk.ac.manchester.beehive.tornado.plugins.ui.settings.TornadoSettingState;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+
+/**
+ * On-disk cache of dynamic inspection verdicts, keyed by the content of the
+ * generated harness and the environment it ran in. A kernel whose text,
+ * helpers, fields and settings are unchanged produces the same harness, so its
+ * previous compile diagnostics or runtime outcome can be replayed without
+ * compiling or launching TornadoVM again.
+ * <p>
+ * Entries live below the IDE system directory, so they survive restarts. The
+ * total size is capped by {@link TornadoSettingState#resultCacheMaxMb}; when
+ * the cap is exceeded the least recently used entries are evicted (reads
+ * refresh an entry's modification time).
+ * </p>
+ */
+@Service(Service.Level.APP)
+public final class InspectionResultCache {
+
+    private static final Logger LOG = Logger.getInstance(InspectionResultCache.class);
+
+    // Bumped whenever the entry layout or the harness generator changes in a
+    // way that makes older verdicts meaningless.
+    private static final int FORMAT_VERSION = 1;
+    private static final String ENTRY_SUFFIX = ".bin";
+
+    private final File cacheDir = new File(PathManager.getSystemPath(),
+            "tornadoinsight" + File.separator + "results");
+
+    public static InspectionResultCache getInstance() {
+        return ApplicationManager.getApplication().getService(InspectionResultCache.class);
+    }
+
+    /**
+     * Builds the cache key of a generated harness. The random suffix of the
+     * generated class name is normalised away so that regenerating the same
+     * kernel yields the same key.
+     */
+    public static String key(String harnessSource, String className, String tornadoVersion,
+                             String jdkVersion, int parameterSize) {
+        String normalized = harnessSource.replace(className, "$TornadoInsightHarness$");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.valueOf(FORMAT_VERSION).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(normalized.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(String.valueOf(tornadoVersion).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(String.valueOf(jdkVersion).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(String.valueOf(parameterSize).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Returns the cached verdict for {@code key}, or {@code null} on a miss or
+     * an unreadable entry.
+     */
+    public synchronized Entry get(String key) {
+        File file = entryFile(key);
+        if (!file.isFile()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                return null;
+            }
+            Entry entry = new Entry(Entry.Kind.values()[in.readByte()], readString(in), in.readBoolean(),
+                    in.readInt(), readString(in), readString(in));
+            // Reads count as use for LRU eviction.
+            file.setLastModified(System.currentTimeMillis());
+            return entry;
+        } catch (IOException | RuntimeException e) {
+            LOG.info("Discarding unreadable dynamic inspection cache entry " + file, e);
+            file.delete();
+            return null;
+        }
+    }
+
+    public synchronized void put(String key, Entry entry) {
+        try {
+            Files.createDirectories(cacheDir.toPath());
+            File target = entryFile(key);
+            File temp = File.createTempFile(key, ".tmp", cacheDir);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp.toPath())))) {
+                out.writeInt(FORMAT_VERSION);
+                out.writeByte(entry.getKind().ordinal());
+                writeString(out, entry.getDiagnostics());
+                out.writeBoolean(entry.hasError());
+                out.writeInt(entry.getExitCode());
+                writeString(out, entry.getStdout());
+                writeString(out, entry.getStderr());
+            }
+            Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            evict(TornadoSettingState.getInstance().resultCacheMaxMb * 1024L * 1024L);
+        } catch (IOException e) {
+            LOG.warn("Could not store dynamic inspection result in the cache", e);
+        }
+    }
+
+    public synchronized void clear() {
+        File[] entries = cacheDir.listFiles();
+        if (entries != null) {
+            for (File entry : entries) {
+                entry.delete();
+            }
+        }
+    }
+
+    private void evict(long maxBytes) {
+        File[] entries = cacheDir.listFiles((dir, name) -> name.endsWith(ENTRY_SUFFIX));
+        if (entries == null) {
+            return;
+        }
+        long total = 0;
+        for (File entry : entries) {
+            total += entry.length();
+        }
+        if (total <= maxBytes) {
+            return;
+        }
+        Arrays.sort(entries, Comparator.comparingLong(File::lastModified));
+        for (File entry : entries) {
+            if (total <= maxBytes) {
+                break;
+            }
+            long length = entry.length();
+            if (entry.delete()) {
+                total -= length;
+            }
+        }
+    }
+
+    private File entryFile(String key) {
+        return new File(cacheDir, key + ENTRY_SUFFIX);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A cached verdict: either the compiler diagnostics of a harness that did
+     * not compile, or the outcome of running it on TornadoVM.
+     */
+    public static final class Entry {
+
+        public enum Kind { COMPILE_ERROR, RUN }
+
+        private final Kind kind;
+        private final String diagnostics; // compile summary, empty for RUN entries
+        private final boolean hasError;
+        private final int exitCode;
+        private final String stdout;
+        private final String stderr;
+
+        private Entry(Kind kind, String diagnostics, boolean hasError, int exitCode, String stdout, String stderr) {
+            this.kind = kind;
+            this.diagnostics = diagnostics;
+            this.hasError = hasError;
+            this.exitCode = exitCode;
+            this.stdout = stdout;
+            this.stderr = stderr;
+        }
+
+        public static Entry compileError(String diagnostics) {
+            return new Entry(Kind.COMPILE_ERROR, diagnostics, true, 1, "", "");
+        }
+
+        public static Entry run(boolean hasError, int exitCode, String stdout, String stderr) {
+            return new Entry(Kind.RUN, "", hasError, exitCode, stdout, stderr);
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public String getDiagnostics() {
+            return diagnostics;
+        }
+
+        public boolean hasError() {
+            return hasError;
+        }
+
+        public int getExitCode() {
+            return exitCode;
+        }
+
+        public String getStdout() {
+            return stdout;
+        }
+
+        public String getStderr() {
+            return stderr;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026, APT Group, Department of Computer Science,
+ *  The University of Manchester.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package uk.ac.manchester.beehive.tornado.plugins.dynamicInspection;
+
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+import uk.ac.manchester.beehive.tornado.plugins.message.KernelMetricsListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The profiler metrics of the kernels of the latest dynamic inspection run,
+ * one {@link TaskGraphProfile} per kernel and task graph execution. Listeners
+ * on {@link KernelMetricsListener#METRICS_TOPIC} are told whenever the
+ * metrics change.
+ */
+@Service
+public final class KernelMetricsService {
+
+    private final Project project;
+
+    private final List<Entry> entries = new ArrayList<>();
+
+    public KernelMetricsService(Project project) {
+        this.project = project;
+    }
+
+    @NotNull
+    public static KernelMetricsService getInstance(Project project) {
+        return project.getService(KernelMetricsService.class);
+    }
+
+    /**
+     * Forgets the metrics of the previous run.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+        publish();
+    }
+
+    /**
+     * Adds the profiles a kernel's harness reported.
+     */
+    public void record(String kernel, List<TaskGraphProfile> profiles) {
+        if (profiles.isEmpty()) {
+            return;
+        }
+        synchronized (entries) {
+            for (TaskGraphProfile profile : profiles) {
+                entries.add(new Entry(kernel, profile));
+            }
+        }
+        publish();
+    }
+
+    /**
+     * A snapshot of the current metrics, in the order they were recorded.
+     */
+    public List<Entry> getMetrics() {
+        synchronized (entries) {
+            return new ArrayList<>(entries);
+        }
+    }
+
+    private void publish() {
+        if (!project.isDisposed()) {
+            project.getMessageBus().syncPublisher(KernelMetricsListener.METRICS_TOPIC).metricsUpdated();
+        }
+    }
+
+    /**
+     * The profile of one task graph execution of a kernel.
+     */
+    public record Entry(String kernel, TaskGraphProfile profile) {
+    }
+}
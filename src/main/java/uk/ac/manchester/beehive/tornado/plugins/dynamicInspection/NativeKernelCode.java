@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2026, APT Group, Department of Computer Science,
+ *  The University of Manchester.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package uk.ac.manchester.beehive.tornado.plugins.dynamicInspection;
+
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiMethodCallExpression;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The native code TornadoVM generated for a kernel, as printed by a harness
+ * run with {@code --printKernel}. Each kernel's code is stored once per
+ * backend in a content-addressed cache under the IDE system directory, named
+ * after a hash of the kernel's source, the TornadoVM version and the backend,
+ * so it stays available after the run's temporary files are gone and is
+ * looked up again without re-running the kernel for as long as none of them
+ * changes.
+ */
+public final class NativeKernelCode {
+
+    private static final Logger LOG = Logger.getInstance(NativeKernelCode.class);
+
+    public enum Backend {
+        OPENCL("OpenCL C", "cl"),
+        PTX("PTX", "ptx"),
+        SPIRV("SPIR-V", "spvasm");
+
+        private final String label;
+        private final String extension;
+
+        Backend(String label, String extension) {
+            this.label = label;
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * The backend a TornadoVM backend or driver name refers to, e.g.
+         * {@code "OPENCL"} or {@code "SPIR-V"}, or {@code null}.
+         */
+        public static @Nullable Backend fromName(@Nullable String name) {
+            if (name == null) {
+                return null;
+            }
+            String normalized = name.toUpperCase().replace("-", "").replace("_", "");
+            for (Backend backend : values()) {
+                if (normalized.contains(backend.name())) {
+                    return backend;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Recognises the backend from the generated code itself.
+         */
+        public static @Nullable Backend detect(@NotNull String code) {
+            if (code.contains("OpCapability") || code.contains("OpEntryPoint")) {
+                return SPIRV;
+            }
+            if (code.contains(".target sm_") || code.contains(".address_size")) {
+                return PTX;
+            }
+            if (code.contains("__kernel") || code.contains("#pragma OPENCL")) {
+                return OPENCL;
+            }
+            return null;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    private NativeKernelCode() {
+    }
+
+    /**
+     * Extracts the generated code from a harness's stdout: everything but the
+     * plugin's marker lines and profiler logs, and TornadoVM's error
+     * diagnostics. Returns {@code null} if nothing is left, or if the output
+     * was cut short because it did not fit in memory.
+     */
+    public static @Nullable String extract(@Nullable String stdout) {
+        if (stdout == null || StreamingOutputCollector.isTruncated(stdout)) {
+            return null;
+        }
+        StringBuilder code = new StringBuilder();
+        boolean inProfile = false;
+        for (String line : stdout.split("\n")) {
+            String stripped = line.strip();
+            if (stripped.startsWith(TaskGraphProfile.BEGIN_MARKER)) {
+                inProfile = true;
+                continue;
+            }
+            if (stripped.equals(TaskGraphProfile.END_MARKER)) {
+                inProfile = false;
+                continue;
+            }
+            if (inProfile || stripped.startsWith(StreamingOutputCollector.MARKER_PREFIX) || stripped.startsWith("WARNING:")) {
+                continue;
+            }
+            code.append(line).append("\n");
+        }
+        String text = ExecutionEngine.stripErrorLines(code.toString());
+        return text.isEmpty() ? null : text + "\n";
+    }
+
+    /**
+     * Identifies the source a kernel is compiled from: the kernel method and
+     * every method it calls in the project, since TornadoVM inlines them.
+     * Must be called in a read action.
+     */
+    public static @NotNull String kernelHash(@NotNull PsiMethod kernel) {
+        List<String> sources = new ArrayList<>();
+        Set<PsiMethod> visited = new HashSet<>();
+        Deque<PsiMethod> pending = new ArrayDeque<>();
+        pending.add(kernel);
+        while (!pending.isEmpty()) {
+            PsiMethod method = pending.poll();
+            if (!visited.add(method) || method.getBody() == null) {
+                continue;
+            }
+            sources.add(method.getText());
+            for (PsiMethodCallExpression call : PsiTreeUtil.findChildrenOfType(method.getBody(), PsiMethodCallExpression.class)) {
+                PsiMethod callee = call.resolveMethod();
+                if (callee != null && callee.isPhysical() && callee.getContainingFile() != null
+                        && callee.getContainingFile().getVirtualFile() != null
+                        && callee.getContainingFile().getVirtualFile().isInLocalFileSystem()) {
+                    pending.add(callee);
+                }
+            }
+        }
+        return sha256(sources.toArray(String[]::new));
+    }
+
+    /**
+     * Stores {@code code} for the kernel with {@code kernelHash} as generated
+     * by {@code tornadoVersion} for {@code backend}, replacing any earlier
+     * entry. Failures are logged and otherwise ignored; the cache only saves
+     * a re-run.
+     */
+    public static void store(@NotNull String kernelHash, @Nullable String tornadoVersion, @NotNull Backend backend,
+                             @NotNull String code) {
+        File file = file(kernelHash, tornadoVersion, backend);
+        try {
+            Path directory = file.getParentFile().toPath();
+            Files.createDirectories(directory);
+            // Write next to the target and move it into place, so a reader
+            // never sees a partially written file.
+            Path partial = Files.createTempFile(directory, file.getName(), ".tmp");
+            try {
+                Files.writeString(partial, code, StandardCharsets.UTF_8);
+                Files.move(partial, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(partial);
+            }
+        } catch (IOException e) {
+            LOG.warn("Could not cache the generated code of a kernel", e);
+        }
+    }
+
+    /**
+     * The cached code of the kernel with {@code kernelHash} for every backend
+     * {@code tornadoVersion} generated it for.
+     */
+    public static @NotNull Map<Backend, String> lookup(@NotNull String kernelHash, @Nullable String tornadoVersion) {
+        Map<Backend, String> code = new EnumMap<>(Backend.class);
+        for (Backend backend : Backend.values()) {
+            File file = file(kernelHash, tornadoVersion, backend);
+            if (!file.isFile()) {
+                continue;
+            }
+            try {
+                code.put(backend, Files.readString(file.toPath(), StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                LOG.warn("Could not read the cached generated code of a kernel", e);
+            }
+        }
+        return code;
+    }
+
+    private static File file(String kernelHash, @Nullable String tornadoVersion, Backend backend) {
+        File directory = new File(PathManager.getSystemPath(), "tornadoinsight" + File.separator + "kernels");
+        return new File(directory, sha256(kernelHash, String.valueOf(tornadoVersion), backend.name())
+                + "." + backend.getExtension());
+    }
+
+    private static String sha256(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                digest.update(part.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
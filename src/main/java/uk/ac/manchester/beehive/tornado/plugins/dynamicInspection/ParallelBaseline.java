@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2026, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.ac.manchester.beehive.tornado.plugins.dynamicInspection;
+
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.*;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.util.PsiUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Derives a multi-threaded JVM version of a kernel: a copy of the method in
+ * which every outermost {@code @Parallel} loop becomes
+ * {@code IntStream.range(...).parallel().forEach(...)}. The copy serves as the
+ * parallel-streams baseline of differential verification.
+ * <p>
+ * The rewrite is only attempted when it is certain to compile and to keep the
+ * kernel's meaning: reductions, loops that are not of the form
+ * {@code for (@Parallel int i = a; i < b; i++)}, and loop bodies that return,
+ * break, continue, assign the loop variable or capture a local variable that
+ * is assigned after its declaration are all rejected.
+ */
+public final class ParallelBaseline {
+
+    private ParallelBaseline() {
+    }
+
+    /**
+     * The name of the parallel copy of {@code method}.
+     */
+    public static @NotNull String methodName(@NotNull PsiMethod method) {
+        return "insightParallel_" + method.getName();
+    }
+
+    /**
+     * Returns the source of the parallel copy of {@code method}, named
+     * {@link #methodName(PsiMethod)}, or {@code null} if the kernel cannot be
+     * parallelised safely this way.
+     */
+    public static @Nullable String rewrite(@NotNull PsiMethod method) {
+        PsiCodeBlock body = method.getBody();
+        PsiIdentifier nameIdentifier = method.getNameIdentifier();
+        if (body == null || nameIdentifier == null || hasReduceParameter(method)) {
+            return null;
+        }
+
+        List<PsiForStatement> loops = new ArrayList<>();
+        for (PsiForStatement loop : PsiTreeUtil.findChildrenOfType(body, PsiForStatement.class)) {
+            if (parallelVariable(loop) != null && !isInsideParallelLoop(loop)) {
+                loops.add(loop);
+            }
+        }
+        if (loops.isEmpty()) {
+            return null;
+        }
+
+        // Replacements keyed by offset within the method text, applied back to front.
+        int base = method.getTextRange().getStartOffset();
+        TreeMap<Integer, Replacement> replacements = new TreeMap<>();
+        replacements.put(nameIdentifier.getTextRange().getStartOffset() - base,
+                new Replacement(nameIdentifier.getTextRange().shiftLeft(base), methodName(method)));
+        for (PsiForStatement loop : loops) {
+            String stream = toParallelStream(method, loop);
+            if (stream == null) {
+                return null;
+            }
+            replacements.put(loop.getTextRange().getStartOffset() - base,
+                    new Replacement(loop.getTextRange().shiftLeft(base), stream));
+        }
+
+        StringBuilder text = new StringBuilder(method.getText());
+        for (Replacement replacement : replacements.descendingMap().values()) {
+            text.replace(replacement.range.getStartOffset(), replacement.range.getEndOffset(), replacement.text);
+        }
+        return text.toString();
+    }
+
+    private static @Nullable String toParallelStream(PsiMethod method, PsiForStatement loop) {
+        PsiLocalVariable variable = parallelVariable(loop);
+        PsiStatement loopBody = loop.getBody();
+        if (variable == null || variable.getInitializer() == null || loopBody == null
+                || !PsiTypes.intType().equals(variable.getType())) {
+            return null;
+        }
+
+        // for (@Parallel int i = start; i < end; i++), or i <= end.
+        if (!(PsiUtil.skipParenthesizedExprDown(loop.getCondition()) instanceof PsiBinaryExpression condition)
+                || !isReferenceTo(condition.getLOperand(), variable) || condition.getROperand() == null) {
+            return null;
+        }
+        IElementType operator = condition.getOperationTokenType();
+        if (operator != JavaTokenType.LT && operator != JavaTokenType.LE) {
+            return null;
+        }
+        if (!isUnitIncrement(loop.getUpdate(), variable)) {
+            return null;
+        }
+
+        if (!isSafeBody(method, loopBody, variable)) {
+            return null;
+        }
+
+        String range = operator == JavaTokenType.LT ? "range" : "rangeClosed";
+        String lambdaBody = loopBody instanceof PsiBlockStatement ? loopBody.getText() : "{ " + loopBody.getText() + " }";
+        return "java.util.stream.IntStream." + range + "(" + variable.getInitializer().getText() + ", "
+                + condition.getROperand().getText() + ").parallel().forEach(" + variable.getName() + " -> "
+                + lambdaBody + ");";
+    }
+
+    private static boolean isSafeBody(PsiMethod method, PsiStatement loopBody, PsiLocalVariable loopVariable) {
+        if (PsiTreeUtil.findChildOfType(loopBody, PsiReturnStatement.class) != null) {
+            return false;
+        }
+        for (PsiBreakStatement statement : PsiTreeUtil.findChildrenOfType(loopBody, PsiBreakStatement.class)) {
+            if (!PsiTreeUtil.isAncestor(loopBody, statement.findExitedStatement(), true)) {
+                return false;
+            }
+        }
+        for (PsiContinueStatement statement : PsiTreeUtil.findChildrenOfType(loopBody, PsiContinueStatement.class)) {
+            if (!PsiTreeUtil.isAncestor(loopBody, statement.findContinuedStatement(), true)) {
+                return false;
+            }
+        }
+
+        Collection<PsiReferenceExpression> methodReferences =
+                PsiTreeUtil.findChildrenOfType(method.getBody(), PsiReferenceExpression.class);
+        for (PsiReferenceExpression reference : PsiTreeUtil.findChildrenOfType(loopBody, PsiReferenceExpression.class)) {
+            PsiElement target = reference.resolve();
+            if (!(target instanceof PsiLocalVariable || target instanceof PsiParameter)) {
+                continue;
+            }
+            if (target == loopVariable) {
+                if (PsiUtil.isAccessedForWriting(reference)) {
+                    return false;
+                }
+                continue;
+            }
+            // Declared in the body: a local of the lambda.
+            if (PsiTreeUtil.isAncestor(loopBody, target, false)) {
+                continue;
+            }
+            // Captured by the lambda, so it must be effectively final.
+            for (PsiReferenceExpression other : methodReferences) {
+                if (other.isReferenceTo(target) && PsiUtil.isAccessedForWriting(other)) {
+                    return false;
+                }
+            }
+            if (target instanceof PsiLocalVariable local && local.getInitializer() == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isUnitIncrement(PsiStatement update, PsiLocalVariable variable) {
+        if (!(update instanceof PsiExpressionStatement statement)) {
+            return false;
+        }
+        PsiExpression expression = PsiUtil.skipParenthesizedExprDown(statement.getExpression());
+        if (expression instanceof PsiUnaryExpression unary) {
+            return unary.getOperationTokenType() == JavaTokenType.PLUSPLUS && isReferenceTo(unary.getOperand(), variable);
+        }
+        if (expression instanceof PsiAssignmentExpression assignment) {
+            return assignment.getOperationTokenType() == JavaTokenType.PLUSEQ
+                    && isReferenceTo(assignment.getLExpression(), variable)
+                    && assignment.getRExpression() != null
+                    && "1".equals(assignment.getRExpression().getText().strip());
+        }
+        return false;
+    }
+
+    private static boolean isReferenceTo(PsiExpression expression, PsiVariable variable) {
+        return PsiUtil.skipParenthesizedExprDown(expression) instanceof PsiReferenceExpression reference
+                && reference.isReferenceTo(variable);
+    }
+
+    private static @Nullable PsiLocalVariable parallelVariable(PsiForStatement loop) {
+        if (!(loop.getInitialization() instanceof PsiDeclarationStatement declaration)) {
+            return null;
+        }
+        PsiElement[] elements = declaration.getDeclaredElements();
+        if (elements.length != 1 || !(elements[0] instanceof PsiLocalVariable variable)) {
+            return null;
+        }
+        for (PsiAnnotation annotation : variable.getAnnotations()) {
+            String qName = annotation.getQualifiedName();
+            if (qName != null && qName.endsWith("Parallel")) {
+                return variable;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isInsideParallelLoop(PsiForStatement loop) {
+        for (PsiForStatement outer = PsiTreeUtil.getParentOfType(loop, PsiForStatement.class); outer != null;
+             outer = PsiTreeUtil.getParentOfType(outer, PsiForStatement.class)) {
+            if (parallelVariable(outer) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasReduceParameter(PsiMethod method) {
+        for (PsiParameter parameter : method.getParameterList().getParameters()) {
+            for (PsiAnnotation annotation : parameter.getAnnotations()) {
+                String qName = annotation.getQualifiedName();
+                if (qName != null && qName.endsWith("Reduce")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private record Replacement(TextRange range, String text) {
+    }
+}
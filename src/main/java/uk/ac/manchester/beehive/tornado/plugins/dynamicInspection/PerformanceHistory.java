@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2026, APT Group, Department of Computer Science,
+ *  The University of Manchester.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package uk.ac.manchester.beehive.tornado.plugins.dynamicInspection;
+
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The kernel timings of every dynamic inspection run of the project, kept in
+ * an append-only binary file so that each new run can be compared with the
+ * recent history of the same kernel on the same device at the same problem
+ * size, measured the same way. The file lives in {@code .idea/tornadoinsight/history.bin}, or in the
+ * IDE system directory for projects without an {@code .idea} directory.
+ * <p>
+ * The file starts with {@link #MAGIC} and a format version, followed by one
+ * record per run:
+ * <pre>
+ * UTF kernel, UTF device, int size, byte mode, long timestamp (ms), UTF git revision,
+ * int sample count, long[] kernel times (ns)
+ * </pre>
+ * A record cut short (e.g. by a crash while appending) or otherwise
+ * unreadable ends the history and is cut off the file, so later records are
+ * appended after the last good one; a file with another version is replaced
+ * by a new one.
+ */
+@Service
+public final class PerformanceHistory {
+
+    private static final Logger LOG = Logger.getInstance(PerformanceHistory.class);
+
+    private static final int MAGIC = 0x54494831; // "TIH1"
+    private static final int FORMAT_VERSION = 2;
+
+    // How many previous runs of a kernel form its baseline.
+    public static final int BASELINE_RUNS = 5;
+
+    private final Project project;
+
+    private Map<Key, List<Run>> runs;
+
+    public PerformanceHistory(Project project) {
+        this.project = project;
+    }
+
+    @NotNull
+    public static PerformanceHistory getInstance(Project project) {
+        return project.getService(PerformanceHistory.class);
+    }
+
+    /**
+     * How the samples of a run were measured. Warmed-up benchmark iterations
+     * and a single profiled (cold) execution are not comparable, so each has
+     * its own baseline.
+     */
+    public enum Mode {
+        BENCHMARK,
+        PROFILED
+    }
+
+    /**
+     * Appends a run and compares it with the baseline of its kernel, device,
+     * size and mode: the samples of the previous {@link #BASELINE_RUNS} runs.
+     *
+     * @param kernelNanos the kernel time of each measured execution
+     * @return the regression against the baseline, or {@code null}
+     */
+    public synchronized RegressionDetector.Regression record(String kernel, String device, int size, Mode mode,
+                                                             long[] kernelNanos, double minSlowdownPercent) {
+        if (kernelNanos.length == 0) {
+            return null;
+        }
+        Key key = new Key(kernel, device, size, mode);
+        List<Run> previous = load().computeIfAbsent(key, k -> new ArrayList<>());
+        RegressionDetector.Regression regression =
+                RegressionDetector.detect(kernelNanos, baseline(previous), minSlowdownPercent);
+
+        Run run = new Run(System.currentTimeMillis(), gitRevision(), kernelNanos);
+        previous.add(run);
+        try {
+            append(key, run);
+        } catch (IOException e) {
+            LOG.warn("Could not append to the performance history " + historyFile(), e);
+        }
+        return regression;
+    }
+
+    /**
+     * The recorded runs of a kernel, oldest first.
+     */
+    public synchronized List<Run> getRuns(String kernel, String device, int size, Mode mode) {
+        return new ArrayList<>(load().getOrDefault(new Key(kernel, device, size, mode), List.of()));
+    }
+
+    private static long[] baseline(List<Run> previous) {
+        List<Run> recent = previous.subList(Math.max(0, previous.size() - BASELINE_RUNS), previous.size());
+        int count = 0;
+        for (Run run : recent) {
+            count += run.kernelNanos().length;
+        }
+        long[] samples = new long[count];
+        int position = 0;
+        for (Run run : recent) {
+            System.arraycopy(run.kernelNanos(), 0, samples, position, run.kernelNanos().length);
+            position += run.kernelNanos().length;
+        }
+        return samples;
+    }
+
+    private Map<Key, List<Run>> load() {
+        if (runs != null) {
+            return runs;
+        }
+        runs = new HashMap<>();
+        File file = historyFile();
+        if (!file.isFile()) {
+            return runs;
+        }
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(file.toPath());
+        } catch (IOException e) {
+            LOG.warn("Could not read the performance history " + file, e);
+            return runs;
+        }
+        // Reading from memory, an IOException can only mean a malformed record.
+        ByteArrayInputStream buffer = new ByteArrayInputStream(bytes);
+        DataInputStream in = new DataInputStream(buffer);
+        int complete = 0;
+        try {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                LOG.info("Discarding performance history in an unknown format: " + file);
+                Files.delete(file.toPath());
+                return runs;
+            }
+            complete = bytes.length - buffer.available();
+            while (buffer.available() > 0) {
+                String kernel = in.readUTF();
+                String device = in.readUTF();
+                int size = in.readInt();
+                int mode = in.readByte();
+                long timestamp = in.readLong();
+                String revision = in.readUTF();
+                int count = in.readInt();
+                if (mode < 0 || mode >= Mode.values().length || count < 0 || count > buffer.available() / Long.BYTES) {
+                    throw new EOFException("Malformed record");
+                }
+                long[] samples = new long[count];
+                for (int i = 0; i < samples.length; i++) {
+                    samples[i] = in.readLong();
+                }
+                runs.computeIfAbsent(new Key(kernel, device, size, Mode.values()[mode]), k -> new ArrayList<>())
+                        .add(new Run(timestamp, revision, samples));
+                complete = bytes.length - buffer.available();
+            }
+        } catch (IOException e) {
+            // A record cut short or corrupted: drop it and whatever follows,
+            // so the next run is not appended after it.
+            LOG.info("Truncating the performance history " + file + " after " + complete + " bytes");
+            truncate(file, complete);
+        }
+        return runs;
+    }
+
+    private static void truncate(File file, long length) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            channel.truncate(length);
+        } catch (IOException e) {
+            LOG.warn("Could not truncate the performance history " + file, e);
+        }
+    }
+
+    private void append(Key key, Run run) throws IOException {
+        File file = historyFile();
+        Files.createDirectories(file.getParentFile().toPath());
+        boolean fresh = !file.isFile() || file.length() == 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)))) {
+            if (fresh) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+            }
+            out.writeUTF(key.kernel());
+            out.writeUTF(key.device());
+            out.writeInt(key.size());
+            out.writeByte(key.mode().ordinal());
+            out.writeLong(run.timestamp());
+            out.writeUTF(run.revision());
+            out.writeInt(run.kernelNanos().length);
+            for (long sample : run.kernelNanos()) {
+                out.writeLong(sample);
+            }
+        }
+    }
+
+    private File historyFile() {
+        String basePath = project.getBasePath();
+        if (basePath != null && new File(basePath, ".idea").isDirectory()) {
+            return new File(basePath, ".idea" + File.separator + "tornadoinsight" + File.separator + "history.bin");
+        }
+        return new File(PathManager.getSystemPath(), "tornadoinsight" + File.separator + "history"
+                + File.separator + project.getLocationHash() + ".bin");
+    }
+
+    /**
+     * The commit checked out in the project's git repository, read from
+     * {@code .git} directly so no VCS plugin is needed; empty if unknown.
+     */
+    private String gitRevision() {
+        String basePath = project.getBasePath();
+        if (basePath == null) {
+            return "";
+        }
+        try {
+            Path gitDir = Path.of(basePath, ".git");
+            if (Files.isRegularFile(gitDir)) {
+                // A worktree or submodule: ".git" names the real directory.
+                String pointer = Files.readString(gitDir, StandardCharsets.UTF_8).strip();
+                if (!pointer.startsWith("gitdir:")) {
+                    return "";
+                }
+                gitDir = gitDir.getParent().resolve(pointer.substring("gitdir:".length()).strip());
+            }
+            String head = Files.readString(gitDir.resolve("HEAD"), StandardCharsets.UTF_8).strip();
+            if (!head.startsWith("ref:")) {
+                return head;
+            }
+            String ref = head.substring("ref:".length()).strip();
+            Path looseRef = gitDir.resolve(ref);
+            if (Files.isRegularFile(looseRef)) {
+                return Files.readString(looseRef, StandardCharsets.UTF_8).strip();
+            }
+            // Worktrees keep shared refs in the common directory.
+            Path commonDir = gitDir;
+            Path commonDirFile = gitDir.resolve("commondir");
+            if (Files.isRegularFile(commonDirFile)) {
+                commonDir = gitDir.resolve(Files.readString(commonDirFile, StandardCharsets.UTF_8).strip());
+                Path sharedRef = commonDir.resolve(ref);
+                if (Files.isRegularFile(sharedRef)) {
+                    return Files.readString(sharedRef, StandardCharsets.UTF_8).strip();
+                }
+            }
+            Path packedRefs = commonDir.resolve("packed-refs");
+            if (Files.isRegularFile(packedRefs)) {
+                for (String line : Files.readAllLines(packedRefs, StandardCharsets.UTF_8)) {
+                    if (line.endsWith(" " + ref)) {
+                        return line.substring(0, line.indexOf(' '));
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException ignore) {
+            // Not a git repository, or one we cannot read.
+        }
+        return "";
+    }
+
+    private record Key(String kernel, String device, int size, Mode mode) {
+    }
+
+    /**
+     * One recorded run of a kernel.
+     *
+     * @param revision the git commit checked out at the time, or empty
+     */
+    public record Run(long timestamp, String revision, long[] kernelNanos) {
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2026, APT Group, Department of Computer Science,
+ *  The University of Manchester.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package uk.ac.manchester.beehive.tornado.plugins.dynamicInspection;
+
+import java.util.Arrays;
+
+/**
+ * Decides whether a kernel's new timings are significantly slower than its
+ * baseline. With several new samples (benchmark mode) the two sets are
+ * compared with Welch's t-test; a single new sample is compared with the
+ * prediction interval of the baseline. Both tests are one-sided, since only
+ * slowdowns are of interest, and a slowdown must also exceed a minimum
+ * relative size so that tiny but consistent differences are not reported.
+ */
+public final class RegressionDetector {
+
+    // Significance level of the one-sided test.
+    public static final double ALPHA = 0.01;
+
+    private RegressionDetector() {
+    }
+
+    /**
+     * Compares {@code current} with {@code baseline}.
+     *
+     * @param minSlowdownPercent smallest increase of the mean, in percent of
+     *                           the baseline mean, that counts as a regression
+     * @return the regression, or {@code null} if there is none or the samples
+     *         are too few to tell
+     */
+    public static Regression detect(long[] current, long[] baseline, double minSlowdownPercent) {
+        if (current.length == 0 || baseline.length < 2) {
+            return null;
+        }
+        double currentMean = mean(current);
+        double baselineMean = mean(baseline);
+        if (baselineMean <= 0 || currentMean <= baselineMean * (1 + minSlowdownPercent / 100)) {
+            return null;
+        }
+        double baselineVariance = variance(baseline, baselineMean);
+        double standardError;
+        double degreesOfFreedom;
+        if (current.length == 1) {
+            standardError = Math.sqrt(baselineVariance * (1 + 1.0 / baseline.length));
+            degreesOfFreedom = baseline.length - 1;
+        } else {
+            double currentTerm = variance(current, currentMean) / current.length;
+            double baselineTerm = baselineVariance / baseline.length;
+            standardError = Math.sqrt(currentTerm + baselineTerm);
+            // Welch-Satterthwaite approximation.
+            degreesOfFreedom = (currentTerm + baselineTerm) * (currentTerm + baselineTerm)
+                    / (currentTerm * currentTerm / (current.length - 1) + baselineTerm * baselineTerm / (baseline.length - 1));
+        }
+        double pValue;
+        if (standardError == 0) {
+            // No spread at all: any slowdown beyond the threshold is certain.
+            pValue = 0;
+        } else {
+            pValue = upperTailProbability((currentMean - baselineMean) / standardError, degreesOfFreedom);
+        }
+        if (pValue >= ALPHA) {
+            return null;
+        }
+        return new Regression(currentMean, baselineMean, pValue, current.length, baseline.length);
+    }
+
+    private static double mean(long[] values) {
+        return Arrays.stream(values).average().orElse(0);
+    }
+
+    private static double variance(long[] values, double mean) {
+        double sum = 0;
+        for (long value : values) {
+            sum += (value - mean) * (value - mean);
+        }
+        return sum / (values.length - 1);
+    }
+
+    /**
+     * P(T &gt; t) for Student's t distribution with {@code df} degrees of
+     * freedom, for {@code t >= 0}.
+     */
+    static double upperTailProbability(double t, double df) {
+        if (Double.isNaN(df) || df <= 0) {
+            return 1;
+        }
+        return 0.5 * regularizedIncompleteBeta(df / (df + t * t), df / 2, 0.5);
+    }
+
+    /**
+     * I_x(a, b) by its continued fraction (modified Lentz's method), using the
+     * symmetry I_x(a, b) = 1 - I_{1-x}(b, a) where the fraction converges slowly.
+     */
+    private static double regularizedIncompleteBeta(double x, double a, double b) {
+        if (x <= 0) {
+            return 0;
+        }
+        if (x >= 1) {
+            return 1;
+        }
+        double front = Math.exp(logGamma(a + b) - logGamma(a) - logGamma(b) + a * Math.log(x) + b * Math.log(1 - x));
+        if (x < (a + 1) / (a + b + 2)) {
+            return front * betaContinuedFraction(x, a, b) / a;
+        }
+        return 1 - front * betaContinuedFraction(1 - x, b, a) / b;
+    }
+
+    private static double betaContinuedFraction(double x, double a, double b) {
+        final double tiny = 1e-300;
+        double c = 1;
+        double d = 1 - (a + b) * x / (a + 1);
+        d = 1 / (Math.abs(d) < tiny ? tiny : d);
+        double result = d;
+        for (int m = 1; m <= 200; m++) {
+            double numerator = m * (b - m) * x / ((a + 2 * m - 1) * (a + 2 * m));
+            d = 1 + numerator * d;
+            d = 1 / (Math.abs(d) < tiny ? tiny : d);
+            c = 1 + numerator / c;
+            c = Math.abs(c) < tiny ? tiny : c;
+            result *= d * c;
+
+            numerator = -(a + m) * (a + b + m) * x / ((a + 2 * m) * (a + 2 * m + 1));
+            d = 1 + numerator * d;
+            d = 1 / (Math.abs(d) < tiny ? tiny : d);
+            c = 1 + numerator / c;
+            c = Math.abs(c) < tiny ? tiny : c;
+            double delta = d * c;
+            result *= delta;
+            if (Math.abs(delta - 1) < 1e-12) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The natural logarithm of the gamma function for x &gt; 0, by the Lanczos
+     * approximation.
+     */
+    private static double logGamma(double x) {
+        final double[] coefficients = {76.18009172947146, -86.50532032941677, 24.01409824083091,
+                -1.231739572450155, 0.1208650973866179e-2, -0.5395239384953e-5};
+        double y = x;
+        double tmp = x + 5.5;
+        tmp -= (x + 0.5) * Math.log(tmp);
+        double series = 1.000000000190015;
+        for (double coefficient : coefficients) {
+            series += coefficient / ++y;
+        }
+        return -tmp + Math.log(2.5066282746310005 * series / x);
+    }
+
+    /**
+     * A significant slowdown; means are in the unit of the samples.
+     */
+    public record Regression(double currentMean, double baselineMean, double pValue,
+                             int currentSamples, int baselineSamples) {
+
+        public double slowdownPercent() {
+            return (currentMean / baselineMean - 1) * 100;
+        }
+    }
+}
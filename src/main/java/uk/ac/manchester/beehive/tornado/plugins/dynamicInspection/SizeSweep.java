@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2026, APT Group, Department of Computer Science,
+ *  The University of Manchester.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package uk.ac.manchester.beehive.tornado.plugins.dynamicInspection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Problem sizes for a size sweep, and the timings collected per kernel while
+ * the sweep runs. A sweep specification is a comma-separated list of sizes
+ * and ranges. A size is a number or a power of two written {@code 2^k}; a
+ * range {@code a-b} stands for {@code a, 2a, 4a, ...} up to {@code b}. For
+ * example {@code 2^10-2^26} is every power of two from 1024 to 67108864, and
+ * {@code 1000,5000,2^20} is three sizes.
+ */
+public class SizeSweep {
+
+    // Upper bound on a single size: generated inputs are Java arrays, and
+    // sizes past this leave no headroom for the JVM's array limit.
+    public static final int MAX_SIZE = 1 << 30;
+
+    // Guards against ranges like "1-2^30" producing an unusably long sweep.
+    public static final int MAX_POINTS = 64;
+
+    private SizeSweep() {
+    }
+
+    /**
+     * Expands a sweep specification into ascending, distinct sizes.
+     *
+     * @throws IllegalArgumentException if the specification is malformed, a
+     *                                  size is out of range or it expands to
+     *                                  no sizes or too many
+     */
+    public static List<Integer> parse(String spec) {
+        if (spec == null || spec.isBlank()) {
+            throw new IllegalArgumentException("No sizes given");
+        }
+        SortedSet<Integer> sizes = new TreeSet<>();
+        for (String part : spec.split(",")) {
+            String item = part.strip();
+            if (item.isEmpty()) {
+                continue;
+            }
+            int dash = item.indexOf('-');
+            if (dash < 0) {
+                sizes.add(parseSize(item));
+                continue;
+            }
+            long from = parseSize(item.substring(0, dash).strip());
+            long to = parseSize(item.substring(dash + 1).strip());
+            if (from > to) {
+                throw new IllegalArgumentException("Range " + item + " is descending");
+            }
+            for (long size = from; size <= to; size *= 2) {
+                sizes.add((int) size);
+                if (sizes.size() > MAX_POINTS) {
+                    break;
+                }
+            }
+        }
+        if (sizes.isEmpty()) {
+            throw new IllegalArgumentException("No sizes given");
+        }
+        if (sizes.size() > MAX_POINTS) {
+            throw new IllegalArgumentException("More than " + MAX_POINTS + " sizes");
+        }
+        return Collections.unmodifiableList(new ArrayList<>(sizes));
+    }
+
+    private static int parseSize(String text) {
+        long value;
+        try {
+            if (text.startsWith("2^")) {
+                int exponent = Integer.parseInt(text.substring(2).strip());
+                value = exponent >= 0 && exponent < 63 ? 1L << exponent : -1;
+            } else {
+                value = Long.parseLong(text);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("'" + text + "' is not a size");
+        }
+        if (value <= 0 || value > MAX_SIZE) {
+            throw new IllegalArgumentException("Size " + text + " is not between 1 and 2^30");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Formats a fixed-width table of the median timings of every kernel at
+     * every size, with failed sizes marked. Throughput is elements processed
+     * per second of total (kernel plus transfer) time.
+     */
+    public static String formatTable(Map<String, Series> series) {
+        int nameWidth = "Kernel".length();
+        for (String name : series.keySet()) {
+            nameWidth = Math.max(nameWidth, name.length());
+        }
+        String rowFormat = "%-" + nameWidth + "s  %10s  %12s  %14s  %12s  %14s%n";
+        StringBuilder table = new StringBuilder();
+        table.append(String.format(Locale.ROOT, rowFormat, "Kernel", "Size", "Kernel (ms)", "Transfer (ms)", "Total (ms)", "Melem/s"));
+        for (Map.Entry<String, Series> entry : series.entrySet()) {
+            SortedMap<Integer, BenchmarkStatistics> results = entry.getValue().getStatistics();
+            boolean first = true;
+            for (int size : entry.getValue().getSizes()) {
+                BenchmarkStatistics stats = results.get(size);
+                String name = first ? entry.getKey() : "";
+                if (stats == null) {
+                    table.append(String.format(Locale.ROOT, rowFormat, name, size, "failed", "", "", ""));
+                } else {
+                    table.append(String.format(Locale.ROOT, rowFormat, name, size,
+                            String.format(Locale.ROOT, "%.3f", Series.kernelNanos(stats) / 1e6),
+                            String.format(Locale.ROOT, "%.3f", Series.transferNanos(stats) / 1e6),
+                            String.format(Locale.ROOT, "%.3f", Series.totalNanos(stats) / 1e6),
+                            String.format(Locale.ROOT, "%.2f", Series.throughput(size, stats) / 1e6)));
+                }
+                first = false;
+            }
+        }
+        return table.toString();
+    }
+
+    /**
+     * The sweep results of one kernel: benchmark statistics for every size it
+     * ran at cleanly, and the sizes at which it failed (for example because
+     * the device ran out of memory).
+     */
+    public static final class Series {
+        private final SortedMap<Integer, BenchmarkStatistics> statistics = new TreeMap<>();
+        private final SortedSet<Integer> failures = new TreeSet<>();
+
+        public synchronized void add(int size, BenchmarkStatistics stats) {
+            statistics.put(size, stats);
+        }
+
+        public synchronized void addFailure(int size) {
+            failures.add(size);
+        }
+
+        public synchronized SortedMap<Integer, BenchmarkStatistics> getStatistics() {
+            return new TreeMap<>(statistics);
+        }
+
+        public synchronized SortedSet<Integer> getFailures() {
+            return new TreeSet<>(failures);
+        }
+
+        /**
+         * Every size that produced a result or a failure, ascending.
+         */
+        public synchronized SortedSet<Integer> getSizes() {
+            SortedSet<Integer> sizes = new TreeSet<>(statistics.keySet());
+            sizes.addAll(failures);
+            return sizes;
+        }
+
+        public static double kernelNanos(BenchmarkStatistics stats) {
+            return stats.median(BenchmarkStatistics.Metric.KERNEL);
+        }
+
+        public static double transferNanos(BenchmarkStatistics stats) {
+            return stats.median(BenchmarkStatistics.Metric.COPY_IN) + stats.median(BenchmarkStatistics.Metric.COPY_OUT);
+        }
+
+        public static double totalNanos(BenchmarkStatistics stats) {
+            return stats.median(BenchmarkStatistics.Metric.TOTAL);
+        }
+
+        /**
+         * Elements per second, based on the median total time.
+         */
+        public static double throughput(int size, BenchmarkStatistics stats) {
+            double nanos = totalNanos(stats);
+            return nanos > 0 ? size / (nanos / 1e9) : 0;
+        }
+    }
+}
@@ -0,0 +1,315 @@
+/*
+ * Copyright (c) 2026, APT Group, Department of Computer Science,
+ *  The University of Manchester.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package uk.ac.manchester.beehive.tornado.plugins.dynamicInspection;
+
+import com.intellij.execution.process.ProcessEvent;
+import com.intellij.execution.process.ProcessListener;
+import com.intellij.execution.process.ProcessOutput;
+import com.intellij.execution.process.ProcessOutputTypes;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.util.io.FileUtilRt;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import uk.ac.manchester.beehive.tornado.plugins.util.MessageUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Receives the output of one TornadoVM run as it is produced. Every complete
+ * line is checked against the runtime-error patterns so that a failing kernel
+ * is known as soon as the first error line appears, and echoed to the
+ * TornadoInsight console, prefixed with the kernel name. The echo is batched:
+ * the console is updated at most every {@link #ECHO_INTERVAL_MS}, and lines
+ * beyond {@link #ECHO_BATCH_LINES} per update are only counted.
+ * <p>
+ * At most {@code limitBytes} of each stream are kept in memory: the head of
+ * the output is retained, and once the limit is reached the complete stream is
+ * spilled to a temp file and only a bounded tail is kept alongside it. Lines
+ * the result parsers look for (those starting with {@link #MARKER_PREFIX}, and
+ * the profiler logs between them) are kept whatever their position. A line
+ * longer than the limit is broken up. The {@link ProcessOutput} built at the
+ * end therefore stays small however much a kernel prints. Spill files are
+ * kept until the next dynamic inspection starts (see
+ * {@link #deleteSpillFiles()}) or the IDE exits.
+ * </p>
+ */
+public class StreamingOutputCollector implements ProcessListener {
+
+    private static final Logger LOG = Logger.getInstance(StreamingOutputCollector.class);
+
+    static final String MARKER_PREFIX = "@@TORNADO_INSIGHT";
+
+    private static final long ECHO_INTERVAL_MS = 200;
+    private static final int ECHO_BATCH_LINES = 1000;
+    private static final int ECHO_LINE_CHARS = 10_000;
+
+    private static final String SPILL_NOTICE = " were not kept in memory; the full output is in ";
+
+    private static final File SPILL_DIRECTORY = new File(FileUtilRt.getTempDirectory(), "tornadoinsight-output");
+
+    private final Project project;
+    private final String kernelName;
+    private final long limitBytes;
+    private final Runnable onFirstError;
+
+    private final StreamBuffer stdout = new StreamBuffer("stdout");
+    private final StreamBuffer stderr = new StreamBuffer("stderr");
+
+    private volatile boolean hasError;
+
+    private final List<MessageUtils.ProcessLine> echo = new ArrayList<>();
+    private int echoSkipped;
+    private boolean echoScheduled;
+
+    /**
+     * @param onFirstError invoked once, from the reader thread, when the first
+     *                     line matching a runtime-error pattern is seen
+     */
+    public StreamingOutputCollector(Project project, String kernelName, long limitBytes, Runnable onFirstError) {
+        this.project = project;
+        this.kernelName = kernelName;
+        this.limitBytes = Math.max(1024, limitBytes);
+        this.onFirstError = onFirstError;
+    }
+
+    @Override
+    public void onTextAvailable(@NotNull ProcessEvent event, @NotNull Key outputType) {
+        if (outputType == ProcessOutputTypes.STDOUT) {
+            stdout.append(event.getText());
+        } else if (outputType == ProcessOutputTypes.STDERR) {
+            stderr.append(event.getText());
+        }
+    }
+
+    /**
+     * Feeds output that was captured elsewhere (e.g. by the warm worker)
+     * through the same echo, detection and spilling path.
+     */
+    public void feed(String stdoutText, String stderrText) {
+        stdout.append(stdoutText);
+        stderr.append(stderrText);
+    }
+
+    /**
+     * Whether any line matched one of the runtime-error patterns.
+     */
+    public boolean hasError() {
+        return hasError;
+    }
+
+    /**
+     * Flushes pending partial lines and returns the retained output.
+     */
+    public ProcessOutput toProcessOutput(int exitCode) {
+        return toProcessOutput(exitCode, false, false);
+    }
+
+    public ProcessOutput toProcessOutput(int exitCode, boolean timedOut, boolean cancelled) {
+        ProcessOutput output = new ProcessOutput(stdout.finish(), stderr.finish(), exitCode, timedOut, cancelled);
+        // Echo the rest now, ahead of the messages reporting the results.
+        flushEcho();
+        return output;
+    }
+
+    /**
+     * Whether {@code output} was returned by a collector that spilled part of
+     * it, so only its head, markers and tail are there.
+     */
+    public static boolean isTruncated(String output) {
+        return output != null && output.contains(SPILL_NOTICE);
+    }
+
+    /**
+     * Deletes the spill files of earlier runs.
+     */
+    public static void deleteSpillFiles() {
+        FileUtilRt.delete(SPILL_DIRECTORY);
+    }
+
+    private void onLine(String line, boolean isStderr) {
+        queueEcho(line, isStderr);
+        if (!hasError && ExecutionEngine.isErrorLine(line)) {
+            hasError = true;
+            onFirstError.run();
+        }
+    }
+
+    private synchronized void queueEcho(String line, boolean isStderr) {
+        if (echo.size() < ECHO_BATCH_LINES) {
+            echo.add(new MessageUtils.ProcessLine(
+                    line.length() > ECHO_LINE_CHARS ? line.substring(0, ECHO_LINE_CHARS) + " [...]" : line, isStderr));
+        } else {
+            echoSkipped++;
+        }
+        if (!echoScheduled) {
+            echoScheduled = true;
+            AppExecutorUtil.getAppScheduledExecutorService().schedule(this::flushEcho, ECHO_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flushEcho() {
+        List<MessageUtils.ProcessLine> lines;
+        synchronized (this) {
+            lines = new ArrayList<>(echo);
+            echo.clear();
+            if (echoSkipped > 0) {
+                lines.add(new MessageUtils.ProcessLine("[... " + echoSkipped + " lines not shown ...]", false));
+                echoSkipped = 0;
+            }
+            echoScheduled = false;
+        }
+        MessageUtils.getInstance(project).printProcessLines(kernelName, lines);
+    }
+
+    /**
+     * Line splitting, echo and bounded retention of one output stream.
+     */
+    private final class StreamBuffer {
+        private final String name;
+        private final StringBuilder pending = new StringBuilder();
+        private final StringBuilder head = new StringBuilder();
+        private final StringBuilder markers = new StringBuilder();
+        private final StringBuilder tail = new StringBuilder();
+        private boolean inProfile;
+        private File spillFile;
+        private Writer spill;
+        private boolean spillFailed;
+        private long spilledChars;
+
+        StreamBuffer(String name) {
+            this.name = name;
+        }
+
+        synchronized void append(String text) {
+            if (text == null || text.isEmpty()) {
+                return;
+            }
+            pending.append(text);
+            int newline;
+            while ((newline = pending.indexOf("\n")) >= 0) {
+                String line = pending.substring(0, newline + 1);
+                pending.delete(0, newline + 1);
+                retain(line);
+                onLine(line.stripTrailing(), this == stderr);
+            }
+            // No newline in sight: break the line rather than buffer it all.
+            while (pending.length() > limitBytes) {
+                String line = pending.substring(0, (int) limitBytes) + "\n";
+                pending.delete(0, (int) limitBytes);
+                retain(line);
+                onLine(line.stripTrailing(), this == stderr);
+            }
+        }
+
+        synchronized String finish() {
+            if (pending.length() > 0) {
+                String line = pending.toString();
+                pending.setLength(0);
+                retain(line);
+                onLine(line.stripTrailing(), this == stderr);
+            }
+            if (spill == null) {
+                return head.toString() + markers;
+            }
+            try {
+                spill.close();
+            } catch (IOException e) {
+                LOG.warn("Could not close " + spillFile, e);
+            }
+            return head.toString() + markers + "\n[... " + spilledChars + " characters of " + name
+                    + SPILL_NOTICE + spillFile.getAbsolutePath() + " ...]\n"
+                    + tail;
+        }
+
+        private void retain(String line) {
+            boolean marker = isMarker(line);
+            if (spill == null && !spillFailed && head.length() + line.length() <= limitBytes) {
+                head.append(line);
+                return;
+            }
+            if (spill == null && !spillFailed) {
+                startSpilling();
+            }
+            if (spill != null) {
+                try {
+                    spill.write(line);
+                } catch (IOException e) {
+                    LOG.warn("Could not write to " + spillFile, e);
+                }
+            }
+            spilledChars += line.length();
+            // Keep what the result parsers need, in order, after the head.
+            if (marker) {
+                markers.append(line);
+                return;
+            }
+            if (spill == null) {
+                return; // no spill file: keep the head and markers only
+            }
+            tail.append(line);
+            long tailLimit = limitBytes / 4;
+            if (tail.length() > tailLimit) {
+                tail.delete(0, (int) (tail.length() - tailLimit));
+            }
+        }
+
+        /**
+         * Whether the line is a marker line or part of a profiler log.
+         */
+        private boolean isMarker(String line) {
+            String stripped = line.strip();
+            if (stripped.startsWith(TaskGraphProfile.BEGIN_MARKER)) {
+                inProfile = true;
+                return true;
+            }
+            if (stripped.startsWith(TaskGraphProfile.END_MARKER)) {
+                inProfile = false;
+                return true;
+            }
+            return inProfile || stripped.startsWith(MARKER_PREFIX);
+        }
+
+        private boolean startSpilling() {
+            try {
+                // Fanned-out kernel names carry "@backend:device", and ':' is
+                // not allowed in Windows file names.
+                spillFile = FileUtilRt.createTempFile(SPILL_DIRECTORY,
+                        "tornadoinsight-" + FileUtil.sanitizeFileName(kernelName, false) + "-", "." + name + ".log", true, true);
+                spill = Files.newBufferedWriter(spillFile.toPath(), StandardCharsets.UTF_8);
+                spill.write(head.toString());
+                return true;
+            } catch (IOException e) {
+                LOG.warn("Could not create a spill file for the output of " + kernelName, e);
+                spillFile = null;
+                spill = null;
+                spillFailed = true;
+                return false;
+            }
+        }
+    }
+}
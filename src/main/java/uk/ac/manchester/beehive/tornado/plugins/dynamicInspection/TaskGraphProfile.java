@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2026, APT Group, Department of Computer Science,
+ *  The University of Manchester.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package uk.ac.manchester.beehive.tornado.plugins.dynamicInspection;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The TornadoVM profiler's account of one execution of a task graph. A
+ * harness that collects metrics executes its plan once with the profiler on
+ * and prints the profiler's JSON log between marker lines, the opening one
+ * carrying the wall-clock time of {@code withPreCompilation()} in nanoseconds:
+ * <pre>
+ * @@TORNADO_INSIGHT_PROFILE_BEGIN &lt;pre-compilation ns&gt;
+ * { "graph": { "TOTAL_KERNEL_TIME": "...", ..., "graph.task": { "TASK_KERNEL_TIME": "...", ... } } }
+ * @@TORNADO_INSIGHT_PROFILE_END
+ * </pre>
+ * Times are in nanoseconds and sizes in bytes; values the profiler did not
+ * report are {@code -1}.
+ */
+public final class TaskGraphProfile {
+
+    public static final String BEGIN_MARKER = "@@TORNADO_INSIGHT_PROFILE_BEGIN";
+    public static final String END_MARKER = "@@TORNADO_INSIGHT_PROFILE_END";
+
+    private final String name;
+    private final long precompileNanos;
+    private final long bytecodeGenerationNanos;
+    private final long graalCompileNanos;
+    private final long driverCompileNanos;
+    private final long kernelNanos;
+    private final long copyInNanos;
+    private final long copyOutNanos;
+    private final long copyInBytes;
+    private final long copyOutBytes;
+    private final long dispatchKernelNanos;
+    private final long dispatchTransferNanos;
+    private final long totalNanos;
+    private final List<Task> tasks;
+
+    private TaskGraphProfile(String name, long precompileNanos, JsonObject graph) {
+        this.name = name;
+        this.precompileNanos = precompileNanos;
+        this.bytecodeGenerationNanos = number(graph, "TOTAL_BYTE_CODE_GENERATION");
+        this.graalCompileNanos = number(graph, "TOTAL_GRAAL_COMPILE_TIME");
+        this.driverCompileNanos = number(graph, "TOTAL_DRIVER_COMPILE_TIME");
+        this.kernelNanos = number(graph, "TOTAL_KERNEL_TIME");
+        this.copyInNanos = number(graph, "COPY_IN_TIME");
+        this.copyOutNanos = number(graph, "COPY_OUT_TIME");
+        this.copyInBytes = number(graph, "TOTAL_COPY_IN_SIZE_BYTES");
+        this.copyOutBytes = number(graph, "TOTAL_COPY_OUT_SIZE_BYTES");
+        this.dispatchKernelNanos = number(graph, "TOTAL_DISPATCH_KERNEL_TIME");
+        this.dispatchTransferNanos = number(graph, "TOTAL_DISPATCH_DATA_TRANSFERS_TIME");
+        this.totalNanos = number(graph, "TOTAL_TASK_GRAPH_TIME");
+        List<Task> tasks = new ArrayList<>();
+        for (Map.Entry<String, JsonElement> entry : graph.entrySet()) {
+            if (entry.getValue().isJsonObject()) {
+                tasks.add(new Task(entry.getKey(), entry.getValue().getAsJsonObject()));
+            }
+        }
+        this.tasks = Collections.unmodifiableList(tasks);
+    }
+
+    /**
+     * Reads every profiler log framed by the markers in a harness's stdout.
+     * Logs that are not valid JSON are skipped.
+     */
+    public static List<TaskGraphProfile> parse(String stdout) {
+        List<TaskGraphProfile> profiles = new ArrayList<>();
+        if (stdout == null) {
+            return profiles;
+        }
+        String[] lines = stdout.split("\n");
+        for (int i = 0; i < lines.length; i++) {
+            String begin = lines[i].strip();
+            if (!begin.startsWith(BEGIN_MARKER)) {
+                continue;
+            }
+            long precompileNanos = -1;
+            try {
+                precompileNanos = Long.parseLong(begin.substring(BEGIN_MARKER.length()).strip());
+            } catch (NumberFormatException ignore) {
+                // Leave it unknown.
+            }
+            StringBuilder json = new StringBuilder();
+            for (i++; i < lines.length && !lines[i].strip().equals(END_MARKER); i++) {
+                json.append(lines[i]).append("\n");
+            }
+            try {
+                JsonElement root = JsonParser.parseString(json.toString());
+                if (!root.isJsonObject()) {
+                    continue;
+                }
+                for (Map.Entry<String, JsonElement> graph : root.getAsJsonObject().entrySet()) {
+                    if (graph.getValue().isJsonObject()) {
+                        profiles.add(new TaskGraphProfile(graph.getKey(), precompileNanos, graph.getValue().getAsJsonObject()));
+                    }
+                }
+            } catch (JsonParseException | IllegalStateException ignore) {
+                // Not a profiler log.
+            }
+        }
+        return profiles;
+    }
+
+    /**
+     * The profiler reports numbers as JSON strings; accepts either form.
+     */
+    private static long number(JsonObject object, String key) {
+        JsonElement value = object.get(key);
+        if (value == null || !value.isJsonPrimitive()) {
+            return -1;
+        }
+        try {
+            return value.getAsLong();
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static String text(JsonObject object, String key) {
+        JsonElement value = object.get(key);
+        return value != null && value.isJsonPrimitive() ? value.getAsString() : "";
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Wall-clock time of {@code withPreCompilation()} as measured by the harness.
+     */
+    public long getPrecompileNanos() {
+        return precompileNanos;
+    }
+
+    public long getBytecodeGenerationNanos() {
+        return bytecodeGenerationNanos;
+    }
+
+    public long getGraalCompileNanos() {
+        return graalCompileNanos;
+    }
+
+    public long getDriverCompileNanos() {
+        return driverCompileNanos;
+    }
+
+    public long getKernelNanos() {
+        return kernelNanos;
+    }
+
+    public long getCopyInNanos() {
+        return copyInNanos;
+    }
+
+    public long getCopyOutNanos() {
+        return copyOutNanos;
+    }
+
+    public long getCopyInBytes() {
+        return copyInBytes;
+    }
+
+    public long getCopyOutBytes() {
+        return copyOutBytes;
+    }
+
+    public long getDispatchKernelNanos() {
+        return dispatchKernelNanos;
+    }
+
+    public long getDispatchTransferNanos() {
+        return dispatchTransferNanos;
+    }
+
+    /**
+     * Time spent launching kernels and transfers, as opposed to running them;
+     * {@code -1} if the profiler reported neither.
+     */
+    public long getDispatchOverheadNanos() {
+        if (dispatchKernelNanos < 0 && dispatchTransferNanos < 0) {
+            return -1;
+        }
+        return Math.max(dispatchKernelNanos, 0) + Math.max(dispatchTransferNanos, 0);
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * The device the graph ran on, taken from its first task.
+     */
+    public String getDevice() {
+        return tasks.isEmpty() ? "" : tasks.get(0).getDevice();
+    }
+
+    /**
+     * The profiler's figures for one task of the graph.
+     */
+    public static final class Task {
+        private final String name;
+        private final String method;
+        private final String backend;
+        private final String device;
+        private final String deviceId;
+        private final long kernelNanos;
+        private final long graalCompileNanos;
+        private final long driverCompileNanos;
+
+        private Task(String name, JsonObject task) {
+            this.name = name;
+            this.method = text(task, "METHOD");
+            this.backend = text(task, "BACKEND");
+            this.device = text(task, "DEVICE");
+            this.deviceId = text(task, "DEVICE_ID");
+            this.kernelNanos = number(task, "TASK_KERNEL_TIME");
+            this.graalCompileNanos = number(task, "TASK_COMPILE_GRAAL_TIME");
+            this.driverCompileNanos = number(task, "TASK_COMPILE_DRIVER_TIME");
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public String getBackend() {
+            return backend;
+        }
+
+        public String getDevice() {
+            return device;
+        }
+
+        public String getDeviceId() {
+            return deviceId;
+        }
+
+        public long getKernelNanos() {
+            return kernelNanos;
+        }
+
+        public long getGraalCompileNanos() {
+            return graalCompileNanos;
+        }
+
+        public long getDriverCompileNanos() {
+            return driverCompileNanos;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026, APT Group, Department of Computer Science,
+ *  The University of Manchester.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package uk.ac.manchester.beehive.tornado.plugins.dynamicInspection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A device reported by {@code tornado --devices}, addressed the way TornadoVM
+ * does: {@code <backend index>:<device index>}.
+ */
+public final class TornadoDevice {
+
+    private static final Pattern BACKEND = Pattern.compile("^\\s*Driver:\\s*(.+?)\\s*$");
+    private static final Pattern DEVICE = Pattern.compile("Tornado device=(\\d+):(\\d+)");
+
+    private final int backendIndex;
+    private final int deviceIndex;
+    private final String backend;
+    private final String name;
+
+    public TornadoDevice(int backendIndex, int deviceIndex, String backend, String name) {
+        this.backendIndex = backendIndex;
+        this.deviceIndex = deviceIndex;
+        this.backend = backend;
+        this.name = name;
+    }
+
+    /**
+     * Extracts the devices from the output of {@code tornado --devices}. Each
+     * device is announced by a {@code Tornado device=b:d} line, followed by a
+     * line describing it.
+     */
+    public static List<TornadoDevice> parse(String devicesOutput) {
+        List<TornadoDevice> devices = new ArrayList<>();
+        String[] lines = devicesOutput.split("\n");
+        String backend = "";
+        for (int i = 0; i < lines.length; i++) {
+            Matcher backendMatcher = BACKEND.matcher(lines[i]);
+            if (backendMatcher.matches()) {
+                backend = backendMatcher.group(1);
+                continue;
+            }
+            Matcher deviceMatcher = DEVICE.matcher(lines[i]);
+            if (!deviceMatcher.find()) {
+                continue;
+            }
+            String name = "";
+            for (int j = i + 1; j < lines.length && name.isEmpty(); j++) {
+                name = lines[j].strip().replaceAll("\\s+", " ");
+            }
+            devices.add(new TornadoDevice(Integer.parseInt(deviceMatcher.group(1)),
+                    Integer.parseInt(deviceMatcher.group(2)), backend, name));
+        }
+        return Collections.unmodifiableList(devices);
+    }
+
+    public int getBackendIndex() {
+        return backendIndex;
+    }
+
+    public int getDeviceIndex() {
+        return deviceIndex;
+    }
+
+    public String getBackend() {
+        return backend;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * The {@code b:d} identifier passed to generated harnesses.
+     */
+    public String getId() {
+        return backendIndex + ":" + deviceIndex;
+    }
+
+    @Override
+    public String toString() {
+        return getId() + " " + name;
+    }
+}
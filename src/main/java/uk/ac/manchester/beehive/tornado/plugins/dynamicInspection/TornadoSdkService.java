@@ -0,0 +1,429 @@
+/*
+ * Copyright (c) 2026, APT Group, Department of Computer Science,
+ *  The University of Manchester.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package uk.ac.manchester.beehive.tornado.plugins.dynamicInspection;
+
+import com.intellij.execution.ExecutionException;
+import com.intellij.execution.configurations.GeneralCommandLine;
+import com.intellij.execution.process.CapturingProcessHandler;
+import com.intellij.execution.process.ProcessOutput;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.projectRoots.Sdk;
+import com.intellij.openapi.roots.ProjectRootManager;
+import uk.ac.manchester.beehive.tornado.plugins.entity.EnvironmentVariable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * What the project's TornadoVM installation can do: its version, the JDK it
+ * was built against, and its backends and devices. Finding out means running
+ * {@code tornado --version} and {@code tornado --devices}, each a full JVM
+ * start-up, so a successful probe is kept until the installation changes: a
+ * different {@code TORNADOVM_HOME} or project JDK, or a {@code tornado}
+ * launcher with a different path or modification time. Failed probes are not
+ * kept, so fixing the installation takes effect on the next run. Callers
+ * asking while a probe of the same installation runs wait for its result
+ * rather than starting another.
+ * <p>
+ * The service also builds the {@code tornado} command line (executable and
+ * environment) used for every TornadoVM process the plugin starts.
+ * </p>
+ */
+@Service
+public final class TornadoSdkService {
+
+    private static final Logger LOG = Logger.getInstance(TornadoSdkService.class);
+
+    // Upper bound for a probe run without a progress indicator (project open).
+    private static final int PROBE_TIMEOUT_MS = 60_000;
+
+    // 'tornado --version' prints e.g. "version=1.1.1-dev-jdk21".
+    private static final Pattern TORNADO_JDK_PATTERN =
+            Pattern.compile("(?im)^\\s*version\\s*=\\s*\\S*-jdk(\\d+)");
+
+    // When 'tornado --version' itself rejects the current JDK, its stderr names the
+    // JDK it was built against, e.g.
+    //   "[ERROR] TornadoVM is only compatible with JDK version 25"
+    //   "TornadoVM supports only JDK version 25"
+    private static final Pattern TORNADO_REQUIRED_JDK_PATTERN =
+            Pattern.compile("(?im)(?:compatible with|supports only)\\s+JDK\\s+version\\s+(\\d+)");
+
+    private final Project project;
+
+    // Guards the fields below; never held while a probe runs.
+    private final Object lock = new Object();
+    private Capabilities cached;
+    private String cachedStamp;
+    private CompletableFuture<Capabilities> probing;
+    private String probingStamp;
+
+    public TornadoSdkService(Project project) {
+        this.project = project;
+    }
+
+    @NotNull
+    public static TornadoSdkService getInstance(Project project) {
+        return project.getService(TornadoSdkService.class);
+    }
+
+    /**
+     * Returns the capabilities of the current installation, probing it only
+     * if nothing is cached for it yet.
+     *
+     * @param indicator cancels the probe when cancelled, or {@code null} to
+     *                  bound it by a fixed timeout instead
+     * @throws ProcessCanceledException if {@code indicator} was cancelled
+     */
+    public Capabilities getCapabilities(@Nullable ProgressIndicator indicator) {
+        String stamp = installationStamp();
+        CompletableFuture<Capabilities> own;
+        CompletableFuture<Capabilities> other;
+        synchronized (lock) {
+            if (cached != null && stamp.equals(cachedStamp)) {
+                return cached;
+            }
+            if (probing != null && stamp.equals(probingStamp)) {
+                own = null;
+                other = probing;
+            } else {
+                own = probing = new CompletableFuture<>();
+                probingStamp = stamp;
+                other = null;
+            }
+        }
+        if (other != null) {
+            Capabilities capabilities = await(other, indicator);
+            // The probe we waited for was cancelled by its own caller: run ours.
+            return capabilities != null ? capabilities : getCapabilities(indicator);
+        }
+
+        Capabilities capabilities;
+        try {
+            capabilities = probe(indicator);
+        } catch (RuntimeException e) {
+            // Cancelled, usually: waiting callers then run their own probe.
+            synchronized (lock) {
+                if (probing == own) {
+                    probing = null;
+                    probingStamp = null;
+                }
+            }
+            own.complete(null);
+            throw e;
+        }
+        synchronized (lock) {
+            if (capabilities.isComplete()) {
+                cached = capabilities;
+                cachedStamp = stamp;
+            } else {
+                cached = null;
+                cachedStamp = null;
+            }
+            if (probing == own) {
+                probing = null;
+                probingStamp = null;
+            }
+        }
+        own.complete(capabilities);
+        return capabilities;
+    }
+
+    /**
+     * Waits for another caller's probe, or {@code null} if it did not finish.
+     */
+    private static Capabilities await(CompletableFuture<Capabilities> future, @Nullable ProgressIndicator indicator) {
+        while (true) {
+            if (indicator != null) {
+                indicator.checkCanceled();
+            }
+            try {
+                return future.get(100, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException ignore) {
+                // Check for cancellation again.
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ProcessCanceledException(e);
+            } catch (java.util.concurrent.ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Probes the installation on a pooled thread, so the first dynamic
+     * inspection of the session finds the result already cached.
+     */
+    public void probeInBackground() {
+        ApplicationManager.getApplication().executeOnPooledThread(() -> {
+            try {
+                getCapabilities(null);
+            } catch (RuntimeException e) {
+                LOG.info("Background TornadoVM probe failed", e);
+            }
+        });
+    }
+
+    /**
+     * A {@code tornado} command line with the executable resolved and the
+     * project's JDK and TornadoVM environment applied, without arguments.
+     */
+    @NotNull
+    public GeneralCommandLine newCommandLine() {
+        GeneralCommandLine commandLine = new GeneralCommandLine();
+        commandLine.withParentEnvironmentType(GeneralCommandLine.ParentEnvironmentType.CONSOLE);
+        // On Windows, explicitly use tornado.exe to avoid trying to execute the Unix shell script
+        commandLine.setExePath(resolveTornadoExe());
+        configureEnvironmentVariables(commandLine);
+        return commandLine;
+    }
+
+    private Capabilities probe(@Nullable ProgressIndicator indicator) {
+        ProcessOutput version;
+        try {
+            version = run("--version", indicator);
+        } catch (ExecutionException e) {
+            return Capabilities.launchFailure(e.getMessage());
+        }
+        String versionOutput = (version.getStdout() + "\n" + version.getStderr()).trim();
+        String versionLine = null;
+        Integer jdk = null;
+        Matcher matcher = TORNADO_JDK_PATTERN.matcher(versionOutput);
+        if (matcher.find()) {
+            try {
+                jdk = Integer.parseInt(matcher.group(1));
+                versionLine = matcher.group().strip();
+            } catch (NumberFormatException ignore) {
+                // Fall through to the required-JDK message below.
+            }
+        }
+        if (jdk == null) {
+            Matcher requiredJdk = TORNADO_REQUIRED_JDK_PATTERN.matcher(versionOutput);
+            if (requiredJdk.find()) {
+                try {
+                    jdk = Integer.parseInt(requiredJdk.group(1));
+                } catch (NumberFormatException ignore) {
+                    // Leave the JDK unknown.
+                }
+            }
+        }
+
+        ProcessOutput devices;
+        try {
+            devices = run("--devices", indicator);
+        } catch (ExecutionException e) {
+            devices = new ProcessOutput("", e.getMessage(), -1, false, false);
+        }
+        return new Capabilities(null, versionLine, jdk, versionOutput, version.getExitCode(),
+                devices.getExitCode(), devices.getStdout());
+    }
+
+    private ProcessOutput run(String argument, @Nullable ProgressIndicator indicator) throws ExecutionException {
+        GeneralCommandLine commandLine = newCommandLine();
+        commandLine.addParameter(argument);
+        CapturingProcessHandler handler = new CapturingProcessHandler(commandLine);
+        ProcessOutput output = indicator != null
+                ? handler.runProcessWithProgressIndicator(indicator)
+                : handler.runProcess(PROBE_TIMEOUT_MS);
+        if (output.isCancelled()) {
+            throw new ProcessCanceledException();
+        }
+        return output;
+    }
+
+    /**
+     * Identifies the installation a probe describes, including the project
+     * JDK the probe runs {@code tornado} with.
+     */
+    private String installationStamp() {
+        String exe = resolveTornadoExe();
+        File launcher = new File(exe);
+        Sdk projectSdk = ProjectRootManager.getInstance(project).getProjectSdk();
+        String javaHome = projectSdk != null ? projectSdk.getHomePath() : null;
+        return EnvironmentVariable.getTornadoSdk() + "|" + exe + "|" + (launcher.isFile() ? launcher.lastModified() : 0)
+                + "|" + javaHome;
+    }
+
+    private static boolean isWindows() {
+        return System.getProperty("os.name").toLowerCase().contains("win");
+    }
+
+    /**
+     * Resolves the {@code tornado} executable. Prefers an absolute path under
+     * {@code TORNADOVM_HOME/bin} (so the plugin works regardless of how the IDE
+     * was launched, since the JVM resolves a bare command name against the
+     * launching process's PATH rather than any PATH we set on the command line),
+     * and falls back to the bare executable name for a PATH lookup when the home
+     * is unknown or the binary is missing.
+     */
+    private static String resolveTornadoExe() {
+        String exe = isWindows() ? "tornado.exe" : "tornado";
+        String home = EnvironmentVariable.getTornadoSdk();
+        if (home != null && !home.isEmpty()) {
+            File candidate = new File(home, "bin" + File.separator + exe);
+            if (candidate.isFile()) {
+                return candidate.getAbsolutePath();
+            }
+        }
+        return exe;
+    }
+
+    private void configureEnvironmentVariables(GeneralCommandLine commandLine) {
+        Map<String, String> environment = commandLine.getEnvironment();
+
+        // Set JAVA_HOME
+        Sdk projectSdk = ProjectRootManager.getInstance(project).getProjectSdk();
+        String javaHome = projectSdk != null ? projectSdk.getHomePath() : null;
+        if (javaHome != null) {
+            environment.put("JAVA_HOME", javaHome);
+        }
+
+        // Set TORNADOVM_HOME and update PATH
+        String tornadoVmHome = EnvironmentVariable.getTornadoSdk();
+
+        if (tornadoVmHome != null) {
+            environment.put("TORNADOVM_HOME", tornadoVmHome);
+
+            // Add tornado/bin to PATH
+            String existingPath = environment.get("PATH");
+            if (existingPath == null) {
+                existingPath = System.getenv("PATH");
+            }
+
+            String tornadoBinPath = tornadoVmHome + File.separator + "bin";
+            String pathSeparator = File.pathSeparator;
+            String newPath = tornadoBinPath + pathSeparator + existingPath;
+            environment.put("PATH", newPath);
+        } else {
+            // Fallback: use parsed PATH from setvars.sh (Unix only)
+            String envPath = EnvironmentVariable.getPath();
+            if (envPath != null) {
+                environment.put("PATH", envPath);
+            }
+        }
+
+        // Set CMAKE_ROOT if available
+        String cmakeRoot = EnvironmentVariable.getCmakeRoot();
+        if (cmakeRoot != null) {
+            environment.put("CMAKE_ROOT", cmakeRoot);
+        }
+    }
+
+    /**
+     * The outcome of one probe of the installation.
+     */
+    public static final class Capabilities {
+        private final String launchError;
+        private final String versionLine;
+        private final Integer jdk;
+        private final String versionOutput;
+        private final int versionExitCode;
+        private final int devicesExitCode;
+        private final List<TornadoDevice> devices;
+
+        private Capabilities(String launchError, String versionLine, Integer jdk, String versionOutput,
+                             int versionExitCode, int devicesExitCode, String devicesOutput) {
+            this.launchError = launchError;
+            this.versionLine = versionLine;
+            this.jdk = jdk;
+            this.versionOutput = versionOutput;
+            this.versionExitCode = versionExitCode;
+            this.devicesExitCode = devicesExitCode;
+            this.devices = TornadoDevice.parse(devicesOutput);
+        }
+
+        private static Capabilities launchFailure(String error) {
+            return new Capabilities(error, null, null, "", -1, -1, "");
+        }
+
+        /**
+         * Whether both probes succeeded, which is what makes a result cacheable.
+         */
+        boolean isComplete() {
+            return versionLine != null && devicesExitCode == 0;
+        }
+
+        /**
+         * Why {@code tornado} could not be started at all, or {@code null}.
+         */
+        public String getLaunchError() {
+            return launchError;
+        }
+
+        /**
+         * The {@code version=...} line, or {@code null} if it was not reported.
+         */
+        public String getVersionLine() {
+            return versionLine;
+        }
+
+        /**
+         * The JDK feature version TornadoVM was built against, taken from the
+         * version line or from the error naming the JDK it requires, or
+         * {@code null} if neither was reported.
+         */
+        public Integer getJdk() {
+            return jdk;
+        }
+
+        public String getVersionOutput() {
+            return versionOutput;
+        }
+
+        public int getVersionExitCode() {
+            return versionExitCode;
+        }
+
+        /**
+         * Whether {@code tornado --devices} ran successfully, i.e. the
+         * runtime could initialise its backends.
+         */
+        public boolean isDevicesAvailable() {
+            return devicesExitCode == 0;
+        }
+
+        public List<TornadoDevice> getDevices() {
+            return devices;
+        }
+
+        /**
+         * Backend names in the order {@code tornado --devices} lists them.
+         */
+        public Set<String> getBackends() {
+            Set<String> backends = new LinkedHashSet<>();
+            for (TornadoDevice device : devices) {
+                backends.add(device.getBackend());
+            }
+            return backends;
+        }
+    }
+}
@@ -0,0 +1,328 @@
+/*
+ * Copyright (c) 2026, APT Group, Department of Computer Science,
+ *  The University of Manchester.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package uk.ac.manchester.beehive.tornado.plugins.dynamicInspection;
+
+import com.intellij.execution.ExecutionException;
+import com.intellij.execution.configurations.GeneralCommandLine;
+import com.intellij.execution.process.OSProcessHandler;
+import com.intellij.execution.process.OSProcessUtil;
+import com.intellij.execution.process.ProcessEvent;
+import com.intellij.execution.process.ProcessListener;
+import com.intellij.execution.process.ProcessOutput;
+import com.intellij.execution.process.ProcessOutputTypes;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Keeps one long-lived {@code tornado} JVM per project that runs generated
+ * harness classes on request, so repeated dynamic inspections skip the JVM
+ * boot, TornadoVM runtime initialisation, driver discovery and device context
+ * creation that a cold {@code tornado} launch pays every time.
+ * <p>
+ * The worker program ({@code /worker/TornadoInsightWorker.java}) is compiled
+ * on first use, launched through the same {@code tornado} command line as a
+ * cold run and connects back to a loopback socket. Any local process can
+ * connect to that socket, so the worker is given a random token in its
+ * environment and must send it first; other connections are dropped. Each
+ * request is loaded in a throw-away class loader inside the worker. If the
+ * worker dies, for example because a kernel crashed the JVM in native driver
+ * code, the failing request is reported with whatever the process printed and
+ * a fresh worker is started on the next request.
+ * </p>
+ */
+@Service
+public final class TornadoWorkerService implements Disposable {
+
+    private static final Logger LOG = Logger.getInstance(TornadoWorkerService.class);
+
+    private static final String WORKER_CLASS = "TornadoInsightWorker";
+    private static final String WORKER_RESOURCE = "/worker/" + WORKER_CLASS + ".java";
+
+    // The worker only uses long-standing JDK APIs, so one class file serves
+    // every JDK TornadoVM supports.
+    private static final int WORKER_RELEASE = 21;
+
+    // How long a freshly launched worker may take to connect back.
+    private static final int CONNECT_TIMEOUT_MS = 60_000;
+    private static final int ACCEPT_POLL_MS = 250;
+
+    // Must match TornadoInsightWorker.TOKEN_VARIABLE.
+    private static final String TOKEN_VARIABLE = "TORNADO_INSIGHT_WORKER_TOKEN";
+    private static final int TOKEN_BYTES = 32;
+
+    // How long an accepted connection may take to present the token.
+    private static final int TOKEN_TIMEOUT_MS = 5_000;
+
+    private static final SecureRandom random = new SecureRandom();
+
+    // How often a running request is checked for timeout and cancellation.
+    private static final int RESPONSE_POLL_MS = 20;
+
+    // Upper bound on raw process output kept per request (native driver
+    // messages bypass System.out/err and arrive on the process streams).
+    private static final int NATIVE_OUTPUT_LIMIT = 1024 * 1024;
+
+    private final Project project;
+    private final StringBuffer nativeOutput = new StringBuffer();
+
+    private OSProcessHandler processHandler;
+    private Socket socket;
+    private DataInputStream in;
+    private DataOutputStream out;
+    private String launchKey;
+
+    public TornadoWorkerService(Project project) {
+        this.project = project;
+    }
+
+    @NotNull
+    public static TornadoWorkerService getInstance(Project project) {
+        return project.getService(TornadoWorkerService.class);
+    }
+
+    /**
+     * Runs {@code mainClass} in the warm worker.
+     *
+     * @param launcher a fresh {@code tornado} command line (executable,
+     *                 environment and launcher flags, no program arguments);
+     *                 a worker started with a different launcher is replaced
+     * @param args     program arguments passed to {@code main}
+     * @param classes  class bytes of the harness keyed by binary name
+     * @param timeoutMillis how long the harness may run, or {@code 0} for no
+     *                      limit; on expiry the worker is killed
+     * @param cancelled polled while the harness runs; when it returns
+     *                  {@code true} the worker is killed
+     * @return the captured output; the exit code is 0 when {@code main}
+     *         returned normally and non-zero when it threw or the worker died.
+     *         A killed worker is reported through {@link ProcessOutput#isTimeout()}
+     *         or {@link ProcessOutput#isCancelled()}.
+     * @throws ExecutionException if no worker could be started, in which case
+     *                            the caller should fall back to a cold launch
+     */
+    public synchronized ProcessOutput run(GeneralCommandLine launcher, String mainClass, List<String> args,
+                                          Map<String, byte[]> classes, long timeoutMillis,
+                                          BooleanSupplier cancelled) throws ExecutionException {
+        ensureStarted(launcher);
+        nativeOutput.setLength(0);
+        try {
+            out.writeUTF(mainClass);
+            out.writeInt(args.size());
+            for (String arg : args) {
+                out.writeUTF(arg);
+            }
+            out.writeInt(classes.size());
+            for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue().length);
+                out.write(entry.getValue());
+            }
+            out.flush();
+
+            long deadline = System.currentTimeMillis() + timeoutMillis;
+            while (in.available() == 0) {
+                boolean timedOut = timeoutMillis > 0 && System.currentTimeMillis() > deadline;
+                boolean isCancelled = cancelled.getAsBoolean();
+                if (timedOut || isCancelled) {
+                    String partial = nativeOutput.toString();
+                    stop();
+                    return new ProcessOutput("", partial, -1, timedOut, isCancelled);
+                }
+                if (processHandler.isProcessTerminated()) {
+                    throw new IOException("worker exited");
+                }
+                Thread.sleep(RESPONSE_POLL_MS);
+            }
+
+            int status = in.readInt();
+            String stdout = readString(in);
+            String stderr = readString(in);
+            return new ProcessOutput(stdout, appendNativeOutput(stderr), status, false, false);
+        } catch (IOException e) {
+            LOG.warn("TornadoInsight worker died while running " + mainClass, e);
+            String crashOutput = "TornadoVM worker process terminated unexpectedly: " + e.getMessage()
+                    + "\n" + nativeOutput;
+            stop();
+            return new ProcessOutput("", crashOutput, -1, false, false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stop();
+            return new ProcessOutput("", "", -1, false, true);
+        }
+    }
+
+    private String appendNativeOutput(String stderr) {
+        String raw = nativeOutput.toString();
+        if (raw.isBlank()) {
+            return stderr;
+        }
+        return stderr.isEmpty() ? raw : stderr + "\n" + raw;
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void ensureStarted(GeneralCommandLine launcher) throws ExecutionException {
+        String key = launcher.getCommandLineString() + launcher.getEnvironment();
+        if (processHandler != null && !processHandler.isProcessTerminated() && key.equals(launchKey)) {
+            return;
+        }
+        stop();
+
+        File workerDir = compileWorker();
+        byte[] tokenBytes = new byte[TOKEN_BYTES];
+        random.nextBytes(tokenBytes);
+        String token = HexFormat.of().formatHex(tokenBytes);
+        try (ServerSocket server = new ServerSocket(0, 4, InetAddress.getLoopbackAddress())) {
+            server.setSoTimeout(ACCEPT_POLL_MS);
+            launcher.addParameters(List.of("-cp", workerDir.getAbsolutePath(), WORKER_CLASS,
+                    String.valueOf(server.getLocalPort())));
+            // Passed in the environment rather than as an argument, which
+            // other local users could read from the process list.
+            launcher.getEnvironment().put(TOKEN_VARIABLE, token);
+
+            processHandler = new OSProcessHandler(launcher);
+            processHandler.addProcessListener(new ProcessListener() {
+                @Override
+                public void onTextAvailable(@NotNull ProcessEvent event, @NotNull Key outputType) {
+                    if (outputType != ProcessOutputTypes.SYSTEM && nativeOutput.length() < NATIVE_OUTPUT_LIMIT) {
+                        nativeOutput.append(event.getText());
+                    }
+                }
+            });
+            processHandler.startNotify();
+
+            long deadline = System.currentTimeMillis() + CONNECT_TIMEOUT_MS;
+            while (socket == null) {
+                try {
+                    Socket candidate = server.accept();
+                    if (presentsToken(candidate, token)) {
+                        socket = candidate;
+                    } else {
+                        LOG.warn("Rejected a connection to the TornadoInsight worker port without the worker token");
+                        candidate.close();
+                    }
+                } catch (SocketTimeoutException e) {
+                    if (processHandler.isProcessTerminated() || System.currentTimeMillis() > deadline) {
+                        String output = nativeOutput.toString();
+                        stop();
+                        throw new ExecutionException("TornadoVM worker did not start:\n" + output);
+                    }
+                }
+            }
+            socket.setTcpNoDelay(true);
+            in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            launchKey = key;
+            LOG.info("Started TornadoInsight worker for project " + project.getName());
+        } catch (IOException e) {
+            stop();
+            throw new ExecutionException("Could not start the TornadoVM worker", e);
+        }
+    }
+
+    /**
+     * Whether the first thing sent on {@code candidate} is {@code token}.
+     */
+    private static boolean presentsToken(Socket candidate, String token) {
+        try {
+            candidate.setSoTimeout(TOKEN_TIMEOUT_MS);
+            String received = new DataInputStream(candidate.getInputStream()).readUTF();
+            candidate.setSoTimeout(0);
+            return MessageDigest.isEqual(received.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Compiles the bundled worker source below the IDE system directory.
+     */
+    private static File compileWorker() throws ExecutionException {
+        File workerDir = new File(PathManager.getSystemPath(), "tornadoinsight" + File.separator + "worker");
+        File source = new File(workerDir, WORKER_CLASS + ".java");
+        try (InputStream resource = TornadoWorkerService.class.getResourceAsStream(WORKER_RESOURCE)) {
+            if (resource == null) {
+                throw new ExecutionException("Worker source " + WORKER_RESOURCE + " is missing from the plugin");
+            }
+            Files.createDirectories(workerDir.toPath());
+            Files.copy(resource, source.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+            InProcessCompiler.Result result = InProcessCompiler.compile(List.of(source), "", WORKER_RELEASE, false);
+            if (!result.isSuccess()) {
+                throw new ExecutionException("Could not compile the TornadoVM worker: " + result.getDiagnostics());
+            }
+            result.writeClasses(workerDir);
+            return workerDir;
+        } catch (IOException | IllegalStateException e) {
+            throw new ExecutionException("Could not compile the TornadoVM worker", e);
+        }
+    }
+
+    private void stop() {
+        try {
+            if (socket != null) {
+                socket.close();
+            }
+        } catch (IOException ignore) {
+        }
+        if (processHandler != null && !processHandler.isProcessTerminated()) {
+            // 'tornado' is a launcher script; the worker JVM is its child.
+            OSProcessUtil.killProcessTree(processHandler.getProcess());
+            processHandler.destroyProcess();
+        }
+        socket = null;
+        in = null;
+        out = null;
+        processHandler = null;
+        launchKey = null;
+    }
+
+    @Override
+    public synchronized void dispose() {
+        stop();
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2026, APT Group, Department of Computer Science,
+ *  The University of Manchester.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package uk.ac.manchester.beehive.tornado.plugins.dynamicInspection;
+
+import com.intellij.psi.*;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.util.PsiUtil;
+import uk.ac.manchester.beehive.tornado.plugins.util.MessageBundle;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * How the harness built for each kernel moves its object parameters between
+ * host and device when it declares the TaskGraph itself. The defaults follow
+ * from how the kernel uses each parameter, as an application would set them
+ * up: inputs the kernel only reads are copied once
+ * ({@code FIRST_EXECUTION}), buffers it only writes are copied back but never
+ * sent, and buffers it both reads and writes go both ways on every execution.
+ * Parameters whose use cannot be followed (passed to a method without a
+ * body, aliased, or exposed through their memory segment) are treated as
+ * read and written.
+ */
+public final class TransferModes {
+
+    public enum Access {
+        NONE, READ, WRITE, READ_WRITE;
+
+        Access merge(Access other) {
+            if (this == NONE || this == other) {
+                return other;
+            }
+            return other == NONE ? this : READ_WRITE;
+        }
+    }
+
+    public enum ToDevice {
+        FIRST_EXECUTION("ui.dialog.transfers.toDevice.first"),
+        EVERY_EXECUTION("ui.dialog.transfers.toDevice.every"),
+        NONE("ui.dialog.transfers.toDevice.none");
+
+        private final String labelKey;
+
+        ToDevice(String labelKey) {
+            this.labelKey = labelKey;
+        }
+
+        @Override
+        public String toString() {
+            return MessageBundle.message(labelKey);
+        }
+    }
+
+    // Methods of the TornadoVM collection types that modify the receiver.
+    private static final Set<String> MUTATORS = Set.of("set", "init", "clear", "fill");
+
+    // Methods that hand out the receiver's storage, after which any access is possible.
+    private static final Set<String> ESCAPES = Set.of("getSegment", "getSegmentWithHeader");
+
+    private final Map<PsiMethod, List<Parameter>> kernels = new LinkedHashMap<>();
+
+    private TransferModes() {
+    }
+
+    /**
+     * Works out the default transfers of every object parameter of each kernel.
+     * Must be called with read access.
+     */
+    public static TransferModes analyze(List<PsiMethod> methods) {
+        TransferModes modes = new TransferModes();
+        for (PsiMethod method : methods) {
+            List<Parameter> parameters = new ArrayList<>();
+            for (PsiParameter parameter : method.getParameterList().getParameters()) {
+                if (!CodeGenerator.isParameterBoxedType(parameter)) {
+                    continue;
+                }
+                String type = parameter.getTypeElement() != null ? parameter.getTypeElement().getText() : parameter.getType().getPresentableText();
+                parameters.add(new Parameter(parameter.getName(), type, access(method, parameter, new HashSet<>())));
+            }
+            modes.kernels.put(method, parameters);
+        }
+        return modes;
+    }
+
+    /**
+     * The object parameters of {@code method} in declaration order, or an
+     * empty list for a kernel that was not analysed.
+     */
+    public List<Parameter> get(PsiMethod method) {
+        return kernels.getOrDefault(method, Collections.emptyList());
+    }
+
+    public Map<PsiMethod, List<Parameter>> getKernels() {
+        return kernels;
+    }
+
+    private static Access access(PsiMethod method, PsiParameter parameter, Set<PsiMethod> visiting) {
+        PsiCodeBlock body = method.getBody();
+        if (body == null || !visiting.add(method)) {
+            // Recursion is rejected by the static inspections; stay safe anyway.
+            return body == null ? Access.READ_WRITE : Access.NONE;
+        }
+        Access access = Access.NONE;
+        for (PsiReferenceExpression reference : PsiTreeUtil.findChildrenOfType(body, PsiReferenceExpression.class)) {
+            if (reference.isReferenceTo(parameter)) {
+                access = access.merge(accessAt(reference, visiting));
+                if (access == Access.READ_WRITE) {
+                    break;
+                }
+            }
+        }
+        visiting.remove(method);
+        return access;
+    }
+
+    private static Access accessAt(PsiReferenceExpression reference, Set<PsiMethod> visiting) {
+        PsiElement parent = PsiUtil.skipParenthesizedExprUp(reference.getParent());
+
+        // a[i] = ..., a[i][j] += ..., ... = a[i]
+        if (parent instanceof PsiArrayAccessExpression arrayAccess) {
+            PsiExpression element = arrayAccess;
+            while (PsiUtil.skipParenthesizedExprUp(element.getParent()) instanceof PsiArrayAccessExpression outer
+                    && PsiTreeUtil.isAncestor(outer.getArrayExpression(), element, false)) {
+                element = outer;
+            }
+            if (!PsiUtil.isAccessedForWriting(element)) {
+                return Access.READ;
+            }
+            return PsiUtil.isAccessedForReading(element) ? Access.READ_WRITE : Access.WRITE;
+        }
+
+        // a.set(i, v), a.get(i), a.getSize()
+        if (parent instanceof PsiReferenceExpression qualified
+                && qualified.getParent() instanceof PsiMethodCallExpression call) {
+            String name = qualified.getReferenceName();
+            if (name == null || ESCAPES.contains(name)) {
+                return Access.READ_WRITE;
+            }
+            return MUTATORS.contains(name) || name.startsWith("set") ? Access.WRITE : Access.READ;
+        }
+
+        // a.length
+        if (parent instanceof PsiReferenceExpression) {
+            return Access.READ;
+        }
+
+        // helper(a): follow the callee's parameter.
+        if (parent instanceof PsiExpressionList arguments
+                && arguments.getParent() instanceof PsiMethodCallExpression call) {
+            PsiMethod callee = call.resolveMethod();
+            int index = indexOf(arguments.getExpressions(), reference);
+            if (callee == null || callee.isVarArgs() || index < 0
+                    || index >= callee.getParameterList().getParametersCount()) {
+                return Access.READ_WRITE;
+            }
+            return access(callee, callee.getParameterList().getParameters()[index], visiting);
+        }
+
+        // Comparisons such as a == null only read the reference; anything
+        // else (assignment to a local, return, ...) creates an alias.
+        if (parent instanceof PsiBinaryExpression) {
+            return Access.READ;
+        }
+        return Access.READ_WRITE;
+    }
+
+    private static int indexOf(PsiExpression[] expressions, PsiExpression expression) {
+        for (int i = 0; i < expressions.length; i++) {
+            if (PsiTreeUtil.isAncestor(expressions[i], expression, false)) {
+                return PsiUtil.skipParenthesizedExprDown(expressions[i]) == expression ? i : -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The transfers of one object parameter; the directions start at the
+     * defaults for its access and can be overridden.
+     */
+    public static final class Parameter {
+        private final String name;
+        private final String type;
+        private final Access access;
+        private ToDevice toDevice;
+        private boolean toHost;
+
+        Parameter(String name, String type, Access access) {
+            this.name = name;
+            this.type = type;
+            this.access = access;
+            if ("KernelContext".equals(type)) {
+                // Not data; keep the transfers TornadoVM has always been given.
+                toDevice = ToDevice.EVERY_EXECUTION;
+                toHost = true;
+                return;
+            }
+            switch (access) {
+                case NONE, READ -> {
+                    toDevice = ToDevice.FIRST_EXECUTION;
+                    toHost = false;
+                }
+                case WRITE -> {
+                    toDevice = ToDevice.NONE;
+                    toHost = true;
+                }
+                case READ_WRITE -> {
+                    toDevice = ToDevice.EVERY_EXECUTION;
+                    toHost = true;
+                }
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public Access getAccess() {
+            return access;
+        }
+
+        public ToDevice getToDevice() {
+            return toDevice;
+        }
+
+        public void setToDevice(ToDevice toDevice) {
+            this.toDevice = toDevice;
+        }
+
+        public boolean isToHost() {
+            return toHost;
+        }
+
+        public void setToHost(boolean toHost) {
+            this.toHost = toHost;
+        }
+    }
+}
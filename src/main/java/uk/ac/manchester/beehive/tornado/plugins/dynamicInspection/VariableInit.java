@@ -22,8 +22,10 @@ import com.intellij.psi.PsiParameter;
 import uk.ac.manchester.beehive.tornado.plugins.ui.settings.TornadoSettingState;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
@@ -34,6 +36,38 @@ public class VariableInit {
 
     private static int parameterSize;
 
+    // Fixed seed so that an unchanged kernel always yields the same harness
+    // source, which is what the dynamic inspection result cache is keyed on.
+    private static final long VALUE_SEED = 0x7043A0D0L;
+
+    private static Random random = new Random(VALUE_SEED);
+
+    // Seeds of the dataset files loaded by the harness, one per array
+    // parameter in declaration order; null when inputs are generated inline.
+    private static Random datasetRandom;
+
+    private static InputDataset.Distribution datasetDistribution;
+
+    // Size used instead of the configured parameterSize while a size sweep
+    // generates its harnesses; 0 when no sweep is in progress.
+    private static int sizeOverride;
+
+    /**
+     * Makes subsequent harness generation size inputs for {@code size}
+     * elements instead of the configured parameter size, until
+     * {@link #clearSizeOverride()}. When a kernel takes a 2-D or 3-D input,
+     * every dimension (and the length of its 1-D inputs) is the square or cube
+     * root of {@code size}, so its largest input still has about {@code size}
+     * elements.
+     */
+    public static void setSizeOverride(int size) {
+        sizeOverride = size;
+    }
+
+    public static void clearSizeOverride() {
+        sizeOverride = 0;
+    }
+
     public static String variableInitHelper(@NotNull PsiMethod method) {
         return variableInitHelper(method, Collections.emptySet(), Collections.emptyMap());
     }
@@ -71,12 +105,23 @@ public class VariableInit {
     }
 
     private static void initializeSizes() {
-        parameterSize = TornadoSettingState.getInstance().parameterSize;
+        TornadoSettingState settings = TornadoSettingState.getInstance();
+        parameterSize = sizeOverride > 0 ? sizeOverride : settings.parameterSize;
+        random = new Random(VALUE_SEED);
+        datasetRandom = settings.datasetEnabled ? new Random(settings.datasetSeed) : null;
+        datasetDistribution = InputDataset.Distribution.fromName(settings.datasetDistribution);
     }
 
     private static String variableInit(@NotNull ArrayList<String> parametersName, ArrayList<String> parametersType,
                                        @NotNull Set<String> localMemoryParams,
                                        @NotNull Map<String, String> intParamOverrides){
+        if (sizeOverride > 0) {
+            parameterSize = switch (dimensions(parametersType)) {
+                case 3 -> Math.max(1, (int) Math.round(Math.cbrt(sizeOverride)));
+                case 2 -> Math.max(1, (int) Math.round(Math.sqrt(sizeOverride)));
+                default -> sizeOverride;
+            };
+        }
         StringBuilder returnString = new StringBuilder();
         int size = parametersName.size();
         for (int i = 0; i < size; i++) {
@@ -92,8 +137,28 @@ public class VariableInit {
         return returnString.toString();
     }
 
+    /**
+     * The highest number of dimensions among the given parameter types.
+     */
+    private static int dimensions(List<String> parametersType) {
+        int dimensions = 1;
+        for (String type : parametersType) {
+            if (type.startsWith("Matrix3D") || type.equals("Matrix")) {
+                return 3;
+            }
+            if (type.startsWith("Matrix2D") || type.startsWith("Image")) {
+                dimensions = 2;
+            }
+        }
+        return dimensions;
+    }
+
     private static String lookupBoxedTypes(String type, String name, int size, boolean constrainForLocalMemory,
                                            @NotNull Map<String, String> intParamOverrides){
+        String elementType = InputDataset.elementType(type);
+        if (datasetRandom != null && elementType != null) {
+            return datasetInit(type, name, elementType);
+        }
         return switch (type) {
             // Scalar int parameters either reuse a user-defined constant /
             // field that matches the parameter name (resolved upstream by
@@ -108,7 +173,7 @@ public class VariableInit {
             case "float" -> "=" + generateValueByType("Float") + ";";
             case "double" -> "=" + generateValueByType("Double") + ";";
             case "HalfFloat" -> "= new HalfFloat(" + generateValueByType("HalfFloat") + ");";
-            case "int[]", "float[]", "double[]", "byte[]" -> arrayInit(type);
+            case "int[]", "float[]", "double[]", "byte[]" -> arrayInit(type, name);
             case "Int2", "Int3", "Int4", "Int8", "Int16",
                     "Byte2", "Byte3", "Byte4", "Byte8",
                     "Double2", "Double3", "Double4", "Double8", "Double16",
@@ -149,17 +214,41 @@ public class VariableInit {
         };
     }
 
-    private static String arrayInit(String type){
+    /**
+     * Allocates a primitive array of {@code parameterSize} elements and fills
+     * it in the harness from a {@code Random} seeded here, so the source stays
+     * the same size whatever the problem size, never approaches the class-file
+     * limit on method size, and still yields the same data for an unchanged
+     * kernel.
+     */
+    private static String arrayInit(String type, String name){
         String primitive = type.split("\\[]")[0];
-        StringBuilder stringBuilder = new StringBuilder();
-        stringBuilder.append("={");
-        stringBuilder.append(generateValueByType(primitive));
-        for (int i = 0; i < parameterSize - 1; i++){
-            stringBuilder.append(",").append(generateValueByType(primitive));
-        }
-        stringBuilder.append("};");
-        return stringBuilder.toString();
+        String value = switch (primitive) {
+            case "int" -> "insightRandom.nextInt(50)";
+            case "float" -> "insightRandom.nextFloat(50)";
+            case "double" -> "insightRandom.nextDouble(50)";
+            case "byte" -> "(byte) insightRandom.nextInt(127)";
+            default -> "0";
+        };
+        return " = new " + primitive + "[" + parameterSize + "];" +
+                "{ java.util.Random insightRandom = new java.util.Random(" + random.nextLong() + "L);" +
+                "for (int i = 0; i < " + name + ".length; i++) { " + name + "[i] = " + value + "; } }";
+    }
+
+    /**
+     * Allocates an array parameter and loads it from a seeded dataset file
+     * with {@link InputDataset#LOADER_CODE}: TornadoVM arrays through their
+     * off-heap segment, primitive arrays through a heap segment.
+     */
+    private static String datasetInit(String type, String name, String elementType){
+        File dataset = InputDataset.getFile(elementType, parameterSize, datasetDistribution, datasetRandom.nextLong());
+        String path = dataset.getAbsolutePath().replace('\\', '/');
+        boolean primitive = type.endsWith("[]");
+        String allocation = primitive ? "new " + elementType + "[" + parameterSize + "]" : "new " + type + "(" + parameterSize + ")";
+        String segment = primitive ? "java.lang.foreign.MemorySegment.ofArray(" + name + ")" : name + ".getSegment()";
+        return " = " + allocation + "; insightLoad(\"" + path + "\", " + segment + ");";
     }
+
     private static String tupleInit(String type){
         String primitiveType = type.substring(0, type.length()-1);
         int size = type.charAt(type.length()-1) - '0';
@@ -219,7 +308,7 @@ public class VariableInit {
     }
 
     private static String generateValueByType(String type){
-        Random r = new Random();
+        Random r = random;
         return switch (type) {
             case "Int", "int", "Short", "short" -> "" + r.nextInt(50);
             case "Long", "long" -> "" + r.nextLong(50);
@@ -232,7 +321,7 @@ public class VariableInit {
     }
 
     private static String generateConstrainedInt() {
-        Random r = new Random();
+        Random r = random;
         return "" + (r.nextInt(LOCAL_MEMORY_PARAM_MAX) + 1);
     }
 
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2026, APT Group, Department of Computer Science,
+ *  The University of Manchester.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package uk.ac.manchester.beehive.tornado.plugins.headless;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import uk.ac.manchester.beehive.tornado.plugins.dynamicInspection.BenchmarkStatistics;
+import uk.ac.manchester.beehive.tornado.plugins.dynamicInspection.KernelMetricsService;
+import uk.ac.manchester.beehive.tornado.plugins.dynamicInspection.RegressionDetector;
+import uk.ac.manchester.beehive.tornado.plugins.dynamicInspection.TaskGraphProfile;
+import uk.ac.manchester.beehive.tornado.plugins.message.DynamicInspectionListener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * The machine-readable result of a headless run: the problems the static
+ * inspections found, and the outcome, timings and profiler figures of every
+ * kernel the dynamic inspection ran. Written as JSON; times are in
+ * nanoseconds unless a field name says otherwise.
+ */
+final class HeadlessReport implements DynamicInspectionListener {
+
+    private final JsonObject root = new JsonObject();
+    private final JsonArray problems = new JsonArray();
+    private final JsonArray files = new JsonArray();
+    private JsonObject currentFile;
+    private int failures;
+
+    HeadlessReport(String projectPath) {
+        root.addProperty("project", projectPath);
+        root.add("problems", problems);
+        root.add("files", files);
+    }
+
+    void setStaticTime(long staticTimeMs) {
+        root.addProperty("staticTimeMs", staticTimeMs);
+    }
+
+    void setWallTime(long wallTimeMs) {
+        root.addProperty("wallTimeMs", wallTimeMs);
+    }
+
+    /**
+     * Records a static inspection problem; only problems at error level make
+     * the run fail.
+     */
+    synchronized void addProblem(String file, int line, String inspection, String level, String description) {
+        JsonObject problem = new JsonObject();
+        problem.addProperty("file", file);
+        problem.addProperty("line", line);
+        problem.addProperty("inspection", inspection);
+        problem.addProperty("level", level);
+        problem.addProperty("description", description);
+        problems.add(problem);
+        if ("ERROR".equals(level)) {
+            failures++;
+        }
+    }
+
+    /**
+     * Starts the dynamic results of one source file; the kernels published
+     * until the next call belong to it.
+     */
+    synchronized void startFile(String file, List<String> skippedKernels) {
+        currentFile = new JsonObject();
+        currentFile.addProperty("file", file);
+        JsonArray skipped = new JsonArray();
+        skippedKernels.forEach(skipped::add);
+        currentFile.add("skipped", skipped);
+        currentFile.add("kernels", new JsonArray());
+        files.add(currentFile);
+    }
+
+    /**
+     * Attaches the profiler figures of the file's run to its kernels.
+     */
+    synchronized void finishFile(List<KernelMetricsService.Entry> metrics) {
+        if (currentFile == null) {
+            return;
+        }
+        for (KernelMetricsService.Entry entry : metrics) {
+            JsonObject kernel = findKernel(entry.kernel());
+            if (kernel == null) {
+                continue;
+            }
+            if (!kernel.has("profiles")) {
+                kernel.add("profiles", new JsonArray());
+            }
+            kernel.getAsJsonArray("profiles").add(toJson(entry.profile()));
+        }
+    }
+
+    @Override
+    public synchronized void kernelFinished(@NotNull String kernel, @NotNull Status status, @NotNull String detail,
+                               @Nullable BenchmarkStatistics statistics) {
+        if (currentFile == null) {
+            return;
+        }
+        JsonObject result = new JsonObject();
+        result.addProperty("kernel", kernel);
+        result.addProperty("status", status.name());
+        if (!detail.isEmpty()) {
+            result.addProperty("detail", detail);
+        }
+        if (statistics != null) {
+            JsonObject benchmark = new JsonObject();
+            benchmark.addProperty("iterations", statistics.getIterations());
+            for (BenchmarkStatistics.Metric metric : BenchmarkStatistics.Metric.values()) {
+                JsonObject figures = new JsonObject();
+                figures.addProperty("min", statistics.min(metric));
+                figures.addProperty("median", statistics.median(metric));
+                figures.addProperty("p95", statistics.p95(metric));
+                figures.addProperty("stddev", statistics.stddev(metric));
+                benchmark.add(metric.name().toLowerCase(), figures);
+            }
+            result.add("benchmark", benchmark);
+        }
+        currentFile.getAsJsonArray("kernels").add(result);
+        if (status != Status.PASSED && status != Status.UNSUPPORTED) {
+            failures++;
+        }
+    }
+
+    @Override
+    public synchronized void regressionDetected(@NotNull String kernel, @NotNull RegressionDetector.Regression regression) {
+        JsonObject figures = new JsonObject();
+        figures.addProperty("currentMean", regression.currentMean());
+        figures.addProperty("baselineMean", regression.baselineMean());
+        figures.addProperty("slowdownPercent", regression.slowdownPercent());
+        figures.addProperty("pValue", regression.pValue());
+        // History is recorded after the kernel's result was published.
+        JsonObject result = currentFile == null ? null : findKernel(kernel);
+        if (result != null) {
+            result.add("regression", figures);
+        }
+        failures++;
+    }
+
+    @Override
+    public synchronized void inspectionFinished(boolean completed, long runningTimeMs, long kernelTimeMs) {
+        if (currentFile == null) {
+            return;
+        }
+        currentFile.addProperty("completed", completed);
+        currentFile.addProperty("runningTimeMs", runningTimeMs);
+        currentFile.addProperty("kernelTimeMs", kernelTimeMs);
+        if (!completed) {
+            failures++;
+        }
+    }
+
+    /**
+     * Whether anything failed: a static error, a kernel that did not pass
+     * (other than one its device cannot run), a regression, or a dynamic
+     * inspection that could not run at all.
+     */
+    synchronized boolean hasFailures() {
+        return failures > 0;
+    }
+
+    synchronized void write(Path output) throws IOException {
+        root.addProperty("failed", hasFailures());
+        Files.writeString(output, new GsonBuilder().setPrettyPrinting().create().toJson(root), StandardCharsets.UTF_8);
+    }
+
+    private @Nullable JsonObject findKernel(String kernel) {
+        for (JsonElement element : currentFile.getAsJsonArray("kernels")) {
+            JsonObject result = element.getAsJsonObject();
+            if (result.get("kernel").getAsString().equals(kernel)) {
+                return result;
+            }
+        }
+        return null;
+    }
+
+    private static JsonObject toJson(TaskGraphProfile profile) {
+        JsonObject json = new JsonObject();
+        json.addProperty("taskGraph", profile.getName());
+        json.addProperty("device", profile.getDevice());
+        json.addProperty("kernel", profile.getKernelNanos());
+        json.addProperty("precompile", profile.getPrecompileNanos());
+        json.addProperty("graalCompile", profile.getGraalCompileNanos());
+        json.addProperty("driverCompile", profile.getDriverCompileNanos());
+        json.addProperty("copyIn", profile.getCopyInNanos());
+        json.addProperty("copyOut", profile.getCopyOutNanos());
+        json.addProperty("copyInBytes", profile.getCopyInBytes());
+        json.addProperty("copyOutBytes", profile.getCopyOutBytes());
+        json.addProperty("dispatchOverhead", profile.getDispatchOverheadNanos());
+        json.addProperty("total", profile.getTotalNanos());
+        return json;
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2026, APT Group, Department of Computer Science,
+ *  The University of Manchester.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package uk.ac.manchester.beehive.tornado.plugins.headless;
+
+import com.intellij.ide.impl.ProjectUtil;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ApplicationStarter;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectManager;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.messages.MessageBusConnection;
+import uk.ac.manchester.beehive.tornado.plugins.dynamicInspection.DynamicInspection;
+import uk.ac.manchester.beehive.tornado.plugins.dynamicInspection.KernelMetricsService;
+import uk.ac.manchester.beehive.tornado.plugins.inspector.CompatibilityReport;
+import uk.ac.manchester.beehive.tornado.plugins.inspector.CompatibilityScan;
+import uk.ac.manchester.beehive.tornado.plugins.message.DynamicInspectionListener;
+import uk.ac.manchester.beehive.tornado.plugins.util.TornadoKernelIndex;
+import uk.ac.manchester.beehive.tornado.plugins.util.TornadoTWTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Runs TornadoInsight without a UI, e.g. on a CI agent with a GPU:
+ * <pre>
+ * idea tornado-insight &lt;project-dir&gt; [--kernels name[,name...]] [--output report.json] [--sarif report.sarif]
+ *                       [--static-only] [--force]
+ * </pre>
+ * The project is opened and indexed, the plugin's static inspections run
+ * over every file that declares kernels, and then each file's kernels go
+ * through the dynamic inspection with the IDE's TornadoInsight settings, as
+ * if they had been selected in the TornadoVM tool window. Kernels with
+ * static errors are skipped by the dynamic inspection, as in the IDE.
+ * <p>
+ * The results are written as JSON (see {@link HeadlessReport}), by default to
+ * {@code tornado-insight-report.json} in the project directory; with
+ * {@code --sarif}, the static findings and per-kernel analysis times are
+ * also written as SARIF (see {@link CompatibilityReport}). The process
+ * exits with 0 when everything passed, 1 when a static error, a failing,
+ * timed-out, mismatching or regressed kernel was found, and 2 on a usage
+ * error or when the project could not be opened.
+ * </p>
+ */
+public final class TornadoInsightStarter implements ApplicationStarter {
+
+    private static final Logger LOG = Logger.getInstance(TornadoInsightStarter.class);
+
+    private static final String USAGE = "Usage: tornado-insight <project-dir> [--kernels name[,name...]] "
+            + "[--output report.json] [--sarif report.sarif] [--static-only] [--force]";
+
+    @Override
+    public int getRequiredModality() {
+        return NOT_IN_EDT;
+    }
+
+    @Override
+    public void main(@NotNull List<String> args) {
+        int exitCode;
+        try {
+            exitCode = run(args);
+        } catch (RuntimeException | IOException e) {
+            LOG.warn("Headless TornadoInsight run failed", e);
+            System.err.println("TornadoInsight failed: " + e);
+            exitCode = 2;
+        }
+        System.exit(exitCode);
+    }
+
+    private static int run(List<String> args) throws IOException {
+        // args[0] is the command name.
+        String projectDir = null;
+        String output = null;
+        String sarif = null;
+        Set<String> kernels = new LinkedHashSet<>();
+        boolean staticOnly = false;
+        boolean force = false;
+        for (int i = 1; i < args.size(); i++) {
+            String arg = args.get(i);
+            switch (arg) {
+                case "--kernels" -> {
+                    if (++i == args.size()) {
+                        return usage();
+                    }
+                    for (String kernel : args.get(i).split(",")) {
+                        if (!kernel.isBlank()) {
+                            kernels.add(kernel.strip());
+                        }
+                    }
+                }
+                case "--output" -> {
+                    if (++i == args.size()) {
+                        return usage();
+                    }
+                    output = args.get(i);
+                }
+                case "--sarif" -> {
+                    if (++i == args.size()) {
+                        return usage();
+                    }
+                    sarif = args.get(i);
+                }
+                case "--static-only" -> staticOnly = true;
+                case "--force" -> force = true;
+                default -> {
+                    if (arg.startsWith("--") || projectDir != null) {
+                        return usage();
+                    }
+                    projectDir = arg;
+                }
+            }
+        }
+        if (projectDir == null) {
+            return usage();
+        }
+
+        Path projectPath = Path.of(projectDir).toAbsolutePath().normalize();
+        Path outputPath = output != null ? Path.of(output).toAbsolutePath() : projectPath.resolve("tornado-insight-report.json");
+        Project project = ProjectUtil.openOrImport(projectPath, null, true);
+        if (project == null) {
+            System.err.println("Could not open the project at " + projectPath);
+            return 2;
+        }
+        try {
+            DumbService.getInstance(project).waitForSmartMode();
+            long start = System.currentTimeMillis();
+            HeadlessReport report = new HeadlessReport(projectPath.toString());
+            List<PsiFile> kernelFiles = ReadAction.compute(() -> findKernelFiles(project));
+            System.out.println("TornadoInsight: " + kernelFiles.size() + " file(s) with kernels");
+
+            long staticStart = System.currentTimeMillis();
+            List<CompatibilityScan.FileResult> staticResults = runStaticInspections(project, report);
+            long staticTimeMs = System.currentTimeMillis() - staticStart;
+            report.setStaticTime(staticTimeMs);
+            if (sarif != null) {
+                CompatibilityReport.write(Path.of(sarif).toAbsolutePath(), staticResults, staticTimeMs);
+            }
+
+            if (!staticOnly) {
+                runDynamicInspections(project, projectPath, kernelFiles, kernels, force, report);
+            }
+            report.setWallTime(System.currentTimeMillis() - start);
+            report.write(outputPath);
+            System.out.println("TornadoInsight: report written to " + outputPath
+                    + (report.hasFailures() ? " (failures found)" : ""));
+            return report.hasFailures() ? 1 : 0;
+        } finally {
+            ApplicationManager.getApplication().invokeAndWait(() -> ProjectManager.getInstance().closeAndDispose(project));
+        }
+    }
+
+    private static int usage() {
+        System.err.println(USAGE);
+        return 2;
+    }
+
+    private static List<PsiFile> findKernelFiles(Project project) {
+        List<PsiFile> files = new ArrayList<>();
+        PsiManager psiManager = PsiManager.getInstance(project);
+        for (VirtualFile virtualFile : TornadoKernelIndex.getKernelFiles(project, GlobalSearchScope.projectScope(project))) {
+            PsiFile file = psiManager.findFile(virtualFile);
+            if (file != null) {
+                files.add(file);
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Runs the plugin's own local inspections over the project's kernels.
+     * Besides reporting the problems, this records the kernels that have
+     * them, which the dynamic inspection then leaves out.
+     */
+    private static List<CompatibilityScan.FileResult> runStaticInspections(Project project, HeadlessReport report) {
+        ProgressIndicator indicator = new EmptyProgressIndicator();
+        List<CompatibilityScan.FileResult> results = ProgressManager.getInstance().runProcess(
+                () -> CompatibilityScan.run(project, GlobalSearchScope.projectScope(project), indicator), indicator);
+        for (CompatibilityScan.Problem problem : CompatibilityReport.distinctProblems(results)) {
+            report.addProblem(problem.file(), problem.line(), problem.inspection(), problem.level(), problem.description());
+        }
+        return results;
+    }
+
+    /**
+     * Runs each file's kernels through the dynamic inspection in turn. The
+     * pipeline works on the kernels of one file at a time, like the tool
+     * window, and in a headless application its background task runs to
+     * completion before {@link DynamicInspection#process} returns.
+     */
+    private static void runDynamicInspections(Project project, Path projectPath, List<PsiFile> files,
+                                              Set<String> kernels, boolean force, HeadlessReport report) {
+        MessageBusConnection connection = project.getMessageBus().connect();
+        connection.subscribe(DynamicInspectionListener.RESULTS_TOPIC, report);
+        try {
+            for (PsiFile file : files) {
+                ApplicationManager.getApplication().invokeAndWait(() -> {
+                    List<String> valid = TornadoTWTask.load(file);
+                    List<String> selected = new ArrayList<>();
+                    for (String task : valid) {
+                        if (kernels.isEmpty() || kernels.contains(task) || kernels.contains(methodName(task))) {
+                            selected.add(task);
+                        }
+                    }
+                    List<String> skipped = new ArrayList<>();
+                    for (PsiMethod method : TornadoTWTask.findSuitableMethods(file)) {
+                        String task = TornadoTWTask.psiMethodFormat(method);
+                        if (!valid.contains(task) && (kernels.isEmpty() || kernels.contains(method.getName()))) {
+                            skipped.add(task);
+                        }
+                    }
+                    if (selected.isEmpty() && skipped.isEmpty()) {
+                        return;
+                    }
+                    System.out.println("TornadoInsight: running " + selected.size() + " kernel(s) of "
+                            + relativePath(projectPath, file));
+                    report.startFile(relativePath(projectPath, file), skipped);
+                    if (!selected.isEmpty()) {
+                        DynamicInspection.process(project, selected, force);
+                    }
+                    report.finishFile(KernelMetricsService.getInstance(project).getMetrics());
+                });
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    /**
+     * The method name of a task's display name, e.g. {@code add} for
+     * {@code add(int[], int[]): void}.
+     */
+    private static String methodName(String task) {
+        int paren = task.indexOf('(');
+        return paren < 0 ? task : task.substring(0, paren);
+    }
+
+    private static String relativePath(Path projectPath, PsiFile file) {
+        VirtualFile virtualFile = file.getVirtualFile();
+        if (virtualFile == null) {
+            return file.getName();
+        }
+        Path path = Path.of(virtualFile.getPath());
+        return path.startsWith(projectPath) ? projectPath.relativize(path).toString() : path.toString();
+    }
+}
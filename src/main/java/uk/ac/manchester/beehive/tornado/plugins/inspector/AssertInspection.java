@@ -57,23 +57,17 @@ public class AssertInspection extends AbstractBaseJavaLocalInspectionTool {
                 PsiMethod kernelMethod = PsiTreeUtil.getParentOfType(annotation, PsiMethod.class);
                 if (kernelMethod == null) return;
 
-                KernelCallGraphAnalyzer.AnalysisScope scope =
-                        KernelCallGraphAnalyzer.resolve(kernelMethod);
+                KernelFacts facts = KernelFacts.of(kernelMethod);
+                KernelCallGraphAnalyzer.AnalysisScope scope = facts.getScope();
 
-                for (PsiMethod method : scope.getAnalyzableMethods()) {
-                    String context = KernelCallGraphAnalyzer.helperContext(method, kernelMethod);
-                    method.accept(new JavaRecursiveElementVisitor() {
-                        @Override
-                        public void visitAssertStatement(PsiAssertStatement statement) {
-                            super.visitAssertStatement(statement);
-                            PsiElement anchor = scope.anchorFor(statement, method, holder.getFile());
-                            if (anchor == null) return;
-                            ProblemMethods.getInstance().addMethod(holder.getProject(), holder.getFile(), kernelMethod);
-                            holder.registerProblem(anchor,
-                                    MessageBundle.message("inspection.assert") + context,
-                                    ProblemHighlightType.ERROR);
-                        }
-                    });
+                for (KernelFacts.Fact<PsiAssertStatement> statement : facts.getAssertStatements()) {
+                    String context = KernelCallGraphAnalyzer.helperContext(statement.method(), kernelMethod);
+                    PsiElement anchor = scope.anchorFor(statement.element(), statement.method(), holder.getFile());
+                    if (anchor == null) continue;
+                    ProblemMethods.getInstance().addMethod(holder.getProject(), holder.getFile(), kernelMethod);
+                    holder.registerProblem(anchor,
+                            MessageBundle.message("inspection.assert") + context,
+                            ProblemHighlightType.ERROR);
                 }
 
                 for (var entry : scope.getNonAnalyzableCallSites().entrySet()) {
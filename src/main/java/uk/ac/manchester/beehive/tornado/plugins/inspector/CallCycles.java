@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026, APT Group, Department of Computer Science,
+ *  The University of Manchester.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package uk.ac.manchester.beehive.tornado.plugins.inspector;
+
+import java.util.*;
+
+/**
+ * The cycles of a call graph, given as the callees of every method. The
+ * strongly connected components are numbered once, by Tarjan's algorithm,
+ * when the object is created; a call is on a cycle exactly when its caller
+ * and callee are in the same component.
+ *
+ * @param <T> the methods of the graph
+ */
+final class CallCycles<T> {
+
+    private final Map<T, Set<T>> graph;
+    private final Map<T, Integer> index = new HashMap<>();
+    private final Map<T, Integer> lowLink = new HashMap<>();
+    private final Deque<T> stack = new ArrayDeque<>();
+    private final Set<T> onStack = new HashSet<>();
+    private final Map<T, Integer> components = new HashMap<>();
+    private int componentCount;
+
+    /**
+     * @param graph the callees of every method; each callee must be a key too
+     */
+    CallCycles(Map<T, Set<T>> graph) {
+        this.graph = graph;
+        for (T method : graph.keySet()) {
+            if (!index.containsKey(method)) {
+                connect(method);
+            }
+        }
+    }
+
+    /**
+     * Whether the call from {@code caller} to {@code callee} lies on a cycle.
+     */
+    boolean isOnCycle(T caller, T callee) {
+        Integer component = components.get(caller);
+        return component != null && component.equals(components.get(callee));
+    }
+
+    /**
+     * The shortest cycle {@code caller -> callee -> ... -> caller}, starting
+     * with the caller, found by a breadth-first search from {@code callee}
+     * within their component. The call must be on a cycle.
+     */
+    List<T> shortestCycle(T caller, T callee) {
+        List<T> cycle = new ArrayList<>();
+        cycle.add(caller);
+        if (callee.equals(caller)) {
+            return cycle;
+        }
+        Integer component = components.get(caller);
+        Map<T, T> previous = new HashMap<>();
+        Deque<T> queue = new ArrayDeque<>();
+        previous.put(callee, callee);
+        queue.add(callee);
+        while (!queue.isEmpty() && !previous.containsKey(caller)) {
+            T method = queue.poll();
+            for (T next : graph.get(method)) {
+                if (component.equals(components.get(next)) && !previous.containsKey(next)) {
+                    previous.put(next, method);
+                    queue.add(next);
+                }
+            }
+        }
+        // Walk back from the caller's predecessor to the callee.
+        List<T> path = new ArrayList<>();
+        for (T method = previous.get(caller); method != null; method = previous.get(method)) {
+            path.add(method);
+            if (method.equals(callee)) {
+                break;
+            }
+        }
+        Collections.reverse(path);
+        cycle.addAll(path);
+        return cycle;
+    }
+
+    private void connect(T method) {
+        index.put(method, index.size());
+        lowLink.put(method, index.get(method));
+        stack.push(method);
+        onStack.add(method);
+        for (T callee : graph.get(method)) {
+            if (!index.containsKey(callee)) {
+                connect(callee);
+                lowLink.put(method, Math.min(lowLink.get(method), lowLink.get(callee)));
+            } else if (onStack.contains(callee)) {
+                lowLink.put(method, Math.min(lowLink.get(method), index.get(callee)));
+            }
+        }
+        if (lowLink.get(method).equals(index.get(method))) {
+            T member;
+            do {
+                member = stack.pop();
+                onStack.remove(member);
+                components.put(member, componentCount);
+            } while (!member.equals(method));
+            componentCount++;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2026, APT Group, Department of Computer Science,
+ *  The University of Manchester.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package uk.ac.manchester.beehive.tornado.plugins.inspector;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.intellij.codeInspection.LocalInspectionEP;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes the results of a {@link CompatibilityScan} as SARIF 2.1.0, for code
+ * scanning dashboards, or as plain JSON. Both carry every kernel with
+ * whether it is offload-ready and how long it took to inspect; SARIF keeps
+ * them in the run's property bag. Times are in nanoseconds unless a field
+ * name says otherwise.
+ */
+public final class CompatibilityReport {
+
+    public static final String SARIF_EXTENSION = "sarif";
+
+    private static final String SARIF_SCHEMA = "https://json.schemastore.org/sarif-2.1.0.json";
+
+    private static final String INFORMATION_URI = "https://github.com/beehive-lab/tornado-insight";
+
+    private CompatibilityReport() {
+    }
+
+    /**
+     * Writes the results to {@code output}, as SARIF if its name ends in
+     * {@code .sarif} and as JSON otherwise.
+     */
+    public static void write(@NotNull Path output, @NotNull List<CompatibilityScan.FileResult> results, long wallTimeMs)
+            throws IOException {
+        JsonObject report = output.getFileName().toString().endsWith("." + SARIF_EXTENSION)
+                ? toSarif(results, wallTimeMs)
+                : toJson(results, wallTimeMs);
+        Files.writeString(output, new GsonBuilder().setPrettyPrinting().create().toJson(report), StandardCharsets.UTF_8);
+    }
+
+    public static @NotNull JsonObject toJson(@NotNull List<CompatibilityScan.FileResult> results, long wallTimeMs) {
+        JsonObject root = new JsonObject();
+        root.addProperty("wallTimeMs", wallTimeMs);
+        root.add("kernels", kernels(results));
+        JsonArray problems = new JsonArray();
+        for (CompatibilityScan.Problem problem : distinctProblems(results)) {
+            JsonObject json = new JsonObject();
+            json.addProperty("file", problem.file());
+            json.addProperty("line", problem.line());
+            json.addProperty("inspection", problem.inspection());
+            json.addProperty("level", problem.level());
+            json.addProperty("description", problem.description());
+            problems.add(json);
+        }
+        root.add("problems", problems);
+        return root;
+    }
+
+    public static @NotNull JsonObject toSarif(@NotNull List<CompatibilityScan.FileResult> results, long wallTimeMs) {
+        JsonArray rules = new JsonArray();
+        for (LocalInspectionEP ep : CompatibilityScan.pluginInspections()) {
+            JsonObject rule = new JsonObject();
+            rule.addProperty("id", ep.getShortName());
+            rule.add("shortDescription", text(ep.getDisplayName() != null ? ep.getDisplayName() : ep.getShortName()));
+            JsonObject configuration = new JsonObject();
+            configuration.addProperty("level", sarifLevel(ep.level));
+            rule.add("defaultConfiguration", configuration);
+            rules.add(rule);
+        }
+        JsonObject driver = new JsonObject();
+        driver.addProperty("name", "TornadoInsight");
+        driver.addProperty("informationUri", INFORMATION_URI);
+        driver.add("rules", rules);
+        JsonObject tool = new JsonObject();
+        tool.add("driver", driver);
+
+        JsonArray sarifResults = new JsonArray();
+        for (CompatibilityScan.Problem problem : distinctProblems(results)) {
+            JsonObject region = new JsonObject();
+            region.addProperty("startLine", Math.max(problem.line(), 1));
+            JsonObject artifact = new JsonObject();
+            artifact.addProperty("uri", problem.file());
+            JsonObject physicalLocation = new JsonObject();
+            physicalLocation.add("artifactLocation", artifact);
+            physicalLocation.add("region", region);
+            JsonObject location = new JsonObject();
+            location.add("physicalLocation", physicalLocation);
+            JsonArray locations = new JsonArray();
+            locations.add(location);
+
+            JsonObject result = new JsonObject();
+            result.addProperty("ruleId", problem.inspection());
+            result.addProperty("level", sarifLevel(problem.level()));
+            result.add("message", text(problem.description()));
+            result.add("locations", locations);
+            sarifResults.add(result);
+        }
+
+        JsonObject properties = new JsonObject();
+        properties.addProperty("wallTimeMs", wallTimeMs);
+        properties.add("kernels", kernels(results));
+
+        JsonObject run = new JsonObject();
+        run.add("tool", tool);
+        run.add("results", sarifResults);
+        run.add("properties", properties);
+        JsonArray runs = new JsonArray();
+        runs.add(run);
+
+        JsonObject root = new JsonObject();
+        root.addProperty("$schema", SARIF_SCHEMA);
+        root.addProperty("version", "2.1.0");
+        root.add("runs", runs);
+        return root;
+    }
+
+    private static JsonArray kernels(List<CompatibilityScan.FileResult> results) {
+        JsonArray kernels = new JsonArray();
+        for (CompatibilityScan.FileResult file : results) {
+            for (CompatibilityScan.KernelResult kernel : file.kernels()) {
+                JsonObject json = new JsonObject();
+                json.addProperty("file", kernel.file());
+                json.addProperty("line", kernel.line());
+                json.addProperty("kernel", kernel.kernel());
+                json.addProperty("offloadReady", kernel.isOffloadReady());
+                json.addProperty("problems", kernel.problems().size());
+                json.addProperty("analysisTime", kernel.analysisNanos());
+                kernels.add(json);
+            }
+        }
+        return kernels;
+    }
+
+    /**
+     * Every problem once, although a helper's problems are found from each
+     * kernel that calls it.
+     */
+    public static @NotNull List<CompatibilityScan.Problem> distinctProblems(List<CompatibilityScan.FileResult> results) {
+        Set<CompatibilityScan.Problem> seen = new HashSet<>();
+        List<CompatibilityScan.Problem> problems = new ArrayList<>();
+        for (CompatibilityScan.FileResult file : results) {
+            for (CompatibilityScan.KernelResult kernel : file.kernels()) {
+                for (CompatibilityScan.Problem problem : kernel.problems()) {
+                    if (seen.add(problem)) {
+                        problems.add(problem);
+                    }
+                }
+            }
+            for (CompatibilityScan.Problem problem : file.problems()) {
+                if (seen.add(problem)) {
+                    problems.add(problem);
+                }
+            }
+        }
+        return problems;
+    }
+
+    private static String sarifLevel(String level) {
+        if (level == null) {
+            return "warning";
+        }
+        return switch (level) {
+            case "ERROR" -> "error";
+            case "WARNING", "WEAK WARNING" -> "warning";
+            default -> "note";
+        };
+    }
+
+    private static JsonObject text(String text) {
+        JsonObject message = new JsonObject();
+        message.addProperty("text", text);
+        return message;
+    }
+}
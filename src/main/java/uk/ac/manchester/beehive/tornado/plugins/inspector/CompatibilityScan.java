@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2026, APT Group, Department of Computer Science,
+ *  The University of Manchester.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package uk.ac.manchester.beehive.tornado.plugins.inspector;
+
+import com.intellij.codeInspection.InspectionManager;
+import com.intellij.codeInspection.LocalInspectionEP;
+import com.intellij.codeInspection.LocalInspectionTool;
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.codeInspection.ProblemDescriptorUtil;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.concurrency.JobLauncher;
+import com.intellij.lang.annotation.HighlightSeverity;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
+import com.intellij.psi.search.GlobalSearchScope;
+import uk.ac.manchester.beehive.tornado.plugins.util.TornadoKernelIndex;
+import uk.ac.manchester.beehive.tornado.plugins.util.TornadoTWTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Runs the plugin's own inspections over every kernel in a scope, without
+ * opening the files in an editor. Files are scanned concurrently, each in
+ * its own read action. Within a file every kernel is inspected, and timed,
+ * on its own, and the rest of the file (TaskGraph code, helpers) once
+ * afterwards.
+ * <p>
+ * Like an on-the-fly inspection, the scan records the kernels with problems
+ * in {@link uk.ac.manchester.beehive.tornado.plugins.entity.ProblemMethods},
+ * so the dynamic inspection leaves them out.
+ * </p>
+ */
+public final class CompatibilityScan {
+
+    private static final String PLUGIN_PACKAGE = "uk.ac.manchester.beehive.tornado.plugins.";
+
+    private CompatibilityScan() {
+    }
+
+    /**
+     * A problem an inspection reported.
+     *
+     * @param file the path of the file the problem is in, relative to the project if it is inside it
+     * @param line the 1-based line of the problem
+     */
+    public record Problem(String file, int line, String inspection, String level, String description) {
+
+        public boolean isError() {
+            return "ERROR".equals(level);
+        }
+    }
+
+    /**
+     * The inspection of one kernel.
+     *
+     * @param kernel        the kernel's display name, as the tool window shows it
+     * @param line          the 1-based line of the kernel's declaration
+     * @param problems      the problems found from the kernel, which may lie in the helpers it calls
+     * @param analysisNanos the time spent inspecting the kernel
+     */
+    public record KernelResult(String file, String kernel, int line, List<Problem> problems, long analysisNanos) {
+
+        /**
+         * Whether no inspection reported an error for the kernel.
+         */
+        public boolean isOffloadReady() {
+            return problems.stream().noneMatch(Problem::isError);
+        }
+    }
+
+    /**
+     * The inspection of one file.
+     *
+     * @param problems      the problems found outside the file's kernels
+     * @param analysisNanos the time spent inspecting the whole file
+     */
+    public record FileResult(String file, List<KernelResult> kernels, List<Problem> problems, long analysisNanos) {
+    }
+
+    /**
+     * The plugin's local inspections, as registered in {@code plugin.xml}.
+     */
+    public static @NotNull List<LocalInspectionEP> pluginInspections() {
+        List<LocalInspectionEP> inspections = new ArrayList<>();
+        for (LocalInspectionEP ep : LocalInspectionEP.LOCAL_INSPECTION.getExtensionList()) {
+            if (ep.implementationClass != null && ep.implementationClass.startsWith(PLUGIN_PACKAGE)) {
+                inspections.add(ep);
+            }
+        }
+        return inspections;
+    }
+
+    /**
+     * Scans every file in {@code scope} that the kernel index lists as
+     * declaring kernels, using all available cores. Waits for indexing to
+     * finish first.
+     *
+     * @return the results in the order the index listed the files
+     * @throws com.intellij.openapi.progress.ProcessCanceledException if {@code indicator} was cancelled
+     */
+    public static @NotNull List<FileResult> run(@NotNull Project project, @NotNull GlobalSearchScope scope,
+                                                @NotNull ProgressIndicator indicator) {
+        List<VirtualFile> files = ReadAction.nonBlocking(
+                        () -> List.copyOf(TornadoKernelIndex.getKernelFiles(project, scope)))
+                .inSmartMode(project)
+                .executeSynchronously();
+        List<LocalInspectionEP> inspections = pluginInspections();
+        String basePath = project.getBasePath();
+
+        FileResult[] results = new FileResult[files.size()];
+        AtomicInteger done = new AtomicInteger();
+        indicator.setIndeterminate(false);
+        indicator.setFraction(0);
+        boolean completed = JobLauncher.getInstance().invokeConcurrentlyUnderProgress(
+                IntStream.range(0, files.size()).boxed().toList(), indicator, i -> {
+                    results[i] = ReadAction.nonBlocking(() -> scanFile(project, basePath, files.get(i), inspections))
+                            .inSmartMode(project)
+                            .executeSynchronously();
+                    indicator.setText2(files.get(i).getName());
+                    indicator.setFraction((double) done.incrementAndGet() / files.size());
+                    return true;
+                });
+        if (!completed) {
+            indicator.checkCanceled();
+        }
+
+        List<FileResult> scanned = new ArrayList<>();
+        for (FileResult result : results) {
+            if (result != null) {
+                scanned.add(result);
+            }
+        }
+        return scanned;
+    }
+
+    private static @Nullable FileResult scanFile(Project project, @Nullable String basePath, VirtualFile virtualFile,
+                                                 List<LocalInspectionEP> inspections) {
+        PsiFile file = virtualFile.isValid() ? PsiManager.getInstance(project).findFile(virtualFile) : null;
+        if (file == null) {
+            return null;
+        }
+        long fileStart = System.nanoTime();
+        InspectionManager manager = InspectionManager.getInstance(project);
+        List<PsiMethod> kernels = TornadoTWTask.findSuitableMethods(file);
+        List<KernelResult> kernelResults = new ArrayList<>();
+        for (PsiMethod kernel : kernels) {
+            ProgressManager.checkCanceled();
+            long start = System.nanoTime();
+            List<Problem> problems = inspect(manager, basePath, file, kernel, Set.of(), inspections);
+            kernelResults.add(new KernelResult(relativePath(basePath, virtualFile), TornadoTWTask.psiMethodFormat(kernel),
+                    lineOf(file, kernel), problems, System.nanoTime() - start));
+        }
+        List<Problem> problems = inspect(manager, basePath, file, file, new HashSet<>(kernels), inspections);
+        return new FileResult(relativePath(basePath, virtualFile), kernelResults, problems, System.nanoTime() - fileStart);
+    }
+
+    /**
+     * Walks {@code root}, apart from the subtrees in {@code skipped}, once
+     * with the visitors of all inspections.
+     */
+    private static List<Problem> inspect(InspectionManager manager, @Nullable String basePath, PsiFile file,
+                                         PsiElement root, Set<? extends PsiElement> skipped,
+                                         List<LocalInspectionEP> inspections) {
+        List<ProblemsHolder> holders = new ArrayList<>();
+        List<PsiElementVisitor> visitors = new ArrayList<>();
+        for (LocalInspectionEP ep : inspections) {
+            LocalInspectionTool tool = (LocalInspectionTool) ep.instantiateTool();
+            ProblemsHolder holder = new ProblemsHolder(manager, file, false);
+            holders.add(holder);
+            visitors.add(tool.buildVisitor(holder, false));
+        }
+        root.accept(new PsiRecursiveElementWalkingVisitor() {
+            @Override
+            public void visitElement(@NotNull PsiElement element) {
+                if (skipped.contains(element)) {
+                    return;
+                }
+                ProgressManager.checkCanceled();
+                for (PsiElementVisitor visitor : visitors) {
+                    element.accept(visitor);
+                }
+                super.visitElement(element);
+            }
+        });
+
+        List<Problem> problems = new ArrayList<>();
+        for (int i = 0; i < inspections.size(); i++) {
+            LocalInspectionEP ep = inspections.get(i);
+            for (ProblemDescriptor problem : holders.get(i).getResults()) {
+                PsiElement element = problem.getPsiElement();
+                PsiFile problemFile = element != null ? element.getContainingFile() : file;
+                VirtualFile virtualFile = problemFile != null ? problemFile.getVirtualFile() : null;
+                problems.add(new Problem(virtualFile != null ? relativePath(basePath, virtualFile) : file.getName(),
+                        problem.getLineNumber() + 1, ep.getShortName(), level(problem, ep),
+                        ProblemDescriptorUtil.renderDescriptionMessage(problem, element)));
+            }
+        }
+        return problems;
+    }
+
+    /**
+     * The severity a problem is shown with. Inspections register unresolvable
+     * helpers and similar findings below their default level, so the level
+     * comes from the problem's highlight type; only a generic highlight type
+     * defers to the level the inspection is registered with.
+     */
+    private static String level(ProblemDescriptor problem, LocalInspectionEP ep) {
+        return switch (problem.getHighlightType()) {
+            case ERROR, GENERIC_ERROR, LIKE_UNKNOWN_SYMBOL -> HighlightSeverity.ERROR.getName();
+            case WEAK_WARNING -> HighlightSeverity.WEAK_WARNING.getName();
+            case INFORMATION -> HighlightSeverity.INFORMATION.getName();
+            case GENERIC_ERROR_OR_WARNING -> ep.level != null ? ep.level : HighlightSeverity.WARNING.getName();
+            default -> HighlightSeverity.WARNING.getName();
+        };
+    }
+
+    private static int lineOf(PsiFile file, PsiMethod method) {
+        PsiElement anchor = method.getNameIdentifier() != null ? method.getNameIdentifier() : method;
+        Document document = file.getViewProvider().getDocument();
+        return document != null ? document.getLineNumber(anchor.getTextOffset()) + 1 : 0;
+    }
+
+    /**
+     * The path of {@code file} relative to the project directory, with
+     * {@code /} separators, or its full path if it lies outside.
+     */
+    public static @NotNull String relativePath(@Nullable String basePath, @NotNull VirtualFile file) {
+        if (basePath == null) {
+            return file.getPath();
+        }
+        Path base = Path.of(basePath);
+        Path path = Path.of(file.getPath());
+        return path.startsWith(base) ? base.relativize(path).toString().replace('\\', '/') : file.getPath();
+    }
+}
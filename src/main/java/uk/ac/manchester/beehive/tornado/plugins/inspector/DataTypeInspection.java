@@ -59,30 +59,13 @@ public class DataTypeInspection extends AbstractBaseJavaLocalInspectionTool {
                 PsiMethod kernelMethod = PsiTreeUtil.getParentOfType(annotation, PsiMethod.class);
                 if (kernelMethod == null) return;
 
-                KernelCallGraphAnalyzer.AnalysisScope scope =
-                        KernelCallGraphAnalyzer.resolve(kernelMethod);
+                KernelFacts facts = KernelFacts.of(kernelMethod);
+                KernelCallGraphAnalyzer.AnalysisScope scope = facts.getScope();
 
-                for (PsiMethod method : scope.getAnalyzableMethods()) {
-                    String context = KernelCallGraphAnalyzer.helperContext(method, kernelMethod);
-                    method.accept(new JavaRecursiveElementVisitor() {
-                        @Override
-                        public void visitLocalVariable(PsiLocalVariable variable) {
-                            checkVariable(variable.getType(), variable, context,
-                                    scope.anchorFor(variable, method, holder.getFile()));
-                        }
-
-                        @Override
-                        public void visitField(PsiField field) {
-                            checkVariable(field.getType(), field, context,
-                                    scope.anchorFor(field, method, holder.getFile()));
-                        }
-
-                        @Override
-                        public void visitParameter(PsiParameter parameter) {
-                            checkVariable(parameter.getType(), parameter, context,
-                                    scope.anchorFor(parameter, method, holder.getFile()));
-                        }
-                    });
+                for (KernelFacts.Fact<PsiVariable> variable : facts.getVariables()) {
+                    String context = KernelCallGraphAnalyzer.helperContext(variable.method(), kernelMethod);
+                    checkVariable(variable.element().getType(), variable.element(), context,
+                            scope.anchorFor(variable.element(), variable.method(), holder.getFile()));
                 }
 
                 for (var entry : scope.getNonAnalyzableCallSites().entrySet()) {
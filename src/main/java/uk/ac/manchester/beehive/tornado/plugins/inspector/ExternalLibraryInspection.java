@@ -60,33 +60,25 @@ public class ExternalLibraryInspection extends AbstractBaseJavaLocalInspectionTo
                 PsiMethod kernelMethod = PsiTreeUtil.getParentOfType(annotation, PsiMethod.class);
                 if (kernelMethod == null) return;
 
-                KernelCallGraphAnalyzer.AnalysisScope scope =
-                        KernelCallGraphAnalyzer.resolve(kernelMethod);
+                KernelFacts facts = KernelFacts.of(kernelMethod);
+                KernelCallGraphAnalyzer.AnalysisScope scope = facts.getScope();
 
-                for (PsiMethod method : scope.getAnalyzableMethods()) {
-                    String context = KernelCallGraphAnalyzer.helperContext(method, kernelMethod);
-                    method.accept(new JavaRecursiveElementVisitor() {
-                        @Override
-                        public void visitMethodCallExpression(PsiMethodCallExpression expression) {
-                            super.visitMethodCallExpression(expression);
-                            if (expression.getMethodExpression().resolve() != null) {
-                                PsiMethod calledMethod = (PsiMethod) expression.getMethodExpression().resolve();
-                                if (calledMethod != null) {
-                                    String qualifiedName = Objects.requireNonNull(calledMethod.getContainingClass()).getQualifiedName();
-                                    if (qualifiedName != null && !qualifiedName.startsWith("java.") &&
-                                            !qualifiedName.startsWith("uk.ac.manchester.tornado") &&
-                                            !qualifiedName.startsWith("_Dummy_")) {
-                                        PsiElement anchor = scope.anchorFor(expression, method, holder.getFile());
-                                        if (anchor == null) return;
-                                        ProblemMethods.getInstance().addMethod(holder.getProject(), holder.getFile(), kernelMethod);
-                                        holder.registerProblem(anchor,
-                                                MessageBundle.message("inspection.externalLibrary") + context,
-                                                ProblemHighlightType.WARNING);
-                                    }
-                                }
-                            }
-                        }
-                    });
+                for (KernelFacts.Call call : facts.getCalls()) {
+                    if (!(call.expression() instanceof PsiMethodCallExpression expression)) continue;
+                    PsiMethod calledMethod = call.target();
+                    if (calledMethod == null) continue;
+                    String qualifiedName = Objects.requireNonNull(calledMethod.getContainingClass()).getQualifiedName();
+                    if (qualifiedName != null && !qualifiedName.startsWith("java.") &&
+                            !qualifiedName.startsWith("uk.ac.manchester.tornado") &&
+                            !qualifiedName.startsWith("_Dummy_")) {
+                        PsiElement anchor = scope.anchorFor(expression, call.method(), holder.getFile());
+                        if (anchor == null) continue;
+                        String context = KernelCallGraphAnalyzer.helperContext(call.method(), kernelMethod);
+                        ProblemMethods.getInstance().addMethod(holder.getProject(), holder.getFile(), kernelMethod);
+                        holder.registerProblem(anchor,
+                                MessageBundle.message("inspection.externalLibrary") + context,
+                                ProblemHighlightType.WARNING);
+                    }
                 }
 
                 for (var entry : scope.getNonAnalyzableCallSites().entrySet()) {
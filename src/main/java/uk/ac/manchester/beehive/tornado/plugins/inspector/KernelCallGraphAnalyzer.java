@@ -40,9 +40,13 @@ import java.util.*;
  * non-analyzable.
  * </p>
  * <p>
- * Results are cached per kernel method and invalidated automatically when
- * any PSI modification occurs, ensuring consistency without redundant work
- * when multiple inspections analyze the same kernel.
+ * Results are cached per kernel method, so multiple inspections analyzing the
+ * same kernel share them. A result only depends on the files it was built
+ * from: the kernel's file, the files of its helpers and of the project
+ * methods it could not inline, and the project's source roots. Edits
+ * anywhere else keep it. Only a scope with a call that does not resolve
+ * depends on every PSI modification, since a declaration added anywhere
+ * could make that call resolve.
  * </p>
  */
 public final class KernelCallGraphAnalyzer {
@@ -56,13 +60,25 @@ public final class KernelCallGraphAnalyzer {
         private final List<PsiMethod> analyzableMethods;
         private final Map<PsiMethodCallExpression, String> nonAnalyzableCallSites;
         private final Map<PsiMethod, PsiMethodCallExpression> rootCallSites;
+        private final Object[] dependencies;
 
         AnalysisScope(List<PsiMethod> analyzableMethods,
                       Map<PsiMethodCallExpression, String> nonAnalyzableCallSites,
-                      Map<PsiMethod, PsiMethodCallExpression> rootCallSites) {
+                      Map<PsiMethod, PsiMethodCallExpression> rootCallSites,
+                      Collection<Object> dependencies) {
             this.analyzableMethods = Collections.unmodifiableList(analyzableMethods);
             this.nonAnalyzableCallSites = Collections.unmodifiableMap(nonAnalyzableCallSites);
             this.rootCallSites = Collections.unmodifiableMap(rootCallSites);
+            this.dependencies = dependencies.toArray();
+        }
+
+        /**
+         * What this scope was built from, as {@link CachedValueProvider.Result}
+         * dependencies: results derived from the scope's method bodies stay
+         * valid for as long as these do not change.
+         */
+        public Object[] getDependencies() {
+            return dependencies.clone();
         }
 
         /**
@@ -106,7 +122,7 @@ public final class KernelCallGraphAnalyzer {
     /**
      * Build the full analysis scope for a kernel method by resolving
      * all transitive helper method calls. Results are cached per kernel
-     * method and invalidated on any PSI modification.
+     * method and invalidated when a file they depend on changes.
      *
      * @param kernelMethod the {@code @Parallel}/{@code @Reduce}/KernelContext method
      * @return the analysis scope containing all inlineable method bodies
@@ -115,8 +131,7 @@ public final class KernelCallGraphAnalyzer {
     public static AnalysisScope resolve(PsiMethod kernelMethod) {
         return CachedValuesManager.getCachedValue(kernelMethod, () -> {
             AnalysisScope scope = doResolve(kernelMethod);
-            return CachedValueProvider.Result.create(
-                    scope, PsiModificationTracker.MODIFICATION_COUNT);
+            return CachedValueProvider.Result.create(scope, scope.getDependencies());
         });
     }
 
@@ -125,13 +140,28 @@ public final class KernelCallGraphAnalyzer {
         Map<PsiMethodCallExpression, String> nonAnalyzable = new LinkedHashMap<>();
         Map<PsiMethod, PsiMethodCallExpression> rootCallSites = new HashMap<>();
         Set<PsiMethod> visited = new HashSet<>();
+        Set<Object> dependencies = new LinkedHashSet<>();
 
         analyzable.add(kernelMethod);
         visited.add(kernelMethod);
         collectTransitiveCallees(kernelMethod, kernelMethod.getContainingFile(), null,
-                visited, analyzable, nonAnalyzable, rootCallSites, 0);
+                visited, analyzable, nonAnalyzable, rootCallSites, dependencies, 0);
+
+        for (PsiMethod method : analyzable) {
+            addFileDependency(dependencies, method);
+        }
+        // Which files count as project sources decides what is inlined.
+        dependencies.add(ProjectRootManager.getInstance(kernelMethod.getProject()));
+
+        return new AnalysisScope(analyzable, nonAnalyzable, rootCallSites, dependencies);
+    }
 
-        return new AnalysisScope(analyzable, nonAnalyzable, rootCallSites);
+    private static void addFileDependency(Set<Object> dependencies, PsiMethod method) {
+        PsiFile file = method.getContainingFile();
+        // Compiled library classes only change with the project's roots.
+        if (file != null && file.isPhysical() && !(file instanceof PsiCompiledElement)) {
+            dependencies.add(file);
+        }
     }
 
     private static void collectTransitiveCallees(
@@ -142,6 +172,7 @@ public final class KernelCallGraphAnalyzer {
             List<PsiMethod> analyzable,
             Map<PsiMethodCallExpression, String> nonAnalyzable,
             Map<PsiMethod, PsiMethodCallExpression> rootCallSites,
+            Set<Object> dependencies,
             int depth) {
 
         if (depth >= MAX_INLINE_DEPTH) return;
@@ -161,6 +192,7 @@ public final class KernelCallGraphAnalyzer {
 
             PsiMethod resolved = callExpr.resolveMethod();
             if (resolved == null) {
+                dependencies.add(PsiModificationTracker.MODIFICATION_COUNT);
                 if (site != null) {
                     nonAnalyzable.putIfAbsent(site,
                             "could not resolve call '" + callExpr.getText()
@@ -173,8 +205,12 @@ public final class KernelCallGraphAnalyzer {
 
             String ineligibilityReason = checkEligibility(resolved);
             if (ineligibilityReason != null) {
-                if (isUserProjectMethod(resolved) && site != null) {
-                    nonAnalyzable.putIfAbsent(site, ineligibilityReason);
+                if (isUserProjectMethod(resolved)) {
+                    // Editing it may make it eligible.
+                    addFileDependency(dependencies, resolved);
+                    if (site != null) {
+                        nonAnalyzable.putIfAbsent(site, ineligibilityReason);
+                    }
                 }
                 continue;
             }
@@ -183,7 +219,7 @@ public final class KernelCallGraphAnalyzer {
             analyzable.add(resolved);
             rootCallSites.put(resolved, site);
             collectTransitiveCallees(resolved, kernelFile, site,
-                    visited, analyzable, nonAnalyzable, rootCallSites, depth + 1);
+                    visited, analyzable, nonAnalyzable, rootCallSites, dependencies, depth + 1);
         }
     }
 
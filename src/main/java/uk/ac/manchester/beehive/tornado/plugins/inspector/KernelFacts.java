@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2026, APT Group, Department of Computer Science,
+ *  The University of Manchester.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package uk.ac.manchester.beehive.tornado.plugins.inspector;
+
+import com.intellij.psi.*;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+
+import java.util.*;
+
+/**
+ * What the inspections need to know about one kernel, collected in a single
+ * walk over the kernel and every helper in its
+ * {@link KernelCallGraphAnalyzer.AnalysisScope}: the variables it declares,
+ * the calls it makes and the throw, try and assert statements it contains.
+ * Each fact records the analyzable method it was found in, so inspections
+ * can anchor and describe problems found in helpers.
+ * <p>
+ * Like the scope, the facts are cached per kernel method and depend on the
+ * same files, so the inspections that run on a highlighting pass share one
+ * walk instead of each visiting the whole scope again, and edits outside the
+ * kernel's files keep it.
+ * </p>
+ */
+public final class KernelFacts {
+
+    /**
+     * An element found in {@code method}, one of the scope's analyzable methods.
+     */
+    public record Fact<T extends PsiElement>(T element, PsiMethod method) {
+    }
+
+    /**
+     * A call or {@code new} expression found in {@code method}, with the
+     * method it resolves to, or {@code null} if it does not resolve.
+     */
+    public record Call(PsiCallExpression expression, PsiMethod target, PsiMethod method) {
+    }
+
+    private final KernelCallGraphAnalyzer.AnalysisScope scope;
+    private final List<Fact<PsiVariable>> variables = new ArrayList<>();
+    private final List<Call> calls = new ArrayList<>();
+    private final List<Fact<PsiThrowStatement>> throwStatements = new ArrayList<>();
+    private final List<Fact<PsiTryStatement>> tryStatements = new ArrayList<>();
+    private final List<Fact<PsiAssertStatement>> assertStatements = new ArrayList<>();
+    private List<RecursiveCall> recursiveCalls;
+
+    private KernelFacts(PsiMethod kernelMethod) {
+        this.scope = KernelCallGraphAnalyzer.resolve(kernelMethod);
+        for (PsiMethod method : scope.getAnalyzableMethods()) {
+            method.accept(new JavaRecursiveElementVisitor() {
+                // Variables inside another variable's initializer (e.g. in a
+                // lambda or anonymous class) are not listed.
+                private int enclosingVariables;
+
+                @Override
+                public void visitLocalVariable(PsiLocalVariable variable) {
+                    addVariable(variable, () -> super.visitLocalVariable(variable));
+                }
+
+                @Override
+                public void visitField(PsiField field) {
+                    addVariable(field, () -> super.visitField(field));
+                }
+
+                @Override
+                public void visitParameter(PsiParameter parameter) {
+                    addVariable(parameter, () -> super.visitParameter(parameter));
+                }
+
+                private void addVariable(PsiVariable variable, Runnable visitChildren) {
+                    if (enclosingVariables == 0) {
+                        variables.add(new Fact<>(variable, method));
+                    }
+                    enclosingVariables++;
+                    try {
+                        visitChildren.run();
+                    } finally {
+                        enclosingVariables--;
+                    }
+                }
+
+                @Override
+                public void visitCallExpression(PsiCallExpression callExpression) {
+                    super.visitCallExpression(callExpression);
+                    calls.add(new Call(callExpression, callExpression.resolveMethod(), method));
+                }
+
+                @Override
+                public void visitThrowStatement(PsiThrowStatement statement) {
+                    super.visitThrowStatement(statement);
+                    throwStatements.add(new Fact<>(statement, method));
+                }
+
+                @Override
+                public void visitTryStatement(PsiTryStatement statement) {
+                    super.visitTryStatement(statement);
+                    tryStatements.add(new Fact<>(statement, method));
+                }
+
+                @Override
+                public void visitAssertStatement(PsiAssertStatement statement) {
+                    super.visitAssertStatement(statement);
+                    assertStatements.add(new Fact<>(statement, method));
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns the facts of a kernel method, collecting them on first use
+     * after a change to one of the files its scope depends on.
+     *
+     * @param kernelMethod the {@code @Parallel}/{@code @Reduce}/KernelContext method
+     */
+    public static KernelFacts of(PsiMethod kernelMethod) {
+        return CachedValuesManager.getCachedValue(kernelMethod, () -> {
+            KernelFacts facts = new KernelFacts(kernelMethod);
+            return CachedValueProvider.Result.create(facts, facts.scope.getDependencies());
+        });
+    }
+
+    public KernelCallGraphAnalyzer.AnalysisScope getScope() {
+        return scope;
+    }
+
+    /**
+     * Local variables, parameters and fields of local or anonymous classes,
+     * except those declared inside another variable's initializer.
+     */
+    public List<Fact<PsiVariable>> getVariables() {
+        return Collections.unmodifiableList(variables);
+    }
+
+    /**
+     * Method calls, constructor calls and enum constant initialisations.
+     */
+    public List<Call> getCalls() {
+        return Collections.unmodifiableList(calls);
+    }
+
+    public List<Fact<PsiThrowStatement>> getThrowStatements() {
+        return Collections.unmodifiableList(throwStatements);
+    }
+
+    public List<Fact<PsiTryStatement>> getTryStatements() {
+        return Collections.unmodifiableList(tryStatements);
+    }
+
+    public List<Fact<PsiAssertStatement>> getAssertStatements() {
+        return Collections.unmodifiableList(assertStatements);
+    }
+
+    /**
+     * The calls that lie on a cycle of calls among the scope's analyzable
+     * methods, each with the shortest cycle through it. The cycles are found
+     * with one pass of Tarjan's strongly connected components algorithm over
+     * the scope's call graph, see {@link CallCycles}. The result is worked
+     * out on first use and kept with the facts.
+     */
+    public synchronized List<RecursiveCall> getRecursiveCalls() {
+        if (recursiveCalls == null) {
+            recursiveCalls = Collections.unmodifiableList(findRecursiveCalls());
+        }
+        return recursiveCalls;
+    }
+
+    private List<RecursiveCall> findRecursiveCalls() {
+        Map<PsiMethod, Set<PsiMethod>> graph = new LinkedHashMap<>();
+        for (PsiMethod method : scope.getAnalyzableMethods()) {
+            graph.put(method, new LinkedHashSet<>());
+        }
+        List<Call> edges = new ArrayList<>();
+        for (Call call : calls) {
+            if (call.target() != null && graph.containsKey(call.target()) && graph.containsKey(call.method())) {
+                graph.get(call.method()).add(call.target());
+                edges.add(call);
+            }
+        }
+
+        CallCycles<PsiMethod> cycles = new CallCycles<>(graph);
+        List<RecursiveCall> recursive = new ArrayList<>();
+        for (Call call : edges) {
+            if (cycles.isOnCycle(call.method(), call.target())) {
+                recursive.add(new RecursiveCall(call, cycles.shortestCycle(call.method(), call.target())));
+            }
+        }
+        return recursive;
+    }
+
+    /**
+     * A call on a cycle of calls.
+     *
+     * @param cycle the methods of the shortest cycle through the call, starting
+     *              with the calling method; the last one calls the first again
+     */
+    public record RecursiveCall(Call call, List<PsiMethod> cycle) {
+    }
+}
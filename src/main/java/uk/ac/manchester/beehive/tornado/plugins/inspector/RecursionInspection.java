@@ -26,8 +26,7 @@ import uk.ac.manchester.beehive.tornado.plugins.entity.ProblemMethods;
 import uk.ac.manchester.beehive.tornado.plugins.util.MessageBundle;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.List;
 
 /**
  * The `RecursionInspection` class checks for recursive calls within methods
@@ -37,7 +36,8 @@ import java.util.Set;
  * calls. Any detected recursive call will be highlighted as an error in the IDE.</p>
  *
  * <p>The inspection follows method calls across class boundaries, analyzing all
- * helper methods that TornadoVM would inline at runtime.</p>
+ * helper methods that TornadoVM would inline at runtime. Every call on a cycle
+ * is reported together with the cycle it closes.</p>
  */
 public class RecursionInspection extends AbstractBaseJavaLocalInspectionTool {
 
@@ -61,14 +61,10 @@ public class RecursionInspection extends AbstractBaseJavaLocalInspectionTool {
                 PsiMethod kernelMethod = PsiTreeUtil.getParentOfType(annotation, PsiMethod.class);
                 if (kernelMethod == null) return;
 
-                KernelCallGraphAnalyzer.AnalysisScope scope =
-                        KernelCallGraphAnalyzer.resolve(kernelMethod);
+                KernelFacts facts = KernelFacts.of(kernelMethod);
+                checkRecursion(kernelMethod, facts);
 
-                for (PsiMethod method : scope.getAnalyzableMethods()) {
-                    checkRecursion(method, kernelMethod, scope);
-                }
-
-                for (var entry : scope.getNonAnalyzableCallSites().entrySet()) {
+                for (var entry : facts.getScope().getNonAnalyzableCallSites().entrySet()) {
                     holder.registerProblem(entry.getKey(),
                             MessageBundle.message("inspection.helper.unresolvable")
                                     + ": " + entry.getValue(),
@@ -83,14 +79,10 @@ public class RecursionInspection extends AbstractBaseJavaLocalInspectionTool {
                 for (PsiParameter parameter : method.getParameterList().getParameters()) {
                     PsiType type = parameter.getType();
                     if (type.getCanonicalText().endsWith("KernelContext")) {
-                        KernelCallGraphAnalyzer.AnalysisScope scope =
-                                KernelCallGraphAnalyzer.resolve(method);
-
-                        for (PsiMethod m : scope.getAnalyzableMethods()) {
-                            checkRecursion(m, method, scope);
-                        }
+                        KernelFacts facts = KernelFacts.of(method);
+                        checkRecursion(method, facts);
 
-                        for (var entry : scope.getNonAnalyzableCallSites().entrySet()) {
+                        for (var entry : facts.getScope().getNonAnalyzableCallSites().entrySet()) {
                             holder.registerProblem(entry.getKey(),
                                     MessageBundle.message("inspection.helper.unresolvable")
                                             + ": " + entry.getValue(),
@@ -101,60 +93,40 @@ public class RecursionInspection extends AbstractBaseJavaLocalInspectionTool {
                 }
             }
 
-            private void checkRecursion(PsiMethod method, PsiMethod kernelMethod,
-                                        KernelCallGraphAnalyzer.AnalysisScope scope) {
-                String context = KernelCallGraphAnalyzer.helperContext(method, kernelMethod);
-                method.accept(new JavaRecursiveElementVisitor() {
-                    @Override
-                    public void visitCallExpression(PsiCallExpression callExpression) {
-                        super.visitCallExpression(callExpression);
-                        PsiMethod calledMethod = callExpression.resolveMethod();
-                        Set<PsiMethod> visited = new HashSet<>();
-                        if (isRecursive(calledMethod, visited)) {
-                            if (calledMethod == null) return;
-                            // Prefer highlighting the recursive method declaration;
-                            // fall back to the call site when it is in another file.
-                            PsiElement anchor = scope.anchorFor(calledMethod, method, holder.getFile());
-                            if (anchor == null) {
-                                anchor = scope.anchorFor(callExpression, method, holder.getFile());
-                            }
-                            if (anchor == null) return;
-                            ProblemMethods.getInstance().addMethod(holder.getProject(), holder.getFile(), kernelMethod);
-                            holder.registerProblem(
-                                    anchor,
-                                    MessageBundle.message("inspection.recursion") + context,
-                                    ProblemHighlightType.ERROR);
-                        }
-                    }
-                });
+            private void checkRecursion(PsiMethod kernelMethod, KernelFacts facts) {
+                KernelCallGraphAnalyzer.AnalysisScope scope = facts.getScope();
+                for (KernelFacts.RecursiveCall recursiveCall : facts.getRecursiveCalls()) {
+                    KernelFacts.Call call = recursiveCall.call();
+                    String context = KernelCallGraphAnalyzer.helperContext(call.method(), kernelMethod);
+                    // The call site, or the call in this file leading to the
+                    // helper that makes it.
+                    PsiElement anchor = scope.anchorFor(call.expression(), call.method(), holder.getFile());
+                    if (anchor == null) continue;
+                    ProblemMethods.getInstance().addMethod(holder.getProject(), holder.getFile(), kernelMethod);
+                    holder.registerProblem(
+                            anchor,
+                            MessageBundle.message("inspection.recursion") + context + " "
+                                    + MessageBundle.message("inspection.recursion.cycle") + " "
+                                    + cyclePath(recursiveCall.cycle()),
+                            ProblemHighlightType.ERROR);
+                }
             }
         };
     }
 
     /**
-     * The method detects whether the input method has a recursive call.
-     * It traverses the input method's body and adds the method call into the set.
-     * If the same method is added to the set again, it indicates a recursive call.
-     *
-     * @param method  The input method to be checked.
-     * @param visited A set that stores the method call chain.
-     * @return a boolean value that indicates if the input method has a recursive call.
+     * Formats a cycle as {@code A.f -> B.g -> A.f}.
      */
-    private boolean isRecursive(PsiMethod method, Set<PsiMethod> visited) {
-        if (!visited.add(method)) {
-            return true;
-        }
-        if (method == null) return false;
-        PsiCodeBlock body = method.getBody();
-        if (body != null) {
-            for (PsiMethodCallExpression call : PsiTreeUtil.findChildrenOfType(body, PsiMethodCallExpression.class)) {
-                PsiMethod calledMethod = call.resolveMethod();
-                if (calledMethod != null && isRecursive(calledMethod, visited)) {
-                    return true;
-                }
-            }
+    private static String cyclePath(List<PsiMethod> cycle) {
+        StringBuilder path = new StringBuilder();
+        for (PsiMethod method : cycle) {
+            path.append(qualifiedName(method)).append(" -> ");
         }
-        visited.remove(method);
-        return false;
+        return path.append(qualifiedName(cycle.get(0))).toString();
+    }
+
+    private static String qualifiedName(PsiMethod method) {
+        PsiClass cls = method.getContainingClass();
+        return (cls != null ? cls.getName() : "?") + "." + method.getName();
     }
 }
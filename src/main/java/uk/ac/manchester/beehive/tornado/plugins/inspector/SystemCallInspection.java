@@ -62,36 +62,31 @@ public class SystemCallInspection extends AbstractBaseJavaLocalInspectionTool {
                 PsiMethod kernelMethod = PsiTreeUtil.getParentOfType(annotation, PsiMethod.class);
                 if (kernelMethod == null) return;
 
-                KernelCallGraphAnalyzer.AnalysisScope scope =
-                        KernelCallGraphAnalyzer.resolve(kernelMethod);
+                KernelFacts facts = KernelFacts.of(kernelMethod);
+                KernelCallGraphAnalyzer.AnalysisScope scope = facts.getScope();
 
-                for (PsiMethod method : scope.getAnalyzableMethods()) {
-                    String context = KernelCallGraphAnalyzer.helperContext(method, kernelMethod);
-                    method.accept(new JavaRecursiveElementVisitor() {
-                        @Override
-                        public void visitMethodCallExpression(PsiMethodCallExpression expression) {
-                            super.visitMethodCallExpression(expression);
-                            PsiMethod calledMethod = expression.resolveMethod();
-                            PsiElement anchor = scope.anchorFor(expression, method, holder.getFile());
-                            if (anchor == null) return;
-                            if (calledMethod != null && calledMethod.hasModifierProperty(PsiModifier.NATIVE)) {
-                                ProblemMethods.getInstance().addMethod(holder.getProject(), holder.getFile(), kernelMethod);
-                                holder.registerProblem(anchor,
-                                        MessageBundle.message("inspection.nativeCall") + context,
-                                        ProblemHighlightType.ERROR);
-                            }
-                            if (calledMethod == null) return;
-                            String className = Objects.requireNonNull(calledMethod.getContainingClass()).getQualifiedName();
+                for (KernelFacts.Call call : facts.getCalls()) {
+                    if (!(call.expression() instanceof PsiMethodCallExpression expression)) continue;
+                    String context = KernelCallGraphAnalyzer.helperContext(call.method(), kernelMethod);
+                    PsiMethod calledMethod = call.target();
+                    PsiElement anchor = scope.anchorFor(expression, call.method(), holder.getFile());
+                    if (anchor == null) continue;
+                    if (calledMethod != null && calledMethod.hasModifierProperty(PsiModifier.NATIVE)) {
+                        ProblemMethods.getInstance().addMethod(holder.getProject(), holder.getFile(), kernelMethod);
+                        holder.registerProblem(anchor,
+                                MessageBundle.message("inspection.nativeCall") + context,
+                                ProblemHighlightType.ERROR);
+                    }
+                    if (calledMethod == null) continue;
+                    String className = Objects.requireNonNull(calledMethod.getContainingClass()).getQualifiedName();
 
-                            assert className != null;
-                            if (RestrictedClasses.isRestrictedClass(className)) {
-                                ProblemMethods.getInstance().addMethod(holder.getProject(), holder.getFile(), kernelMethod);
-                                holder.registerProblem(anchor,
-                                        MessageBundle.message("inspection.external") + context,
-                                        ProblemHighlightType.ERROR);
-                            }
-                        }
-                    });
+                    assert className != null;
+                    if (RestrictedClasses.isRestrictedClass(className)) {
+                        ProblemMethods.getInstance().addMethod(holder.getProject(), holder.getFile(), kernelMethod);
+                        holder.registerProblem(anchor,
+                                MessageBundle.message("inspection.external") + context,
+                                ProblemHighlightType.ERROR);
+                    }
                 }
 
                 for (var entry : scope.getNonAnalyzableCallSites().entrySet()) {
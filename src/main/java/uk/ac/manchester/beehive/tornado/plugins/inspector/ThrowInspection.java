@@ -63,14 +63,10 @@ public class ThrowInspection extends AbstractBaseJavaLocalInspectionTool {
                 PsiMethod kernelMethod = PsiTreeUtil.getParentOfType(annotation, PsiMethod.class);
                 if (kernelMethod == null) return;
 
-                KernelCallGraphAnalyzer.AnalysisScope scope =
-                        KernelCallGraphAnalyzer.resolve(kernelMethod);
+                KernelFacts facts = KernelFacts.of(kernelMethod);
+                checkThrow(kernelMethod, facts);
 
-                for (PsiMethod method : scope.getAnalyzableMethods()) {
-                    checkThrow(method, kernelMethod, scope);
-                }
-
-                for (var entry : scope.getNonAnalyzableCallSites().entrySet()) {
+                for (var entry : facts.getScope().getNonAnalyzableCallSites().entrySet()) {
                     holder.registerProblem(entry.getKey(),
                             MessageBundle.message("inspection.helper.unresolvable")
                                     + ": " + entry.getValue(),
@@ -85,14 +81,10 @@ public class ThrowInspection extends AbstractBaseJavaLocalInspectionTool {
                 for (PsiParameter parameter : method.getParameterList().getParameters()) {
                     PsiType type = parameter.getType();
                     if (type.getCanonicalText().endsWith("KernelContext")) {
-                        KernelCallGraphAnalyzer.AnalysisScope scope =
-                                KernelCallGraphAnalyzer.resolve(method);
-
-                        for (PsiMethod m : scope.getAnalyzableMethods()) {
-                            checkThrow(m, method, scope);
-                        }
+                        KernelFacts facts = KernelFacts.of(method);
+                        checkThrow(method, facts);
 
-                        for (var entry : scope.getNonAnalyzableCallSites().entrySet()) {
+                        for (var entry : facts.getScope().getNonAnalyzableCallSites().entrySet()) {
                             holder.registerProblem(entry.getKey(),
                                     MessageBundle.message("inspection.helper.unresolvable")
                                             + ": " + entry.getValue(),
@@ -103,35 +95,36 @@ public class ThrowInspection extends AbstractBaseJavaLocalInspectionTool {
                 }
             }
 
-            private void checkThrow(PsiMethod method, PsiMethod kernelMethod,
-                                    KernelCallGraphAnalyzer.AnalysisScope scope) {
-                String context = KernelCallGraphAnalyzer.helperContext(method, kernelMethod);
-                method.accept(new JavaRecursiveElementVisitor() {
-                    @Override
-                    public void visitThrowStatement(PsiThrowStatement statement) {
-                        super.visitThrowStatement(statement);
-                        if (!reportedStatement.contains(statement)) {
-                            PsiElement anchor = scope.anchorFor(statement, method, holder.getFile());
-                            if (anchor == null) return;
-                            ProblemMethods.getInstance().addMethod(holder.getProject(), holder.getFile(), kernelMethod);
-                            holder.registerProblem(anchor,
-                                    MessageBundle.message("inspection.traps.throw") + context,
-                                    ProblemHighlightType.ERROR);
-                            reportedStatement.add(statement);
-                        }
-                    }
-                    @Override
-                    public void visitTryStatement(PsiTryStatement statement) {
-                        super.visitTryStatement(statement);
-                        PsiElement anchor = scope.anchorFor(statement, method, holder.getFile());
-                        if (anchor == null) return;
-                        ProblemMethods.getInstance().addMethod(holder.getProject(), holder.getFile(), kernelMethod);
-                        holder.registerProblem(anchor,
-                                MessageBundle.message("inspection.traps.tryCatch") + context,
-                                ProblemHighlightType.ERROR);
-                    }
-                });
+            private void checkThrow(PsiMethod kernelMethod, KernelFacts facts) {
+                KernelCallGraphAnalyzer.AnalysisScope scope = facts.getScope();
+                for (KernelFacts.Fact<PsiThrowStatement> statement : facts.getThrowStatements()) {
+                    if (reportedStatement.contains(statement.element())) continue;
+                    PsiElement anchor = scope.anchorFor(statement.element(), statement.method(), holder.getFile());
+                    if (anchor == null) continue;
+                    ProblemMethods.getInstance().addMethod(holder.getProject(), holder.getFile(), kernelMethod);
+                    holder.registerProblem(anchor,
+                            MessageBundle.message("inspection.traps.throw")
+                                    + KernelCallGraphAnalyzer.helperContext(statement.method(), kernelMethod),
+                            ProblemHighlightType.ERROR);
+                    reportedStatement.add(statement.element());
+                }
+                for (KernelFacts.Fact<PsiTryStatement> statement : facts.getTryStatements()) {
+                    PsiElement anchor = scope.anchorFor(statement.element(), statement.method(), holder.getFile());
+                    if (anchor == null) continue;
+                    ProblemMethods.getInstance().addMethod(holder.getProject(), holder.getFile(), kernelMethod);
+                    holder.registerProblem(anchor,
+                            MessageBundle.message("inspection.traps.tryCatch")
+                                    + KernelCallGraphAnalyzer.helperContext(statement.method(), kernelMethod),
+                            ProblemHighlightType.ERROR);
+                }
+                for (PsiMethod method : scope.getAnalyzableMethods()) {
+                    checkThrowsList(method, kernelMethod, scope);
+                }
+            }
 
+            private void checkThrowsList(PsiMethod method, PsiMethod kernelMethod,
+                                         KernelCallGraphAnalyzer.AnalysisScope scope) {
+                String context = KernelCallGraphAnalyzer.helperContext(method, kernelMethod);
                 // Checking the method signature for thrown exceptions
                 if (!reportedMethod.contains(method)) {
                     for (PsiClassType exception : method.getThrowsList().getReferencedTypes()) {
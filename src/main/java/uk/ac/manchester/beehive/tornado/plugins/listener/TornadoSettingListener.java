@@ -27,6 +27,7 @@ import com.intellij.openapi.project.Project;
 import com.intellij.openapi.startup.ProjectActivity;
 import kotlin.coroutines.Continuation;
 import org.jetbrains.annotations.NotNull;
+import uk.ac.manchester.beehive.tornado.plugins.dynamicInspection.TornadoSdkService;
 import uk.ac.manchester.beehive.tornado.plugins.ui.settings.TornadoSettingState;
 
 import java.util.concurrent.CompletableFuture;
@@ -63,6 +64,8 @@ public class TornadoSettingListener implements ProjectActivity {
             Notifications.Bus.notify(notification, project);
         } else {
             settingState.isValid = true;
+            // Probe the installation now so the first dynamic inspection does not pay for it.
+            TornadoSdkService.getInstance(project).probeInBackground();
         }
 
         return CompletableFuture.completedFuture(null);
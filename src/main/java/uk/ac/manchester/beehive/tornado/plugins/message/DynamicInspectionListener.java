@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2026, APT Group, Department of Computer Science,
+ *  The University of Manchester.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package uk.ac.manchester.beehive.tornado.plugins.message;
+
+import com.intellij.util.messages.Topic;
+import uk.ac.manchester.beehive.tornado.plugins.dynamicInspection.BenchmarkStatistics;
+import uk.ac.manchester.beehive.tornado.plugins.dynamicInspection.RegressionDetector;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The outcome of each kernel of a dynamic inspection, published as the
+ * kernels finish. Kernels are named like the console reports them: the
+ * formatted method, qualified by problem size and device where needed.
+ */
+public interface DynamicInspectionListener {
+    @Topic.ProjectLevel
+    Topic<DynamicInspectionListener> RESULTS_TOPIC =
+            Topic.create("Tornado dynamic inspection results", DynamicInspectionListener.class);
+
+    enum Status {
+        PASSED,
+        FAILED,
+        UNSUPPORTED,
+        MISMATCH,
+        TIMEOUT,
+        COMPILE_ERROR
+    }
+
+    /**
+     * @param detail     the diagnostic of a kernel that did not pass, or an
+     *                   empty string
+     * @param statistics the benchmark-mode timings of a kernel that ran, if
+     *                   benchmarking was enabled
+     */
+    void kernelFinished(@NotNull String kernel, @NotNull Status status, @NotNull String detail,
+                        @Nullable BenchmarkStatistics statistics);
+
+    default void regressionDetected(@NotNull String kernel, @NotNull RegressionDetector.Regression regression) {
+    }
+
+    /**
+     * @param completed whether any kernel was run; {@code false} when the
+     *                  inspection was refused (no JDK, no TornadoVM) or failed
+     *                  before running anything
+     */
+    void inspectionFinished(boolean completed, long runningTimeMs, long kernelTimeMs);
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026, APT Group, Department of Computer Science,
+ *  The University of Manchester.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package uk.ac.manchester.beehive.tornado.plugins.service;
+
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.fileChooser.FileChooserFactory;
+import com.intellij.openapi.fileChooser.FileSaverDescriptor;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileWrapper;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.GlobalSearchScopesCore;
+import uk.ac.manchester.beehive.tornado.plugins.inspector.CompatibilityReport;
+import uk.ac.manchester.beehive.tornado.plugins.inspector.CompatibilityScan;
+import uk.ac.manchester.beehive.tornado.plugins.util.MessageBundle;
+import uk.ac.manchester.beehive.tornado.plugins.util.MessageUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scans every kernel of the project, or of the files and directories
+ * selected in the project view, for TornadoVM compatibility in the
+ * background, summarises the result in the console and offers to export it
+ * as SARIF or JSON.
+ */
+public class CompatibilityScanAction extends AnAction {
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        if (project == null) {
+            return;
+        }
+        GlobalSearchScope scope = scope(project, e.getData(CommonDataKeys.VIRTUAL_FILE_ARRAY));
+        ProgressManager.getInstance().run(new Task.Backgroundable(project,
+                MessageBundle.message("ui.action.scan.progress"), true) {
+            private List<CompatibilityScan.FileResult> results;
+            private long wallTimeMs;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                long start = System.currentTimeMillis();
+                results = CompatibilityScan.run(project, scope, indicator);
+                wallTimeMs = System.currentTimeMillis() - start;
+            }
+
+            @Override
+            public void onSuccess() {
+                report(project, results, wallTimeMs);
+            }
+
+            @Override
+            public void onCancel() {
+                MessageUtils.getInstance(project).showWarnMsg(MessageBundle.message("ui.action.scan.title"),
+                        MessageBundle.message("ui.action.scan.cancelled"));
+            }
+        });
+    }
+
+    /**
+     * The selected files and directories, or the whole project if nothing
+     * is selected (as in the TornadoVM tool window).
+     */
+    private static GlobalSearchScope scope(Project project, VirtualFile[] selection) {
+        if (selection == null || selection.length == 0) {
+            return GlobalSearchScope.projectScope(project);
+        }
+        List<VirtualFile> directories = new ArrayList<>();
+        List<VirtualFile> files = new ArrayList<>();
+        for (VirtualFile file : selection) {
+            (file.isDirectory() ? directories : files).add(file);
+        }
+        return GlobalSearchScopesCore.directoriesScope(project, true, directories.toArray(VirtualFile.EMPTY_ARRAY))
+                .union(GlobalSearchScope.filesScope(project, files));
+    }
+
+    private static void report(Project project, List<CompatibilityScan.FileResult> results, long wallTimeMs) {
+        int kernels = 0;
+        int ready = 0;
+        for (CompatibilityScan.FileResult file : results) {
+            for (CompatibilityScan.KernelResult kernel : file.kernels()) {
+                kernels++;
+                if (kernel.isOffloadReady()) {
+                    ready++;
+                }
+            }
+        }
+        String title = MessageBundle.message("ui.action.scan.title");
+        MessageUtils messages = MessageUtils.getInstance(project);
+        messages.showInfoMsg(title, MessageBundle.message("ui.action.scan.summary") + " " + ready + "/" + kernels
+                + " (" + results.size() + " " + MessageBundle.message("ui.action.scan.files") + ", " + wallTimeMs + " ms)");
+        if (kernels == 0) {
+            return;
+        }
+
+        FileSaverDescriptor descriptor = new FileSaverDescriptor(title, MessageBundle.message("ui.action.scan.export"),
+                CompatibilityReport.SARIF_EXTENSION, "json");
+        VirtualFileWrapper output = FileChooserFactory.getInstance().createSaveFileDialog(descriptor, project)
+                .save(ProjectUtil.guessProjectDir(project), "tornado-insight-scan." + CompatibilityReport.SARIF_EXTENSION);
+        if (output == null) {
+            return;
+        }
+        try {
+            CompatibilityReport.write(output.getFile().toPath(), results, wallTimeMs);
+            messages.showInfoMsg(title, MessageBundle.message("ui.action.scan.written") + " " + output.getFile().getPath());
+        } catch (IOException ex) {
+            messages.showErrorMsg(title, ex.getMessage());
+        }
+    }
+
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        e.getPresentation().setEnabled(e.getProject() != null);
+    }
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+}
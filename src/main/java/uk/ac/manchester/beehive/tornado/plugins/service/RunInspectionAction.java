@@ -37,10 +37,14 @@ public class RunInspectionAction extends AnAction {
         if (data.isEmpty()) {
             new EmptySelectionWarningDialog().show();
         }else {
-            DynamicInspection.process(e.getProject(), data);
+            DynamicInspection.process(e.getProject(), data, isForceRerun());
         }
     }
 
+    protected boolean isForceRerun() {
+        return false;
+    }
+
     @Override
     public void update(@NotNull AnActionEvent e) {
         final Project project = e.getProject();
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026, APT Group, Department of Computer Science,
+ *  The University of Manchester.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package uk.ac.manchester.beehive.tornado.plugins.service;
+
+import com.intellij.ide.actions.OpenInRightSplitAction;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.fileTypes.FileType;
+import com.intellij.openapi.fileTypes.FileTypeManager;
+import com.intellij.openapi.fileTypes.PlainTextFileType;
+import com.intellij.openapi.fileTypes.UnknownFileType;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.util.Computable;
+import com.intellij.psi.PsiMethod;
+import com.intellij.testFramework.LightVirtualFile;
+import uk.ac.manchester.beehive.tornado.plugins.dynamicInspection.NativeKernelCode;
+import uk.ac.manchester.beehive.tornado.plugins.dynamicInspection.TornadoSdkService;
+import uk.ac.manchester.beehive.tornado.plugins.ui.toolwindow.EmptySelectionWarningDialog;
+import uk.ac.manchester.beehive.tornado.plugins.util.DataKeys;
+import uk.ac.manchester.beehive.tornado.plugins.util.MessageBundle;
+import uk.ac.manchester.beehive.tornado.plugins.util.TornadoTWTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Opens the native code TornadoVM generated for the selected tasks in
+ * read-only editor tabs beside the Java source, one per backend, from the
+ * cache dynamic inspection fills.
+ */
+public class ShowKernelCodeAction extends AnAction {
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        List<String> data = e.getData(DataKeys.TORNADO_SELECTED_LIST);
+        if (project == null || data == null || data.isEmpty()) {
+            new EmptySelectionWarningDialog().show();
+            return;
+        }
+        List<PsiMethod> methods = TornadoTWTask.getMethods(data);
+        if (methods == null || methods.isEmpty()) {
+            new EmptySelectionWarningDialog().show();
+            return;
+        }
+
+        // Knowing the TornadoVM version may take a probe of the installation.
+        Map<String, Map<NativeKernelCode.Backend, String>> code = ProgressManager.getInstance().runProcessWithProgressSynchronously(
+                () -> {
+                    String version = TornadoSdkService.getInstance(project)
+                            .getCapabilities(ProgressManager.getInstance().getProgressIndicator()).getVersionLine();
+                    return ApplicationManager.getApplication().runReadAction(
+                            (Computable<Map<String, Map<NativeKernelCode.Backend, String>>>) () -> {
+                                Map<String, Map<NativeKernelCode.Backend, String>> found = new LinkedHashMap<>();
+                                for (PsiMethod method : methods) {
+                                    Map<NativeKernelCode.Backend, String> kernelCode =
+                                            NativeKernelCode.lookup(NativeKernelCode.kernelHash(method), version);
+                                    if (!kernelCode.isEmpty()) {
+                                        found.put(method.getName(), kernelCode);
+                                    }
+                                }
+                                return found;
+                            });
+                },
+                MessageBundle.message("ui.action.kernelCode.progress"), true, project);
+
+        if (code.isEmpty()) {
+            Messages.showInfoMessage(project, MessageBundle.message("ui.action.kernelCode.empty"),
+                    MessageBundle.message("ui.action.kernelCode.title"));
+            return;
+        }
+        for (Map.Entry<String, Map<NativeKernelCode.Backend, String>> kernel : code.entrySet()) {
+            for (Map.Entry<NativeKernelCode.Backend, String> backend : kernel.getValue().entrySet()) {
+                LightVirtualFile file = new LightVirtualFile(kernel.getKey() + "." + backend.getKey().getExtension(),
+                        fileType(backend.getKey()), backend.getValue());
+                file.setWritable(false);
+                OpenInRightSplitAction.Companion.openInRightSplit(project, file, null, true);
+            }
+        }
+    }
+
+    /**
+     * The file type registered for the backend's extension. OpenCL C falls
+     * back to C, whose highlighting suits it, and anything unregistered to
+     * plain text.
+     */
+    private static FileType fileType(NativeKernelCode.Backend backend) {
+        FileTypeManager manager = FileTypeManager.getInstance();
+        FileType type = manager.getFileTypeByExtension(backend.getExtension());
+        if (type instanceof UnknownFileType && backend == NativeKernelCode.Backend.OPENCL) {
+            type = manager.getFileTypeByExtension("c");
+        }
+        return type instanceof UnknownFileType ? PlainTextFileType.INSTANCE : type;
+    }
+
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        e.getPresentation().setEnabled(e.getProject() != null);
+    }
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+}
@@ -55,6 +55,29 @@ public class TornadoSettingConfiguration implements Configurable {
         TornadoSettingState settings = TornadoSettingState.getInstance();
         boolean modified = mySettingsComponent.isBytecodeVisualizerEnabled() != settings.bytecodeVisualizerEnabled;
         modified |= mySettingsComponent.getMaxArraySize() != settings.parameterSize;
+        modified |= mySettingsComponent.isParallelExecutionEnabled() != settings.parallelExecutionEnabled;
+        modified |= mySettingsComponent.isWarmWorkerEnabled() != settings.warmWorkerEnabled;
+        modified |= mySettingsComponent.isSingleProcessHarnessEnabled() != settings.singleProcessHarnessEnabled;
+        modified |= mySettingsComponent.isResultCacheEnabled() != settings.resultCacheEnabled;
+        modified |= mySettingsComponent.getResultCacheMaxMb() != settings.resultCacheMaxMb;
+        modified |= mySettingsComponent.getOutputBufferLimitKb() != settings.outputBufferLimitKb;
+        modified |= mySettingsComponent.getKernelTimeoutSeconds() != settings.kernelTimeoutSeconds;
+        modified |= mySettingsComponent.isBenchmarkEnabled() != settings.benchmarkEnabled;
+        modified |= mySettingsComponent.getBenchmarkWarmupIterations() != settings.benchmarkWarmupIterations;
+        modified |= mySettingsComponent.getBenchmarkIterations() != settings.benchmarkIterations;
+        modified |= mySettingsComponent.isSizeSweepEnabled() != settings.sizeSweepEnabled;
+        modified |= !mySettingsComponent.getSizeSweep().equals(settings.sizeSweep);
+        modified |= mySettingsComponent.isMultiDeviceEnabled() != settings.multiDeviceEnabled;
+        modified |= mySettingsComponent.isDatasetEnabled() != settings.datasetEnabled;
+        modified |= !mySettingsComponent.getDatasetDistribution().equals(settings.datasetDistribution);
+        modified |= mySettingsComponent.getDatasetSeed() != settings.datasetSeed;
+        modified |= mySettingsComponent.isVerifyEnabled() != settings.verifyEnabled;
+        modified |= mySettingsComponent.getVerifyAbsoluteTolerance() != settings.verifyAbsoluteTolerance;
+        modified |= mySettingsComponent.getVerifyRelativeTolerance() != settings.verifyRelativeTolerance;
+        modified |= mySettingsComponent.isProfilerMetricsEnabled() != settings.profilerMetricsEnabled;
+        modified |= mySettingsComponent.isHistoryEnabled() != settings.historyEnabled;
+        modified |= mySettingsComponent.getRegressionThresholdPercent() != settings.regressionThresholdPercent;
+        modified |= mySettingsComponent.isTransferModeDialogEnabled() != settings.transferModeDialogEnabled;
         modified |= mySettingsComponent.isSaveFileEnabled() != settings.saveFileEnabled;
         modified |= !mySettingsComponent.getDebugFileSaveLocation().equals(settings.debugFileSaveLocation);
         modified |= !mySettingsComponent.getBytecodesFileSaveLocation().equals(settings.bytecodesFileSaveLocation);
@@ -71,6 +94,29 @@ public class TornadoSettingConfiguration implements Configurable {
         }
         settings.bytecodeVisualizerEnabled = mySettingsComponent.isBytecodeVisualizerEnabled();
         settings.parameterSize = mySettingsComponent.getMaxArraySize();
+        settings.parallelExecutionEnabled = mySettingsComponent.isParallelExecutionEnabled();
+        settings.warmWorkerEnabled = mySettingsComponent.isWarmWorkerEnabled();
+        settings.singleProcessHarnessEnabled = mySettingsComponent.isSingleProcessHarnessEnabled();
+        settings.resultCacheEnabled = mySettingsComponent.isResultCacheEnabled();
+        settings.resultCacheMaxMb = mySettingsComponent.getResultCacheMaxMb();
+        settings.outputBufferLimitKb = mySettingsComponent.getOutputBufferLimitKb();
+        settings.kernelTimeoutSeconds = mySettingsComponent.getKernelTimeoutSeconds();
+        settings.benchmarkEnabled = mySettingsComponent.isBenchmarkEnabled();
+        settings.benchmarkWarmupIterations = mySettingsComponent.getBenchmarkWarmupIterations();
+        settings.benchmarkIterations = mySettingsComponent.getBenchmarkIterations();
+        settings.sizeSweepEnabled = mySettingsComponent.isSizeSweepEnabled();
+        settings.sizeSweep = mySettingsComponent.getSizeSweep();
+        settings.multiDeviceEnabled = mySettingsComponent.isMultiDeviceEnabled();
+        settings.datasetEnabled = mySettingsComponent.isDatasetEnabled();
+        settings.datasetDistribution = mySettingsComponent.getDatasetDistribution();
+        settings.datasetSeed = mySettingsComponent.getDatasetSeed();
+        settings.verifyEnabled = mySettingsComponent.isVerifyEnabled();
+        settings.verifyAbsoluteTolerance = mySettingsComponent.getVerifyAbsoluteTolerance();
+        settings.verifyRelativeTolerance = mySettingsComponent.getVerifyRelativeTolerance();
+        settings.profilerMetricsEnabled = mySettingsComponent.isProfilerMetricsEnabled();
+        settings.historyEnabled = mySettingsComponent.isHistoryEnabled();
+        settings.regressionThresholdPercent = mySettingsComponent.getRegressionThresholdPercent();
+        settings.transferModeDialogEnabled = mySettingsComponent.isTransferModeDialogEnabled();
         settings.saveFileEnabled = mySettingsComponent.isSaveFileEnabled();
         settings.debugFileSaveLocation = mySettingsComponent.getDebugFileSaveLocation();
         settings.bytecodesFileSaveLocation = mySettingsComponent.getBytecodesFileSaveLocation();
@@ -88,6 +134,29 @@ public class TornadoSettingConfiguration implements Configurable {
         TornadoSettingState settings = TornadoSettingState.getInstance();
         mySettingsComponent.setBytecodeVisualizerEnabled(settings.bytecodeVisualizerEnabled);
         mySettingsComponent.setMaxArraySize(settings.parameterSize);
+        mySettingsComponent.setParallelExecutionEnabled(settings.parallelExecutionEnabled);
+        mySettingsComponent.setWarmWorkerEnabled(settings.warmWorkerEnabled);
+        mySettingsComponent.setSingleProcessHarnessEnabled(settings.singleProcessHarnessEnabled);
+        mySettingsComponent.setResultCacheEnabled(settings.resultCacheEnabled);
+        mySettingsComponent.setResultCacheMaxMb(settings.resultCacheMaxMb);
+        mySettingsComponent.setOutputBufferLimitKb(settings.outputBufferLimitKb);
+        mySettingsComponent.setKernelTimeoutSeconds(settings.kernelTimeoutSeconds);
+        mySettingsComponent.setBenchmarkEnabled(settings.benchmarkEnabled);
+        mySettingsComponent.setBenchmarkWarmupIterations(settings.benchmarkWarmupIterations);
+        mySettingsComponent.setBenchmarkIterations(settings.benchmarkIterations);
+        mySettingsComponent.setSizeSweepEnabled(settings.sizeSweepEnabled);
+        mySettingsComponent.setSizeSweep(settings.sizeSweep);
+        mySettingsComponent.setMultiDeviceEnabled(settings.multiDeviceEnabled);
+        mySettingsComponent.setDatasetEnabled(settings.datasetEnabled);
+        mySettingsComponent.setDatasetDistribution(settings.datasetDistribution);
+        mySettingsComponent.setDatasetSeed(settings.datasetSeed);
+        mySettingsComponent.setVerifyEnabled(settings.verifyEnabled);
+        mySettingsComponent.setVerifyAbsoluteTolerance(settings.verifyAbsoluteTolerance);
+        mySettingsComponent.setVerifyRelativeTolerance(settings.verifyRelativeTolerance);
+        mySettingsComponent.setProfilerMetricsEnabled(settings.profilerMetricsEnabled);
+        mySettingsComponent.setHistoryEnabled(settings.historyEnabled);
+        mySettingsComponent.setRegressionThresholdPercent(settings.regressionThresholdPercent);
+        mySettingsComponent.setTransferModeDialogEnabled(settings.transferModeDialogEnabled);
         mySettingsComponent.setSaveFileEnabled(settings.saveFileEnabled);
         mySettingsComponent.setDebugFileSaveLocation(settings.debugFileSaveLocation);
         mySettingsComponent.setBytecodesFileSaveLocation(settings.bytecodesFileSaveLocation);
@@ -44,6 +44,59 @@ public class TornadoSettingState implements PersistentStateComponent<TornadoSett
     // validator (>0 and <16384). Overridden when the user changes the value
     // in Settings.
     public int parameterSize = 128;
+    // Run the generated kernel jars in a bounded pool of concurrent 'tornado'
+    // processes instead of one after another.
+    public boolean parallelExecutionEnabled = true;
+    // Run the harnesses in a long-lived TornadoVM worker process instead of
+    // launching a fresh 'tornado' JVM for every kernel.
+    public boolean warmWorkerEnabled;
+    // Generate all selected kernels into one harness class that runs them in
+    // a single TornadoVM launch.
+    public boolean singleProcessHarnessEnabled;
+    // Replay verdicts of unchanged kernels from the on-disk result cache, and
+    // the cap (in MB) above which least recently used entries are evicted.
+    public boolean resultCacheEnabled = true;
+    public int resultCacheMaxMb = 64;
+    // Output of a single kernel run (per stream) kept in memory before the
+    // rest is spilled to a temp file.
+    public int outputBufferLimitKb = 1024;
+    // Wall-clock limit for a single kernel run; 0 disables the limit.
+    public int kernelTimeoutSeconds = 120;
+    // Time repeated executions of each kernel with the TornadoVM profiler:
+    // warmup iterations are discarded, measured iterations are summarised.
+    public boolean benchmarkEnabled;
+    public int benchmarkWarmupIterations = 10;
+    public int benchmarkIterations = 30;
+    // Benchmark every kernel at each size of a sweep specification (see
+    // SizeSweep) instead of the single parameterSize.
+    public boolean sizeSweepEnabled;
+    public String sizeSweep = "2^10-2^20";
+    // Run every selected kernel on each device listed by 'tornado --devices'
+    // and report a kernel x device matrix.
+    public boolean multiDeviceEnabled;
+    // Load array inputs from seeded binary dataset files (see InputDataset)
+    // instead of filling them with generated values; the distribution is an
+    // InputDataset.Distribution name.
+    public boolean datasetEnabled;
+    public String datasetDistribution = "UNIFORM";
+    public long datasetSeed = 42;
+    // Compare each kernel's device results with the kernel run as plain Java
+    // and report the speedup; floating-point elements match when they differ
+    // by at most absolute + relative * |expected|.
+    public boolean verifyEnabled;
+    public double verifyAbsoluteTolerance = 1e-5;
+    public double verifyRelativeTolerance = 1e-4;
+    // Execute each kernel once more with the TornadoVM profiler and show its
+    // compile, kernel, transfer and dispatch times in the Kernel Metrics tab.
+    public boolean profilerMetricsEnabled = true;
+    // Append each kernel's timings to the project's performance history and
+    // warn when a run is significantly slower than the recent runs, by at
+    // least this many percent (see PerformanceHistory).
+    public boolean historyEnabled = true;
+    public int regressionThresholdPercent = 10;
+    // Show the host/device transfers worked out for each kernel parameter
+    // (see TransferModes) before every run, so they can be overridden.
+    public boolean transferModeDialogEnabled;
     public boolean isValid;
     public boolean saveFileEnabled;
     public String debugFileSaveLocation;
@@ -20,6 +20,7 @@ package uk.ac.manchester.beehive.tornado.plugins.ui.settings;
 import com.intellij.ide.BrowserUtil;
 import com.intellij.openapi.fileChooser.FileChooser;
 import com.intellij.openapi.fileChooser.FileChooserDescriptor;
+import com.intellij.openapi.ui.ComboBox;
 import com.intellij.openapi.ui.TextFieldWithBrowseButton;
 import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.ui.IdeBorderFactory;
@@ -28,6 +29,8 @@ import com.intellij.ui.components.labels.LinkLabel;
 import com.intellij.util.ui.FormBuilder;
 import com.intellij.ui.components.JBLabel;
 import com.intellij.util.ui.JBUI;
+import uk.ac.manchester.beehive.tornado.plugins.dynamicInspection.InputDataset;
+import uk.ac.manchester.beehive.tornado.plugins.dynamicInspection.SizeSweep;
 import uk.ac.manchester.beehive.tornado.plugins.util.MessageBundle;
 
 import javax.swing.*;
@@ -50,6 +53,52 @@ public class TornadoSettingsComponent {
 
     private final JBTextField myMaxArraySize = new JBTextField(4);
 
+    private final JCheckBox parallelExecutionCheckbox = new JCheckBox("Run selected kernels in parallel");
+
+    private final JCheckBox warmWorkerCheckbox = new JCheckBox("Keep a warm TornadoVM worker between runs");
+
+    private final JCheckBox singleProcessHarnessCheckbox = new JCheckBox("Run all selected kernels in one TornadoVM process");
+
+    private final JCheckBox resultCacheCheckbox = new JCheckBox("Cache results of unchanged kernels");
+
+    private final JBTextField resultCacheMaxMbField = new JBTextField(4);
+
+    private final JBTextField outputBufferLimitKbField = new JBTextField(6);
+
+    private final JBTextField kernelTimeoutField = new JBTextField(4);
+
+    private final JCheckBox benchmarkCheckbox = new JCheckBox("Benchmark kernels with the TornadoVM profiler");
+
+    private final JBTextField benchmarkWarmupField = new JBTextField(4);
+
+    private final JBTextField benchmarkIterationsField = new JBTextField(4);
+
+    private final JCheckBox sizeSweepCheckbox = new JCheckBox("Sweep problem sizes");
+
+    private final JBTextField sizeSweepField = new JBTextField(16);
+
+    private final JCheckBox multiDeviceCheckbox = new JCheckBox("Run kernels on every TornadoVM device");
+
+    private final JCheckBox datasetCheckbox = new JCheckBox("Load array inputs from seeded dataset files");
+
+    private final ComboBox<InputDataset.Distribution> datasetDistributionBox = new ComboBox<>(InputDataset.Distribution.values());
+
+    private final JBTextField datasetSeedField = new JBTextField(10);
+
+    private final JCheckBox verifyCheckbox = new JCheckBox("Verify device results against the JVM");
+
+    private final JBTextField verifyAbsoluteToleranceField = new JBTextField(8);
+
+    private final JBTextField verifyRelativeToleranceField = new JBTextField(8);
+
+    private final JCheckBox profilerMetricsCheckbox = new JCheckBox("Collect TornadoVM profiler metrics");
+
+    private final JCheckBox historyCheckbox = new JCheckBox("Keep a performance history and detect regressions");
+
+    private final JBTextField regressionThresholdField = new JBTextField(4);
+
+    private final JCheckBox transferModeDialogCheckbox = new JCheckBox("Review data transfers before each run");
+
     public TornadoSettingsComponent() {
         attachFolderChooser(debugFileSaveLocationField, "Save Location for Generated Code", "Choose the folder you want generated codes to be saved");
         attachFolderChooser(bytecodesFileSaveLocationField, "Save Location for TornadoVM Bytecodes", "Choose the folder you want the TornadoVM Bytecodes to be saved");
@@ -72,6 +121,43 @@ public class TornadoSettingsComponent {
 
         JPanel dynamicInspectionPanel = FormBuilder.createFormBuilder().addLabeledComponent(new JBLabel("Max array size:"), myMaxArraySize, 1)
                 .addLabeledComponent(new JBLabel(" "), new JLabel("<html><div style='width:400px; color:gray;'>" + MessageBundle.message("ui.settings.max.array.size") + "</div></html>"))
+                .addComponent(parallelExecutionCheckbox)
+                .addLabeledComponent(new JBLabel(" "), new JLabel("<html><div style='width:400px; color:gray;'>" + MessageBundle.message("ui.settings.comment.parallel") + "</div></html>"))
+                .addComponent(warmWorkerCheckbox)
+                .addLabeledComponent(new JBLabel(" "), new JLabel("<html><div style='width:400px; color:gray;'>" + MessageBundle.message("ui.settings.comment.worker") + "</div></html>"))
+                .addComponent(singleProcessHarnessCheckbox)
+                .addLabeledComponent(new JBLabel(" "), new JLabel("<html><div style='width:400px; color:gray;'>" + MessageBundle.message("ui.settings.comment.singleProcess") + "</div></html>"))
+                .addComponent(resultCacheCheckbox)
+                .addLabeledComponent(new JBLabel("Cache size (MB):"), resultCacheMaxMbField, 1)
+                .addLabeledComponent(new JBLabel(" "), new JLabel("<html><div style='width:400px; color:gray;'>" + MessageBundle.message("ui.settings.comment.cache") + "</div></html>"))
+                .addLabeledComponent(new JBLabel("Output buffer (KB):"), outputBufferLimitKbField, 1)
+                .addLabeledComponent(new JBLabel(" "), new JLabel("<html><div style='width:400px; color:gray;'>" + MessageBundle.message("ui.settings.comment.outputBuffer") + "</div></html>"))
+                .addLabeledComponent(new JBLabel("Kernel timeout (s):"), kernelTimeoutField, 1)
+                .addLabeledComponent(new JBLabel(" "), new JLabel("<html><div style='width:400px; color:gray;'>" + MessageBundle.message("ui.settings.comment.timeout") + "</div></html>"))
+                .addComponent(benchmarkCheckbox)
+                .addLabeledComponent(new JBLabel("Warmup iterations:"), benchmarkWarmupField, 1)
+                .addLabeledComponent(new JBLabel("Measured iterations:"), benchmarkIterationsField, 1)
+                .addLabeledComponent(new JBLabel(" "), new JLabel("<html><div style='width:400px; color:gray;'>" + MessageBundle.message("ui.settings.comment.benchmark") + "</div></html>"))
+                .addComponent(sizeSweepCheckbox)
+                .addLabeledComponent(new JBLabel("Sizes:"), sizeSweepField, 1)
+                .addLabeledComponent(new JBLabel(" "), new JLabel("<html><div style='width:400px; color:gray;'>" + MessageBundle.message("ui.settings.comment.sweep") + "</div></html>"))
+                .addComponent(multiDeviceCheckbox)
+                .addLabeledComponent(new JBLabel(" "), new JLabel("<html><div style='width:400px; color:gray;'>" + MessageBundle.message("ui.settings.comment.multiDevice") + "</div></html>"))
+                .addComponent(datasetCheckbox)
+                .addLabeledComponent(new JBLabel("Distribution:"), datasetDistributionBox, 1)
+                .addLabeledComponent(new JBLabel("Seed:"), datasetSeedField, 1)
+                .addLabeledComponent(new JBLabel(" "), new JLabel("<html><div style='width:400px; color:gray;'>" + MessageBundle.message("ui.settings.comment.dataset") + "</div></html>"))
+                .addComponent(verifyCheckbox)
+                .addLabeledComponent(new JBLabel("Absolute tolerance:"), verifyAbsoluteToleranceField, 1)
+                .addLabeledComponent(new JBLabel("Relative tolerance:"), verifyRelativeToleranceField, 1)
+                .addLabeledComponent(new JBLabel(" "), new JLabel("<html><div style='width:400px; color:gray;'>" + MessageBundle.message("ui.settings.comment.verify") + "</div></html>"))
+                .addComponent(profilerMetricsCheckbox)
+                .addLabeledComponent(new JBLabel(" "), new JLabel("<html><div style='width:400px; color:gray;'>" + MessageBundle.message("ui.settings.comment.profilerMetrics") + "</div></html>"))
+                .addComponent(historyCheckbox)
+                .addLabeledComponent(new JBLabel("Regression threshold (%):"), regressionThresholdField, 1)
+                .addLabeledComponent(new JBLabel(" "), new JLabel("<html><div style='width:400px; color:gray;'>" + MessageBundle.message("ui.settings.comment.history") + "</div></html>"))
+                .addComponent(transferModeDialogCheckbox)
+                .addLabeledComponent(new JBLabel(" "), new JLabel("<html><div style='width:400px; color:gray;'>" + MessageBundle.message("ui.settings.comment.transfers") + "</div></html>"))
                 .getPanel();
 
         dynamicInspectionPanel.setBorder(IdeBorderFactory.createTitledBorder(MessageBundle.message("ui.settings.group.dynamic")));
@@ -159,6 +245,217 @@ public class TornadoSettingsComponent {
         myMaxArraySize.setText(String.valueOf(size));
     }
 
+    public boolean isParallelExecutionEnabled() {
+        return parallelExecutionCheckbox.isSelected();
+    }
+
+    public void setParallelExecutionEnabled(boolean enabled) {
+        parallelExecutionCheckbox.setSelected(enabled);
+    }
+
+    public boolean isWarmWorkerEnabled() {
+        return warmWorkerCheckbox.isSelected();
+    }
+
+    public void setWarmWorkerEnabled(boolean enabled) {
+        warmWorkerCheckbox.setSelected(enabled);
+    }
+
+    public boolean isSingleProcessHarnessEnabled() {
+        return singleProcessHarnessCheckbox.isSelected();
+    }
+
+    public void setSingleProcessHarnessEnabled(boolean enabled) {
+        singleProcessHarnessCheckbox.setSelected(enabled);
+    }
+
+    public boolean isResultCacheEnabled() {
+        return resultCacheCheckbox.isSelected();
+    }
+
+    public void setResultCacheEnabled(boolean enabled) {
+        resultCacheCheckbox.setSelected(enabled);
+    }
+
+    public int getResultCacheMaxMb() {
+        if (resultCacheMaxMbField.getText().isEmpty()) {
+            return 64;
+        }
+        return Integer.parseInt(resultCacheMaxMbField.getText());
+    }
+
+    public void setResultCacheMaxMb(int size) {
+        resultCacheMaxMbField.setText(String.valueOf(size));
+    }
+
+    public int getOutputBufferLimitKb() {
+        if (outputBufferLimitKbField.getText().isEmpty()) {
+            return 1024;
+        }
+        return Integer.parseInt(outputBufferLimitKbField.getText());
+    }
+
+    public void setOutputBufferLimitKb(int size) {
+        outputBufferLimitKbField.setText(String.valueOf(size));
+    }
+
+    public int getKernelTimeoutSeconds() {
+        if (kernelTimeoutField.getText().isEmpty()) {
+            return 120;
+        }
+        return Integer.parseInt(kernelTimeoutField.getText());
+    }
+
+    public void setKernelTimeoutSeconds(int seconds) {
+        kernelTimeoutField.setText(String.valueOf(seconds));
+    }
+
+    public boolean isBenchmarkEnabled() {
+        return benchmarkCheckbox.isSelected();
+    }
+
+    public void setBenchmarkEnabled(boolean enabled) {
+        benchmarkCheckbox.setSelected(enabled);
+    }
+
+    public int getBenchmarkWarmupIterations() {
+        if (benchmarkWarmupField.getText().isEmpty()) {
+            return 10;
+        }
+        return Integer.parseInt(benchmarkWarmupField.getText());
+    }
+
+    public void setBenchmarkWarmupIterations(int iterations) {
+        benchmarkWarmupField.setText(String.valueOf(iterations));
+    }
+
+    public int getBenchmarkIterations() {
+        if (benchmarkIterationsField.getText().isEmpty()) {
+            return 30;
+        }
+        return Integer.parseInt(benchmarkIterationsField.getText());
+    }
+
+    public void setBenchmarkIterations(int iterations) {
+        benchmarkIterationsField.setText(String.valueOf(iterations));
+    }
+
+    public boolean isSizeSweepEnabled() {
+        return sizeSweepCheckbox.isSelected();
+    }
+
+    public void setSizeSweepEnabled(boolean enabled) {
+        sizeSweepCheckbox.setSelected(enabled);
+    }
+
+    public String getSizeSweep() {
+        return sizeSweepField.getText().strip();
+    }
+
+    public void setSizeSweep(String sizes) {
+        sizeSweepField.setText(sizes);
+    }
+
+    public boolean isMultiDeviceEnabled() {
+        return multiDeviceCheckbox.isSelected();
+    }
+
+    public void setMultiDeviceEnabled(boolean enabled) {
+        multiDeviceCheckbox.setSelected(enabled);
+    }
+
+    public boolean isDatasetEnabled() {
+        return datasetCheckbox.isSelected();
+    }
+
+    public void setDatasetEnabled(boolean enabled) {
+        datasetCheckbox.setSelected(enabled);
+    }
+
+    public String getDatasetDistribution() {
+        return ((InputDataset.Distribution) Objects.requireNonNull(datasetDistributionBox.getSelectedItem())).name();
+    }
+
+    public void setDatasetDistribution(String distribution) {
+        datasetDistributionBox.setSelectedItem(InputDataset.Distribution.fromName(distribution));
+    }
+
+    public long getDatasetSeed() {
+        if (datasetSeedField.getText().isEmpty()) {
+            return 42;
+        }
+        return Long.parseLong(datasetSeedField.getText());
+    }
+
+    public void setDatasetSeed(long seed) {
+        datasetSeedField.setText(String.valueOf(seed));
+    }
+
+    public boolean isVerifyEnabled() {
+        return verifyCheckbox.isSelected();
+    }
+
+    public void setVerifyEnabled(boolean enabled) {
+        verifyCheckbox.setSelected(enabled);
+    }
+
+    public double getVerifyAbsoluteTolerance() {
+        if (verifyAbsoluteToleranceField.getText().isEmpty()) {
+            return 1e-5;
+        }
+        return Double.parseDouble(verifyAbsoluteToleranceField.getText());
+    }
+
+    public void setVerifyAbsoluteTolerance(double tolerance) {
+        verifyAbsoluteToleranceField.setText(String.valueOf(tolerance));
+    }
+
+    public double getVerifyRelativeTolerance() {
+        if (verifyRelativeToleranceField.getText().isEmpty()) {
+            return 1e-4;
+        }
+        return Double.parseDouble(verifyRelativeToleranceField.getText());
+    }
+
+    public void setVerifyRelativeTolerance(double tolerance) {
+        verifyRelativeToleranceField.setText(String.valueOf(tolerance));
+    }
+
+    public boolean isProfilerMetricsEnabled() {
+        return profilerMetricsCheckbox.isSelected();
+    }
+
+    public void setProfilerMetricsEnabled(boolean enabled) {
+        profilerMetricsCheckbox.setSelected(enabled);
+    }
+
+    public boolean isHistoryEnabled() {
+        return historyCheckbox.isSelected();
+    }
+
+    public void setHistoryEnabled(boolean enabled) {
+        historyCheckbox.setSelected(enabled);
+    }
+
+    public int getRegressionThresholdPercent() {
+        if (regressionThresholdField.getText().isEmpty()) {
+            return 10;
+        }
+        return Integer.parseInt(regressionThresholdField.getText());
+    }
+
+    public void setRegressionThresholdPercent(int percent) {
+        regressionThresholdField.setText(String.valueOf(percent));
+    }
+
+    public boolean isTransferModeDialogEnabled() {
+        return transferModeDialogCheckbox.isSelected();
+    }
+
+    public void setTransferModeDialogEnabled(boolean enabled) {
+        transferModeDialogCheckbox.setSelected(enabled);
+    }
+
     public boolean isSaveFileEnabled() {
         return saveFileCheckbox.isSelected();
     }
@@ -196,6 +493,103 @@ public class TornadoSettingsComponent {
             }
         }
 
+        String cacheSize = resultCacheMaxMbField.getText();
+        if (!StringUtil.isEmpty(cacheSize)) {
+            try {
+                if (Integer.parseInt(cacheSize) <= 0) {
+                    return MessageBundle.message("ui.settings.validation.invalidCacheSize");
+                }
+            } catch (NumberFormatException e) {
+                return MessageBundle.message("ui.settings.validation.invalidCacheSize");
+            }
+        }
+
+        String bufferSize = outputBufferLimitKbField.getText();
+        if (!StringUtil.isEmpty(bufferSize)) {
+            try {
+                if (Integer.parseInt(bufferSize) <= 0) {
+                    return MessageBundle.message("ui.settings.validation.invalidBufferSize");
+                }
+            } catch (NumberFormatException e) {
+                return MessageBundle.message("ui.settings.validation.invalidBufferSize");
+            }
+        }
+
+        String timeout = kernelTimeoutField.getText();
+        if (!StringUtil.isEmpty(timeout)) {
+            try {
+                if (Integer.parseInt(timeout) < 0) {
+                    return MessageBundle.message("ui.settings.validation.invalidTimeout");
+                }
+            } catch (NumberFormatException e) {
+                return MessageBundle.message("ui.settings.validation.invalidTimeout");
+            }
+        }
+
+        String warmup = benchmarkWarmupField.getText();
+        if (!StringUtil.isEmpty(warmup)) {
+            try {
+                if (Integer.parseInt(warmup) < 0) {
+                    return MessageBundle.message("ui.settings.validation.invalidWarmup");
+                }
+            } catch (NumberFormatException e) {
+                return MessageBundle.message("ui.settings.validation.invalidWarmup");
+            }
+        }
+
+        String iterations = benchmarkIterationsField.getText();
+        if (!StringUtil.isEmpty(iterations)) {
+            try {
+                if (Integer.parseInt(iterations) <= 0) {
+                    return MessageBundle.message("ui.settings.validation.invalidIterations");
+                }
+            } catch (NumberFormatException e) {
+                return MessageBundle.message("ui.settings.validation.invalidIterations");
+            }
+        }
+
+        if (isSizeSweepEnabled()) {
+            try {
+                SizeSweep.parse(getSizeSweep());
+            } catch (IllegalArgumentException e) {
+                return MessageBundle.message("ui.settings.validation.invalidSweep") + " " + e.getMessage();
+            }
+        }
+
+        String seed = datasetSeedField.getText();
+        if (!StringUtil.isEmpty(seed)) {
+            try {
+                Long.parseLong(seed);
+            } catch (NumberFormatException e) {
+                return MessageBundle.message("ui.settings.validation.invalidSeed");
+            }
+        }
+
+        for (JBTextField toleranceField : new JBTextField[]{verifyAbsoluteToleranceField, verifyRelativeToleranceField}) {
+            String tolerance = toleranceField.getText();
+            if (!StringUtil.isEmpty(tolerance)) {
+                try {
+                    double value = Double.parseDouble(tolerance);
+                    if (!(value >= 0) || Double.isInfinite(value)) {
+                        return MessageBundle.message("ui.settings.validation.invalidTolerance");
+                    }
+                } catch (NumberFormatException e) {
+                    return MessageBundle.message("ui.settings.validation.invalidTolerance");
+                }
+            }
+        }
+
+        String threshold = regressionThresholdField.getText();
+        if (!StringUtil.isEmpty(threshold)) {
+            try {
+                if (Integer.parseInt(threshold) < 0) {
+                    return MessageBundle.message("ui.settings.validation.invalidThreshold");
+                }
+            } catch (NumberFormatException e) {
+                return MessageBundle.message("ui.settings.validation.invalidThreshold");
+            }
+        }
+
         // Empty or "0" mean "use the default" - getMaxArraySize() substitutes 128 in
         // both cases, so the user can blank the field instead of typing a number.
         if (StringUtil.isEmpty(parameterSize) || Objects.equals(parameterSize, "0")) {
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2026, APT Group, Department of Computer Science,
+ *  The University of Manchester.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package uk.ac.manchester.beehive.tornado.plugins.ui.toolwindow;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.SimpleToolWindowPanel;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.table.JBTable;
+import uk.ac.manchester.beehive.tornado.plugins.dynamicInspection.KernelMetricsService;
+import uk.ac.manchester.beehive.tornado.plugins.dynamicInspection.TaskGraphProfile;
+import uk.ac.manchester.beehive.tornado.plugins.message.KernelMetricsListener;
+import uk.ac.manchester.beehive.tornado.plugins.util.MessageBundle;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The "Kernel Metrics" tab: one row per kernel and task graph with the
+ * TornadoVM profiler's figures from the latest dynamic inspection run. Columns
+ * are typed so the table sorts numerically; figures the profiler did not
+ * report are left blank.
+ */
+public class KernelMetricsPanel extends SimpleToolWindowPanel {
+
+    private static final double NANOS_PER_MS = 1_000_000.0;
+
+    private final MetricsTableModel model = new MetricsTableModel();
+
+    public KernelMetricsPanel(Project project) {
+        super(Boolean.TRUE, Boolean.TRUE);
+        JBTable table = new JBTable(model);
+        table.setAutoCreateRowSorter(true);
+        table.getEmptyText().setText(MessageBundle.message("ui.toolwindow.metrics.empty"));
+        setContent(new JBScrollPane(table));
+
+        model.setEntries(KernelMetricsService.getInstance(project).getMetrics());
+        project.getMessageBus().connect().subscribe(KernelMetricsListener.METRICS_TOPIC, () -> {
+            List<KernelMetricsService.Entry> entries = KernelMetricsService.getInstance(project).getMetrics();
+            ApplicationManager.getApplication().invokeLater(() -> model.setEntries(entries), project.getDisposed());
+        });
+    }
+
+    private static class MetricsTableModel extends AbstractTableModel {
+
+        private static final String[] COLUMNS = {"Kernel", "Device", "Compile (ms)", "Kernel (ms)",
+                "Copy-in (ms)", "Copy-in (bytes)", "Copy-out (ms)", "Copy-out (bytes)", "Dispatch (ms)", "Total (ms)"};
+
+        private List<KernelMetricsService.Entry> entries = new ArrayList<>();
+
+        void setEntries(List<KernelMetricsService.Entry> entries) {
+            this.entries = entries;
+            fireTableDataChanged();
+        }
+
+        @Override
+        public int getRowCount() {
+            return entries.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public Class<?> getColumnClass(int column) {
+            return switch (column) {
+                case 0, 1 -> String.class;
+                case 5, 7 -> Long.class;
+                default -> Double.class;
+            };
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            KernelMetricsService.Entry entry = entries.get(row);
+            TaskGraphProfile profile = entry.profile();
+            return switch (column) {
+                case 0 -> entry.kernel();
+                case 1 -> profile.getDevice();
+                case 2 -> millis(compileNanos(profile));
+                case 3 -> millis(profile.getKernelNanos());
+                case 4 -> millis(profile.getCopyInNanos());
+                case 5 -> bytes(profile.getCopyInBytes());
+                case 6 -> millis(profile.getCopyOutNanos());
+                case 7 -> bytes(profile.getCopyOutBytes());
+                case 8 -> millis(profile.getDispatchOverheadNanos());
+                case 9 -> millis(profile.getTotalNanos());
+                default -> null;
+            };
+        }
+
+        /**
+         * The profiler splits compilation into Graal, driver and bytecode
+         * generation. The profiled execution follows {@code withPreCompilation()},
+         * so these are usually zero; fall back to the harness's wall-clock
+         * measurement of the pre-compilation then.
+         */
+        private static long compileNanos(TaskGraphProfile profile) {
+            long total = -1;
+            for (long part : new long[]{profile.getGraalCompileNanos(), profile.getDriverCompileNanos(),
+                    profile.getBytecodeGenerationNanos()}) {
+                if (part >= 0) {
+                    total = Math.max(total, 0) + part;
+                }
+            }
+            return total > 0 ? total : profile.getPrecompileNanos();
+        }
+
+        private static Double millis(long nanos) {
+            return nanos < 0 ? null : nanos / NANOS_PER_MS;
+        }
+
+        private static Long bytes(long bytes) {
+            return bytes < 0 ? null : bytes;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2026, APT Group, Department of Computer Science,
+ *  The University of Manchester.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package uk.ac.manchester.beehive.tornado.plugins.ui.toolwindow;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.ui.JBColor;
+import com.intellij.ui.components.JBTabbedPane;
+import com.intellij.util.ui.JBUI;
+import com.intellij.util.ui.UIUtil;
+import uk.ac.manchester.beehive.tornado.plugins.dynamicInspection.BenchmarkStatistics;
+import uk.ac.manchester.beehive.tornado.plugins.dynamicInspection.SizeSweep;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.function.ToDoubleBiFunction;
+
+/**
+ * Plots the results of a problem-size sweep: kernel time, transfer time and
+ * throughput of every kernel against the problem size, on log-log axes. Sizes
+ * at which a kernel failed are marked on the x axis in the kernel's colour.
+ */
+public class SizeSweepDialog extends DialogWrapper {
+
+    private static final Color[] SERIES_COLORS = {
+            JBColor.BLUE, JBColor.ORANGE, JBColor.GREEN, JBColor.MAGENTA, JBColor.CYAN, JBColor.PINK, JBColor.YELLOW
+    };
+
+    private final Map<String, SizeSweep.Series> results;
+
+    /**
+     * @param results sweep series keyed by kernel name
+     */
+    public SizeSweepDialog(Project project, Map<String, SizeSweep.Series> results) {
+        super(project, false);
+        this.results = results;
+        setTitle("Size Sweep");
+        setModal(false);
+        init();
+    }
+
+    @Override
+    protected @Nullable JComponent createCenterPanel() {
+        JBTabbedPane tabs = new JBTabbedPane();
+        tabs.addTab("Kernel time", new Chart("Kernel time (ms)",
+                (size, stats) -> SizeSweep.Series.kernelNanos(stats) / 1e6));
+        tabs.addTab("Transfer time", new Chart("Copy-in + copy-out time (ms)",
+                (size, stats) -> SizeSweep.Series.transferNanos(stats) / 1e6));
+        tabs.addTab("Throughput", new Chart("Throughput (Melem/s)",
+                (size, stats) -> SizeSweep.Series.throughput(size, stats) / 1e6));
+        tabs.setPreferredSize(JBUI.size(720, 480));
+        return tabs;
+    }
+
+    @Override
+    protected Action @NotNull [] createActions() {
+        return new Action[]{getOKAction()};
+    }
+
+    /**
+     * One log-log line chart with a series per kernel.
+     */
+    private final class Chart extends JComponent {
+        private final String yLabel;
+        private final ToDoubleBiFunction<Integer, BenchmarkStatistics> value;
+
+        Chart(String yLabel, ToDoubleBiFunction<Integer, BenchmarkStatistics> value) {
+            this.yLabel = yLabel;
+            this.value = value;
+        }
+
+        @Override
+        protected void paintComponent(Graphics graphics) {
+            Graphics2D g = (Graphics2D) graphics.create();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                g.setColor(UIUtil.getPanelBackground());
+                g.fillRect(0, 0, getWidth(), getHeight());
+                paintChart(g);
+            } finally {
+                g.dispose();
+            }
+        }
+
+        private void paintChart(Graphics2D g) {
+            double minX = Double.MAX_VALUE, maxX = -Double.MAX_VALUE;
+            double minY = Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+            for (SizeSweep.Series series : results.values()) {
+                for (int size : series.getSizes()) {
+                    minX = Math.min(minX, log2(size));
+                    maxX = Math.max(maxX, log2(size));
+                }
+                for (Map.Entry<Integer, BenchmarkStatistics> point : series.getStatistics().entrySet()) {
+                    double y = value.applyAsDouble(point.getKey(), point.getValue());
+                    if (y > 0) {
+                        minY = Math.min(minY, Math.log10(y));
+                        maxY = Math.max(maxY, Math.log10(y));
+                    }
+                }
+            }
+            if (minX > maxX) {
+                return;
+            }
+            if (minY > maxY) {
+                minY = 0;
+                maxY = 1;
+            }
+            // Whole powers of two (x) and of ten (y), at least one step each.
+            minX = Math.floor(minX);
+            maxX = Math.max(Math.ceil(maxX), minX + 1);
+            minY = Math.floor(minY);
+            maxY = Math.max(Math.ceil(maxY), minY + 1);
+
+            FontMetrics fm = g.getFontMetrics();
+            int left = JBUI.scale(70);
+            int right = JBUI.scale(20);
+            int top = JBUI.scale(20);
+            int bottom = JBUI.scale(50) + fm.getHeight() * results.size();
+            int width = getWidth() - left - right;
+            int height = getHeight() - top - bottom;
+            if (width <= 0 || height <= 0) {
+                return;
+            }
+
+            // Grid and tick labels.
+            g.setColor(JBColor.border());
+            for (double x = minX; x <= maxX; x++) {
+                int px = left + (int) ((x - minX) / (maxX - minX) * width);
+                g.drawLine(px, top, px, top + height);
+            }
+            for (double y = minY; y <= maxY; y++) {
+                int py = top + height - (int) ((y - minY) / (maxY - minY) * height);
+                g.drawLine(left, py, left + width, py);
+            }
+            g.setColor(UIUtil.getLabelForeground());
+            g.drawRect(left, top, width, height);
+            for (double x = minX; x <= maxX; x++) {
+                int px = left + (int) ((x - minX) / (maxX - minX) * width);
+                String label = "2^" + (int) x;
+                g.drawString(label, px - fm.stringWidth(label) / 2, top + height + fm.getAscent() + JBUI.scale(4));
+            }
+            for (double y = minY; y <= maxY; y++) {
+                int py = top + height - (int) ((y - minY) / (maxY - minY) * height);
+                String label = formatDecade((int) y);
+                g.drawString(label, left - fm.stringWidth(label) - JBUI.scale(6), py + fm.getAscent() / 2);
+            }
+            String xLabel = "Problem size (elements)";
+            int axisLabelY = top + height + fm.getHeight() + JBUI.scale(10) + fm.getAscent();
+            g.drawString(xLabel, left + (width - fm.stringWidth(xLabel)) / 2, axisLabelY);
+            g.drawString(yLabel, left + JBUI.scale(6), top + fm.getAscent() + JBUI.scale(4));
+
+            // Series, with failed sizes as crosses on the x axis, and the legend.
+            int index = 0;
+            int legendY = axisLabelY + fm.getHeight();
+            g.setStroke(new BasicStroke(JBUI.scale(2f)));
+            for (Map.Entry<String, SizeSweep.Series> entry : results.entrySet()) {
+                Color color = SERIES_COLORS[index++ % SERIES_COLORS.length];
+                g.setColor(color);
+                List<Point> points = new ArrayList<>();
+                SortedMap<Integer, BenchmarkStatistics> statistics = entry.getValue().getStatistics();
+                for (Map.Entry<Integer, BenchmarkStatistics> point : statistics.entrySet()) {
+                    double y = value.applyAsDouble(point.getKey(), point.getValue());
+                    if (y <= 0) {
+                        continue;
+                    }
+                    int px = left + (int) ((log2(point.getKey()) - minX) / (maxX - minX) * width);
+                    int py = top + height - (int) ((Math.log10(y) - minY) / (maxY - minY) * height);
+                    points.add(new Point(px, py));
+                }
+                for (int i = 0; i < points.size(); i++) {
+                    Point p = points.get(i);
+                    g.fillOval(p.x - JBUI.scale(3), p.y - JBUI.scale(3), JBUI.scale(6), JBUI.scale(6));
+                    if (i > 0) {
+                        Point previous = points.get(i - 1);
+                        g.drawLine(previous.x, previous.y, p.x, p.y);
+                    }
+                }
+                int mark = JBUI.scale(4);
+                for (int size : entry.getValue().getFailures()) {
+                    int px = left + (int) ((log2(size) - minX) / (maxX - minX) * width);
+                    int py = top + height;
+                    g.drawLine(px - mark, py - mark, px + mark, py + mark);
+                    g.drawLine(px - mark, py + mark, px + mark, py - mark);
+                }
+                g.fillRect(left, legendY - fm.getAscent() / 2 - JBUI.scale(2), JBUI.scale(12), JBUI.scale(4));
+                g.setColor(UIUtil.getLabelForeground());
+                String legend = entry.getKey();
+                if (!entry.getValue().getFailures().isEmpty()) {
+                    legend += "  (failed from n=" + entry.getValue().getFailures().first() + ")";
+                }
+                g.drawString(legend, left + JBUI.scale(18), legendY);
+                legendY += fm.getHeight();
+            }
+        }
+    }
+
+    private static double log2(int size) {
+        return Math.log(size) / Math.log(2);
+    }
+
+    private static String formatDecade(int exponent) {
+        if (exponent >= 0 && exponent <= 4) {
+            return String.valueOf((long) Math.pow(10, exponent));
+        }
+        if (exponent < 0 && exponent >= -3) {
+            return String.valueOf(Math.pow(10, exponent));
+        }
+        return "1e" + exponent;
+    }
+}
@@ -54,6 +54,8 @@ public class TornadoSideWindow implements ToolWindowFactory, Disposable {
         toolWindow.getContentManager().addContent(content);
         content = ContentFactory.getInstance().createContent(inspectorInfoPanel, "Inspector Guide", false);
         toolWindow.getContentManager().addContent(content);
+        content = ContentFactory.getInstance().createContent(new KernelMetricsPanel(project), "Kernel Metrics", false);
+        toolWindow.getContentManager().addContent(content);
     }
 
     @Override
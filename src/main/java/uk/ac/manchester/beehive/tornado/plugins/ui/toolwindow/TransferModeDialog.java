@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2026, APT Group, Department of Computer Science,
+ *  The University of Manchester.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package uk.ac.manchester.beehive.tornado.plugins.ui.toolwindow;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.ComboBox;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.psi.PsiMethod;
+import com.intellij.ui.components.JBLabel;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.table.JBTable;
+import com.intellij.util.ui.JBUI;
+import uk.ac.manchester.beehive.tornado.plugins.dynamicInspection.TransferModes;
+import uk.ac.manchester.beehive.tornado.plugins.util.MessageBundle;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shows the host/device transfers worked out for each kernel parameter before
+ * the harnesses are generated, and lets the user change them. Changes are
+ * written straight into the {@link TransferModes} being edited; cancelling
+ * the dialog cancels the run.
+ */
+public class TransferModeDialog extends DialogWrapper {
+
+    private final TransferModes transferModes;
+
+    public TransferModeDialog(Project project, TransferModes transferModes) {
+        super(project, true);
+        this.transferModes = transferModes;
+        setTitle(MessageBundle.message("ui.dialog.transfers.title"));
+        init();
+    }
+
+    @Override
+    protected @Nullable JComponent createCenterPanel() {
+        List<Row> rows = new ArrayList<>();
+        for (Map.Entry<PsiMethod, List<TransferModes.Parameter>> kernel : transferModes.getKernels().entrySet()) {
+            for (TransferModes.Parameter parameter : kernel.getValue()) {
+                rows.add(new Row(kernel.getKey().getName(), parameter));
+            }
+        }
+        JBTable table = new JBTable(new TransferTableModel(rows));
+        table.getColumnModel().getColumn(4).setCellEditor(
+                new DefaultCellEditor(new ComboBox<>(TransferModes.ToDevice.values())));
+        table.getEmptyText().setText(MessageBundle.message("ui.dialog.transfers.empty"));
+
+        JPanel panel = new JPanel(new BorderLayout(0, JBUI.scale(8)));
+        panel.add(new JBLabel(MessageBundle.message("ui.dialog.transfers.comment")), BorderLayout.NORTH);
+        JBScrollPane scrollPane = new JBScrollPane(table);
+        scrollPane.setPreferredSize(JBUI.size(640, 240));
+        panel.add(scrollPane, BorderLayout.CENTER);
+        return panel;
+    }
+
+    private record Row(String kernel, TransferModes.Parameter parameter) {
+    }
+
+    private static class TransferTableModel extends AbstractTableModel {
+
+        private static final String[] COLUMNS = {
+                "ui.dialog.transfers.column.kernel",
+                "ui.dialog.transfers.column.parameter",
+                "ui.dialog.transfers.column.type",
+                "ui.dialog.transfers.column.access",
+                "ui.dialog.transfers.column.toDevice",
+                "ui.dialog.transfers.column.toHost"
+        };
+
+        private final List<Row> rows;
+
+        TransferTableModel(List<Row> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public int getRowCount() {
+            return rows.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return MessageBundle.message(COLUMNS[column]);
+        }
+
+        @Override
+        public Class<?> getColumnClass(int column) {
+            return switch (column) {
+                case 4 -> TransferModes.ToDevice.class;
+                case 5 -> Boolean.class;
+                default -> String.class;
+            };
+        }
+
+        @Override
+        public boolean isCellEditable(int row, int column) {
+            return column >= 4;
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            Row entry = rows.get(row);
+            TransferModes.Parameter parameter = entry.parameter();
+            return switch (column) {
+                case 0 -> entry.kernel();
+                case 1 -> parameter.getName();
+                case 2 -> parameter.getType();
+                case 3 -> MessageBundle.message(switch (parameter.getAccess()) {
+                    case NONE -> "ui.dialog.transfers.access.none";
+                    case READ -> "ui.dialog.transfers.access.read";
+                    case WRITE -> "ui.dialog.transfers.access.write";
+                    case READ_WRITE -> "ui.dialog.transfers.access.readWrite";
+                });
+                case 4 -> parameter.getToDevice();
+                case 5 -> parameter.isToHost();
+                default -> null;
+            };
+        }
+
+        @Override
+        public void setValueAt(Object value, int row, int column) {
+            TransferModes.Parameter parameter = rows.get(row).parameter();
+            if (column == 4 && value instanceof TransferModes.ToDevice toDevice) {
+                parameter.setToDevice(toDevice);
+            } else if (column == 5 && value instanceof Boolean toHost) {
+                parameter.setToHost(toHost);
+            }
+            fireTableCellUpdated(row, column);
+        }
+    }
+}
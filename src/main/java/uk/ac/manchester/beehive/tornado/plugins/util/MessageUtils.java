@@ -38,7 +38,9 @@ import org.jetbrains.annotations.NotNull;
 
 import javax.swing.*;
 import java.awt.*;
+import java.io.PrintStream;
 import java.util.Date;
+import java.util.List;
 
 @Service
 public final class MessageUtils implements Disposable {
@@ -70,6 +72,10 @@ public final class MessageUtils implements Disposable {
     }
 
     public void showInfoMsg(String title, String body) {
+        if (ApplicationManager.getApplication().isHeadlessEnvironment()) {
+            printHeadless(System.out, title, body);
+            return;
+        }
         showConsole(() -> {
             printTitle(title, ConsoleViewContentType.NORMAL_OUTPUT);
             printBody(body, ConsoleViewContentType.NORMAL_OUTPUT);
@@ -78,6 +84,10 @@ public final class MessageUtils implements Disposable {
     }
 
     public void showWarnMsg(String title, String body) {
+        if (ApplicationManager.getApplication().isHeadlessEnvironment()) {
+            printHeadless(System.out, title, body);
+            return;
+        }
         showConsole(() -> {
             printTitle(title, ConsoleViewContentType.LOG_INFO_OUTPUT);
             printBody(body, ConsoleViewContentType.LOG_INFO_OUTPUT);
@@ -86,6 +96,10 @@ public final class MessageUtils implements Disposable {
     }
 
     public void showErrorMsg(String title, String body) {
+        if (ApplicationManager.getApplication().isHeadlessEnvironment()) {
+            printHeadless(System.err, title, body);
+            return;
+        }
         showConsole(() -> {
             printTitle(title, ConsoleViewContentType.ERROR_OUTPUT);
             printBody(body, ConsoleViewContentType.ERROR_OUTPUT);
@@ -93,6 +107,43 @@ public final class MessageUtils implements Disposable {
         });
     }
 
+    /**
+     * Echoes lines of a running TornadoVM process, prefixed with the kernel
+     * they belong to, in a single update of the console.
+     */
+    public void printProcessLines(String kernelName, List<ProcessLine> lines) {
+        if (lines.isEmpty()) {
+            return;
+        }
+        if (ApplicationManager.getApplication().isHeadlessEnvironment()) {
+            for (ProcessLine line : lines) {
+                (line.isStderr() ? System.err : System.out).println("[" + kernelName + "] " + line.text());
+            }
+            return;
+        }
+        showConsole(() -> {
+            for (ProcessLine line : lines) {
+                consoleView.print("[" + kernelName + "] " + line.text() + "\n",
+                        line.isStderr() ? ConsoleViewContentType.ERROR_OUTPUT : ConsoleViewContentType.NORMAL_OUTPUT);
+            }
+        });
+    }
+
+    /**
+     * One line of a process's stdout or stderr.
+     */
+    public record ProcessLine(String text, boolean isStderr) {
+    }
+
+    /**
+     * Without a UI there is no console tool window; messages go to the
+     * process's own output instead, e.g. the log of a CI job.
+     */
+    private static void printHeadless(PrintStream stream, String title, String body) {
+        stream.println("> " + DateFormatUtils.format(new Date(), "yyyy/MM/dd' 'HH:mm:ss") + "\t" + title);
+        stream.println(body);
+    }
+
     private void printTitle(String title, ConsoleViewContentType contentType) {
         if (title.equals("info") || title.equals("warning") || title.equals("error")) {
             consoleView.print("> " + DateFormatUtils.format(new Date(), "yyyy/MM/dd' 'HH:mm:ss") + "\n", contentType);
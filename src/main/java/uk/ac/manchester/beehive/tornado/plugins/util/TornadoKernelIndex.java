@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2026, APT Group, Department of Computer Science,
+ *  The University of Manchester.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package uk.ac.manchester.beehive.tornado.plugins.util;
+
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.IOUtil;
+import com.intellij.util.io.KeyDescriptor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * A project-wide index of TornadoVM kernels, keyed by method name. For every
+ * Java file it records the methods that are kernels ({@code @Parallel} or
+ * {@code @Reduce} inside, or a {@code KernelContext} parameter) and the
+ * {@code .task(...)} calls of TaskGraphs that reference a method.
+ * <p>
+ * The index is built from the syntax tree alone, as indexers may not resolve
+ * references: annotations and types are matched by their short names and
+ * task methods by the text of their method reference. Lookups therefore verify what they find against the PSI before
+ * trusting it, and fall back to scanning the file where the index cannot be
+ * used (dumb mode, or an uncommitted document).
+ * </p>
+ * <p>
+ * Files that declare a kernel are also recorded under {@link #KERNEL_FILES_KEY},
+ * which no method can be named, so they can be listed without going through
+ * every key.
+ * </p>
+ */
+public final class TornadoKernelIndex extends FileBasedIndexExtension<String, TornadoKernelIndex.Entry> {
+
+    public static final ID<String, Entry> NAME = ID.create("uk.ac.manchester.beehive.tornado.plugins.kernels");
+
+    private static final int VERSION = 3;
+
+    private static final String KERNEL_FILES_KEY = "<kernel files>";
+
+    /**
+     * What one file records under a method name.
+     *
+     * @param declarations the kernels of that name declared in the file
+     * @param tasks        the {@code .task(...)} calls in the file that reference a method of that name
+     */
+    public record Entry(List<Declaration> declarations, List<TaskReference> tasks) {
+    }
+
+    /**
+     * A kernel declaration.
+     *
+     * @param offset the offset of the method's name identifier
+     */
+    public record Declaration(int offset) {
+    }
+
+    /**
+     * A {@code .task("name", Qualifier::method, ...)} call.
+     *
+     * @param qualifier the text before {@code ::} in the method reference
+     */
+    public record TaskReference(String qualifier) {
+
+        /**
+         * Whether the method reference may point into a class named
+         * {@code className}.
+         */
+        public boolean references(@Nullable String className) {
+            return className == null || qualifier.equals(className) || qualifier.endsWith("." + className);
+        }
+    }
+
+    @Override
+    public @NotNull ID<String, Entry> getName() {
+        return NAME;
+    }
+
+    @Override
+    public @NotNull DataIndexer<String, Entry, FileContent> getIndexer() {
+        return inputData -> {
+            CharSequence text = inputData.getContentAsText();
+            if (!StringUtil.contains(text, "Parallel") && !StringUtil.contains(text, "Reduce")
+                    && !StringUtil.contains(text, "KernelContext") && !StringUtil.contains(text, "TaskGraph")) {
+                return Collections.emptyMap();
+            }
+            return index(inputData.getPsiFile());
+        };
+    }
+
+    @Override
+    public @NotNull KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @Override
+    public @NotNull DataExternalizer<Entry> getValueExternalizer() {
+        return EntryExternalizer.INSTANCE;
+    }
+
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public @NotNull FileBasedIndex.InputFilter getInputFilter() {
+        return new DefaultFileTypeSpecificInputFilter(JavaFileType.INSTANCE);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    /**
+     * The project files in {@code scope} that declare at least one kernel.
+     * Must be called in a read action outside dumb mode.
+     */
+    public static @NotNull Collection<VirtualFile> getKernelFiles(@NotNull Project project, @NotNull GlobalSearchScope scope) {
+        return FileBasedIndex.getInstance().getContainingFiles(NAME, KERNEL_FILES_KEY, scope);
+    }
+
+    /**
+     * The kernels declared in {@code file}, found through the index, or
+     * {@code null} if the index cannot answer for the file right now or no
+     * longer matches its PSI. Must be called in a read action.
+     */
+    public static @Nullable List<PsiMethod> findKernels(@NotNull PsiFile file) {
+        Project project = file.getProject();
+        VirtualFile virtualFile = file.getVirtualFile();
+        if (virtualFile == null || !file.isPhysical() || DumbService.isDumb(project)) {
+            return null;
+        }
+        PsiDocumentManager documentManager = PsiDocumentManager.getInstance(project);
+        Document document = documentManager.getCachedDocument(file);
+        if (document != null && documentManager.isUncommited(document)) {
+            return null;
+        }
+
+        List<PsiMethod> kernels = new ArrayList<>();
+        for (Map.Entry<String, Entry> entry : FileBasedIndex.getInstance().getFileData(NAME, virtualFile, project).entrySet()) {
+            for (Declaration declaration : entry.getValue().declarations()) {
+                PsiMethod method = PsiTreeUtil.getParentOfType(file.findElementAt(declaration.offset()), PsiMethod.class);
+                PsiIdentifier identifier = method != null ? method.getNameIdentifier() : null;
+                if (identifier == null || identifier.getTextRange().getStartOffset() != declaration.offset()
+                        || !entry.getKey().equals(method.getName())) {
+                    return null;
+                }
+                kernels.add(method);
+            }
+        }
+        return kernels;
+    }
+
+    /**
+     * The file holding a TaskGraph that runs {@code kernel}: the kernel's own
+     * file if it has one, otherwise the first other project file that does,
+     * or {@code null} if there is none or the index is not available. Must be
+     * called in a read action.
+     */
+    public static @Nullable PsiFile findTaskGraphFile(@NotNull PsiMethod kernel) {
+        Project project = kernel.getProject();
+        PsiFile ownFile = kernel.getContainingFile();
+        if (ownFile == null || DumbService.isDumb(project)) {
+            return null;
+        }
+        PsiClass containingClass = kernel.getContainingClass();
+        String className = containingClass != null ? containingClass.getName() : null;
+        VirtualFile ownVirtualFile = ownFile.getVirtualFile();
+
+        List<VirtualFile> files = new ArrayList<>();
+        FileBasedIndex.getInstance().processValues(NAME, kernel.getName(), null, (file, entry) -> {
+            for (TaskReference task : entry.tasks()) {
+                if (task.references(className)) {
+                    files.add(file);
+                    break;
+                }
+            }
+            return true;
+        }, GlobalSearchScope.projectScope(project));
+        if (files.isEmpty()) {
+            return null;
+        }
+        if (files.contains(ownVirtualFile)) {
+            return ownFile;
+        }
+        return PsiManager.getInstance(project).findFile(files.get(0));
+    }
+
+    private static Map<String, Entry> index(PsiFile file) {
+        // Kernels, in the way TornadoTWTask.findSuitableMethods has always
+        // recognised them, but by short names only.
+        Set<PsiMethod> kernels = new LinkedHashSet<>();
+        for (PsiAnnotation annotation : PsiTreeUtil.findChildrenOfType(file, PsiAnnotation.class)) {
+            PsiJavaCodeReferenceElement reference = annotation.getNameReferenceElement();
+            String name = reference != null ? reference.getReferenceName() : null;
+            PsiMethod method = PsiTreeUtil.getParentOfType(annotation, PsiMethod.class);
+            if (method != null && ("Reduce".equals(name) || "Parallel".equals(name))) {
+                kernels.add(method);
+            }
+        }
+        for (PsiMethod method : PsiTreeUtil.findChildrenOfType(file, PsiMethod.class)) {
+            for (PsiParameter parameter : method.getParameterList().getParameters()) {
+                PsiTypeElement typeElement = parameter.getTypeElement();
+                if (typeElement != null && StringUtil.getShortName(typeElement.getText()).equals("KernelContext")) {
+                    kernels.add(method);
+                }
+            }
+        }
+
+        Map<String, Builder> builders = new HashMap<>();
+        for (PsiMethod method : kernels) {
+            PsiIdentifier identifier = method.getNameIdentifier();
+            if (identifier != null) {
+                builders.computeIfAbsent(method.getName(), name -> new Builder()).declarations
+                        .add(new Declaration(identifier.getTextRange().getStartOffset()));
+            }
+        }
+
+        for (PsiMethodCallExpression call : PsiTreeUtil.findChildrenOfType(file, PsiMethodCallExpression.class)) {
+            if (!"task".equals(call.getMethodExpression().getReferenceName())) {
+                continue;
+            }
+            PsiExpression[] arguments = call.getArgumentList().getExpressions();
+            if (arguments.length < 2 || !(arguments[1] instanceof PsiMethodReferenceExpression reference)
+                    || reference.getReferenceName() == null) {
+                continue;
+            }
+            PsiElement qualifier = reference.getQualifier();
+            builders.computeIfAbsent(reference.getReferenceName(), name -> new Builder()).tasks
+                    .add(new TaskReference(qualifier != null ? qualifier.getText() : ""));
+        }
+
+        Map<String, Entry> result = new HashMap<>();
+        builders.forEach((name, builder) -> result.put(name, builder.build()));
+        if (!kernels.isEmpty()) {
+            result.put(KERNEL_FILES_KEY, new Entry(List.of(), List.of()));
+        }
+        return result;
+    }
+
+    private static final class Builder {
+        final List<Declaration> declarations = new ArrayList<>();
+        final List<TaskReference> tasks = new ArrayList<>();
+
+        Entry build() {
+            return new Entry(List.copyOf(declarations), List.copyOf(tasks));
+        }
+    }
+
+    private static final class EntryExternalizer implements DataExternalizer<Entry> {
+        static final EntryExternalizer INSTANCE = new EntryExternalizer();
+
+        @Override
+        public void save(@NotNull DataOutput out, Entry entry) throws IOException {
+            DataInputOutputUtil.writeINT(out, entry.declarations().size());
+            for (Declaration declaration : entry.declarations()) {
+                DataInputOutputUtil.writeINT(out, declaration.offset());
+            }
+            DataInputOutputUtil.writeINT(out, entry.tasks().size());
+            for (TaskReference task : entry.tasks()) {
+                IOUtil.writeUTF(out, task.qualifier());
+            }
+        }
+
+        @Override
+        public Entry read(@NotNull DataInput in) throws IOException {
+            List<Declaration> declarations = new ArrayList<>();
+            for (int i = DataInputOutputUtil.readINT(in); i > 0; i--) {
+                declarations.add(new Declaration(DataInputOutputUtil.readINT(in)));
+            }
+            List<TaskReference> tasks = new ArrayList<>();
+            for (int i = DataInputOutputUtil.readINT(in); i > 0; i--) {
+                tasks.add(new TaskReference(IOUtil.readUTF(in)));
+            }
+            return new Entry(List.copyOf(declarations), List.copyOf(tasks));
+        }
+    }
+}
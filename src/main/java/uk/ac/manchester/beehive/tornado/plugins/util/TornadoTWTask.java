@@ -56,33 +56,13 @@ public class TornadoTWTask {
         if (DumbService.isDumb(project) || model == null) return;
 
         ReadAction.nonBlocking(() -> {
-            DefaultListModel<String> newModel = new DefaultListModel<>();
-            List<PsiMethod> newTaskList = new ArrayList<>();
-            Map<String, PsiMethod> newTaskMap = new HashMap<>();
-
             PsiFile file = PsiManager.getInstance(project).findFile(virtualFile);
             if (file == null) return null;
 
-            List<PsiMethod> tasks = findSuitableMethods(file);
-            String imports = getImportCode(file);
-
-            if (tasks != null) {
-                for (PsiMethod task : tasks) {
-                    if (validateTask(task)) {
-                        String displayName = psiMethodFormat(task);
-                        newTaskList.add(task);
-                        newTaskMap.put(displayName, task);
-                        newModel.addElement(displayName);
-                    }
-                }
+            DefaultListModel<String> newModel = new DefaultListModel<>();
+            for (String displayName : load(file)) {
+                newModel.addElement(displayName);
             }
-
-            // Store global state
-            taskList = newTaskList;
-            taskMap = newTaskMap;
-            psiFile = file;
-            importCodeBlock = imports;
-
             return newModel;
 
         }).inSmartMode(project)
@@ -97,6 +77,39 @@ public class TornadoTWTask {
         }).submit(AppExecutorUtil.getAppExecutorService());
     }
 
+    /**
+     * Makes the valid TornadoVM tasks of {@code file} the current ones, as
+     * selecting the file in the editor does, and returns their display
+     * names. Must be called in a read action.
+     */
+    public static List<String> load(PsiFile file) {
+        List<String> displayNames = new ArrayList<>();
+        List<PsiMethod> newTaskList = new ArrayList<>();
+        Map<String, PsiMethod> newTaskMap = new HashMap<>();
+
+        List<PsiMethod> tasks = findSuitableMethods(file);
+        String imports = getImportCode(file);
+
+        if (tasks != null) {
+            for (PsiMethod task : tasks) {
+                if (validateTask(task)) {
+                    String displayName = psiMethodFormat(task);
+                    newTaskList.add(task);
+                    newTaskMap.put(displayName, task);
+                    displayNames.add(displayName);
+                }
+            }
+        }
+
+        // Store global state
+        taskList = newTaskList;
+        taskMap = newTaskMap;
+        psiFile = file;
+        importCodeBlock = imports;
+
+        return displayNames;
+    }
+
     public static Map<String, Object> getFields() {
         Map<String, Object> methodsAndFields = new HashMap<>();
 
@@ -218,11 +231,17 @@ public class TornadoTWTask {
     }
     /**
      * Finds methods in the given PsiFile that are annotated with TornadoVM related annotations.
+     * The kernels are taken from {@link TornadoKernelIndex} when it is up to date for the file,
+     * and found by scanning the file otherwise.
      *
      * @param psiFile the file to search in
      * @return a list of methods that have Tornado VM related annotations, or null if none found
      */
     public static List<PsiMethod> findSuitableMethods(PsiFile psiFile) {
+        List<PsiMethod> indexed = TornadoKernelIndex.findKernels(psiFile);
+        if (indexed != null) {
+            return indexed;
+        }
         Set<PsiMethod> tornadoTask = new HashSet<>();
         Collection<PsiAnnotation> annotationList = PsiTreeUtil.findChildrenOfType(psiFile, PsiAnnotation.class);
         for (PsiAnnotation annotation : annotationList) {
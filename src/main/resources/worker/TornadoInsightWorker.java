@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026, APT Group, Department of Computer Science,
+ *  The University of Manchester.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Long-lived worker launched by TornadoInsight through the {@code tornado}
+ * launcher. It connects back to the plugin on a loopback port and runs the
+ * generated harness classes it receives, so the JVM, the TornadoVM runtime and
+ * the device contexts are initialised once instead of on every inspection.
+ * <p>
+ * Protocol (big-endian, see {@code DataOutputStream}):
+ * <pre>
+ * hello   : UTF token, from the {@value #TOKEN_VARIABLE} environment variable, sent once on connect
+ * request : UTF mainClass, int argCount, { UTF arg }*, int classCount, { UTF className, int length, byte[length] }*
+ * response: int status (0 = ok, 1 = failed), int length, byte[length] stdout, int length, byte[length] stderr
+ * </pre>
+ * Each request is loaded by its own throw-away class loader, so classes from
+ * earlier requests never leak into later ones.
+ * </p>
+ */
+public final class TornadoInsightWorker {
+
+    static final String TOKEN_VARIABLE = "TORNADO_INSIGHT_WORKER_TOKEN";
+
+    private TornadoInsightWorker() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = Integer.parseInt(args[0]);
+        PrintStream originalOut = System.out;
+        PrintStream originalErr = System.err;
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+            String token = System.getenv(TOKEN_VARIABLE);
+            out.writeUTF(token != null ? token : "");
+            out.flush();
+            while (true) {
+                String mainClass;
+                try {
+                    mainClass = in.readUTF();
+                } catch (EOFException e) {
+                    return; // plugin closed the connection
+                }
+                String[] mainArgs = new String[in.readInt()];
+                for (int i = 0; i < mainArgs.length; i++) {
+                    mainArgs[i] = in.readUTF();
+                }
+                Map<String, byte[]> classes = new HashMap<>();
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    String name = in.readUTF();
+                    byte[] bytes = new byte[in.readInt()];
+                    in.readFully(bytes);
+                    classes.put(name, bytes);
+                }
+
+                ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+                ByteArrayOutputStream stderr = new ByteArrayOutputStream();
+                int status = 0;
+                System.setOut(new PrintStream(stdout, true, StandardCharsets.UTF_8));
+                System.setErr(new PrintStream(stderr, true, StandardCharsets.UTF_8));
+                try {
+                    ClassLoader loader = new RequestClassLoader(classes, TornadoInsightWorker.class.getClassLoader());
+                    Method entry = Class.forName(mainClass, true, loader).getMethod("main", String[].class);
+                    entry.invoke(null, (Object) mainArgs);
+                } catch (InvocationTargetException e) {
+                    status = 1;
+                    e.getCause().printStackTrace();
+                } catch (Throwable t) {
+                    status = 1;
+                    t.printStackTrace();
+                } finally {
+                    System.out.flush();
+                    System.err.flush();
+                    System.setOut(originalOut);
+                    System.setErr(originalErr);
+                }
+
+                out.writeInt(status);
+                writeBytes(out, stdout.toByteArray());
+                writeBytes(out, stderr.toByteArray());
+                out.flush();
+            }
+        }
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws java.io.IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Defines the classes of a single request; everything else is delegated
+     * to the launcher's class loader, which sees the TornadoVM modules.
+     */
+    private static final class RequestClassLoader extends ClassLoader {
+        private final Map<String, byte[]> classes;
+
+        RequestClassLoader(Map<String, byte[]> classes, ClassLoader parent) {
+            super(parent);
+            this.classes = classes;
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            byte[] bytes = classes.get(name);
+            if (bytes == null) {
+                throw new ClassNotFoundException(name);
+            }
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2026, APT Group, Department of Computer Science,
+ *  The University of Manchester.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package uk.ac.manchester.beehive.tornado.plugins.dynamicInspection;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RegressionDetectorTest {
+
+    private static final long[] BASELINE = {100, 101, 99, 100, 102, 98, 100, 101, 99, 100};
+
+    @Test
+    public void tailIsHalfAtZero() {
+        for (double df : new double[]{1, 2, 5.5, 30, 1000}) {
+            assertEquals(0.5, RegressionDetector.upperTailProbability(0, df), 1e-12);
+        }
+    }
+
+    @Test
+    public void tailMatchesClosedFormForOneDegreeOfFreedom() {
+        // With one degree of freedom t is Cauchy distributed.
+        for (double t : new double[]{0.5, 1, 3, 12.706, 100}) {
+            double expected = 0.5 - Math.atan(t) / Math.PI;
+            assertEquals(expected, RegressionDetector.upperTailProbability(t, 1), 1e-9);
+        }
+    }
+
+    @Test
+    public void tailMatchesClosedFormForTwoDegreesOfFreedom() {
+        for (double t : new double[]{0.5, 1, 2.92, 6.965, 50}) {
+            double expected = 0.5 - t / (2 * Math.sqrt(t * t + 2));
+            assertEquals(expected, RegressionDetector.upperTailProbability(t, 2), 1e-9);
+        }
+    }
+
+    @Test
+    public void tailMatchesCriticalValueTable() {
+        assertEquals(0.05, RegressionDetector.upperTailProbability(1.812, 10), 1e-4);
+        assertEquals(0.025, RegressionDetector.upperTailProbability(2.228, 10), 1e-4);
+        assertEquals(0.01, RegressionDetector.upperTailProbability(2.764, 10), 1e-4);
+        assertEquals(0.005, RegressionDetector.upperTailProbability(2.750, 30), 1e-4);
+        assertEquals(0.025, RegressionDetector.upperTailProbability(1.960, 100_000), 1e-4);
+    }
+
+    @Test
+    public void tailWithoutDegreesOfFreedomIsOne() {
+        assertEquals(1, RegressionDetector.upperTailProbability(5, 0), 0);
+        assertEquals(1, RegressionDetector.upperTailProbability(5, Double.NaN), 0);
+    }
+
+    @Test
+    public void tooFewBaselineSamples() {
+        assertNull(RegressionDetector.detect(new long[]{200}, new long[]{100}, 5));
+        assertNull(RegressionDetector.detect(new long[0], BASELINE, 5));
+    }
+
+    @Test
+    public void consistentSlowdownIsReported() {
+        long[] current = {120, 121, 119, 120, 122, 118, 120, 121, 119, 120};
+        RegressionDetector.Regression regression = RegressionDetector.detect(current, BASELINE, 5);
+        assertNotNull(regression);
+        assertEquals(20, regression.slowdownPercent(), 1e-9);
+        assertTrue(regression.pValue() < RegressionDetector.ALPHA);
+        assertEquals(10, regression.currentSamples());
+        assertEquals(10, regression.baselineSamples());
+    }
+
+    @Test
+    public void slowdownBelowThresholdIsIgnored() {
+        long[] current = {120, 121, 119, 120, 122, 118, 120, 121, 119, 120};
+        assertNull(RegressionDetector.detect(current, BASELINE, 25));
+    }
+
+    @Test
+    public void noisySlowdownIsNotSignificant() {
+        long[] baseline = {60, 140, 80, 120, 100, 70, 130, 90, 110, 100};
+        long[] current = {75, 155, 95, 135, 115, 85, 145, 105, 125, 115};
+        assertNull(RegressionDetector.detect(current, baseline, 5));
+    }
+
+    @Test
+    public void singleSampleIsComparedWithPredictionInterval() {
+        RegressionDetector.Regression regression = RegressionDetector.detect(new long[]{130}, BASELINE, 5);
+        assertNotNull(regression);
+        assertEquals(1, regression.currentSamples());
+        assertNull(RegressionDetector.detect(new long[]{104}, BASELINE, 5));
+        assertNull(RegressionDetector.detect(new long[]{106}, new long[]{60, 140, 80, 120, 100}, 5));
+    }
+
+    @Test
+    public void slowdownWithoutSpreadIsCertain() {
+        RegressionDetector.Regression regression = RegressionDetector.detect(new long[]{110, 110}, new long[]{100, 100, 100}, 5);
+        assertNotNull(regression);
+        assertEquals(0, regression.pValue(), 0);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026, APT Group, Department of Computer Science,
+ *  The University of Manchester.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package uk.ac.manchester.beehive.tornado.plugins.inspector;
+
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CallCyclesTest {
+
+    /**
+     * A graph from {@code "caller>callee"} edges.
+     */
+    private static CallCycles<String> cycles(String... edges) {
+        Map<String, Set<String>> graph = new LinkedHashMap<>();
+        for (String edge : edges) {
+            String[] ends = edge.split(">");
+            graph.computeIfAbsent(ends[0], method -> new LinkedHashSet<>()).add(ends[1]);
+            graph.computeIfAbsent(ends[1], method -> new LinkedHashSet<>());
+        }
+        return new CallCycles<>(graph);
+    }
+
+    @Test
+    public void selfLoop() {
+        CallCycles<String> cycles = cycles("kernel>helper", "helper>helper");
+        assertTrue(cycles.isOnCycle("helper", "helper"));
+        assertFalse(cycles.isOnCycle("kernel", "helper"));
+        assertEquals(List.of("helper"), cycles.shortestCycle("helper", "helper"));
+    }
+
+    @Test
+    public void twoCycle() {
+        CallCycles<String> cycles = cycles("a>b", "b>a");
+        assertTrue(cycles.isOnCycle("a", "b"));
+        assertTrue(cycles.isOnCycle("b", "a"));
+        assertEquals(List.of("a", "b"), cycles.shortestCycle("a", "b"));
+        assertEquals(List.of("b", "a"), cycles.shortestCycle("b", "a"));
+    }
+
+    @Test
+    public void chainIntoCycle() {
+        CallCycles<String> cycles = cycles("kernel>a", "a>b", "b>c", "c>d", "d>b");
+        assertFalse(cycles.isOnCycle("kernel", "a"));
+        assertFalse(cycles.isOnCycle("a", "b"));
+        assertTrue(cycles.isOnCycle("b", "c"));
+        assertTrue(cycles.isOnCycle("c", "d"));
+        assertTrue(cycles.isOnCycle("d", "b"));
+        assertEquals(List.of("b", "c", "d"), cycles.shortestCycle("b", "c"));
+        assertEquals(List.of("d", "b", "c"), cycles.shortestCycle("d", "b"));
+    }
+
+    @Test
+    public void shortestOfSeveralCycles() {
+        // a -> b -> a and a -> c -> d -> a share a.
+        CallCycles<String> cycles = cycles("a>c", "c>d", "d>a", "a>b", "b>a", "d>b");
+        assertEquals(List.of("a", "b"), cycles.shortestCycle("a", "b"));
+        assertEquals(List.of("a", "c", "d"), cycles.shortestCycle("a", "c"));
+        assertEquals(List.of("d", "b", "a", "c"), cycles.shortestCycle("d", "b"));
+    }
+
+    @Test
+    public void acyclicGraph() {
+        CallCycles<String> cycles = cycles("kernel>a", "kernel>b", "a>c", "b>c");
+        assertFalse(cycles.isOnCycle("kernel", "a"));
+        assertFalse(cycles.isOnCycle("a", "c"));
+        assertFalse(cycles.isOnCycle("b", "c"));
+    }
+}